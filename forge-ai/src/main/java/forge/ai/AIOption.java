@@ -1,5 +1,6 @@
 package forge.ai;
 
 public enum AIOption {
-    USE_SIMULATION
+    USE_SIMULATION,
+    USE_MCTS
 }
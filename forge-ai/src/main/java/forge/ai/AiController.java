@@ -70,6 +70,7 @@ import io.sentry.Breadcrumb;
 import io.sentry.Sentry;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -87,8 +88,13 @@ public class AiController {
     private Combat predictedCombatNextTurn;
     private boolean cheatShuffle;
     private boolean useSimulation;
+    private boolean useMonteCarloTreeSearch;
     private SpellAbilityPicker simPicker;
     private int lastAttackAggression;
+    // how often the creature values of the last decision were found in its cache
+    private int decisionCacheHits;
+    private int decisionCacheMisses;
+    private static final int DECISION_CACHE_SIZE = 512;
 
     public AiController(final Player computerPlayer, final Game game0) {
         player = computerPlayer;
@@ -112,10 +118,42 @@ public class AiController {
         this.useSimulation = value;
     }
 
+    public boolean usesMonteCarloTreeSearch() {
+        return this.useMonteCarloTreeSearch;
+    }
+    public void setUseMonteCarloTreeSearch(boolean value) {
+        this.useMonteCarloTreeSearch = value;
+    }
+
     public int getAttackAggression() {
         return lastAttackAggression;
     }
 
+    /**
+     * Makes a decision with the creature values it computes cached (see {@link CachedCreatureEvaluator}),
+     * and keeps how often they were found in the cache for {@link #getDecisionCacheHits} and
+     * {@link #getDecisionCacheMisses}.
+     */
+    public <T> T decide(final Supplier<T> decision) {
+        final CardEvaluationCache cache = new CardEvaluationCache(DECISION_CACHE_SIZE);
+        final CardEvaluationCache previous = CachedCreatureEvaluator.setDecisionCache(cache);
+        try {
+            return decision.get();
+        } finally {
+            CachedCreatureEvaluator.setDecisionCache(previous);
+            decisionCacheHits = cache.getHits();
+            decisionCacheMisses = cache.getMisses();
+        }
+    }
+
+    public int getDecisionCacheHits() {
+        return decisionCacheHits;
+    }
+
+    public int getDecisionCacheMisses() {
+        return decisionCacheMisses;
+    }
+
     public SpellAbilityPicker getSimulationPicker() {
         return simPicker;
     }
@@ -134,7 +134,12 @@ public enum AiProps { /** */
     FLASH_BUFF_AURA_CHANCE_TO_RESPOND_TO_STACK("100"),
     BLINK_RELOAD_PLANESWALKER_CHANCE("30"), /** */
     BLINK_RELOAD_PLANESWALKER_MAX_LOYALTY("2"), /** */
-    BLINK_RELOAD_PLANESWALKER_LOYALTY_DIFF("2"); /** */
+    BLINK_RELOAD_PLANESWALKER_LOYALTY_DIFF("2"), /** */
+    SIMULATION_PARALLEL_ROOT_SEARCH("false"), /** */
+    SIMULATION_TRANSPOSITION_TABLE_SIZE("1000"), /** */
+    SIMULATION_TIME_BUDGET("0"), /** */
+    SIMULATION_USE_MCTS("false"), /** */
+    SIMULATION_MCTS_PLAYOUTS("500"); /** */
     // Experimental features, must be promoted or removed after extensive testing and, ideally, defaulting
     // <-- There are no experimental options here -->
 
@@ -0,0 +1,34 @@
+package forge.ai;
+
+import forge.game.card.Card;
+
+/**
+ * Creature evaluator that remembers the value of each card during an AI decision
+ * while the card doesn't change. Comparators sorting by value evaluate each card
+ * many times, so most of these are then lookups.
+ *
+ * The values are kept in the cache of the decision the current thread is making
+ * (see {@link AiController#decide}), so they go away with the decision. Outside of
+ * decisions every card is evaluated anew.
+ */
+public class CachedCreatureEvaluator extends CreatureEvaluator {
+    private static final ThreadLocal<CardEvaluationCache> decisionCache = new ThreadLocal<>();
+
+    /**
+     * @return the cache of the decision that was being made before, to be set again once the new one is made
+     */
+    static CardEvaluationCache setDecisionCache(final CardEvaluationCache cache) {
+        final CardEvaluationCache previous = decisionCache.get();
+        decisionCache.set(cache);
+        return previous;
+    }
+
+    @Override
+    public int evaluateCreature(final Card c) {
+        final CardEvaluationCache cache = decisionCache.get();
+        if (cache == null || c.getGame() == null) {
+            return super.evaluateCreature(c);
+        }
+        return cache.evaluateCreature(c, this);
+    }
+}
@@ -0,0 +1,141 @@
+package forge.ai;
+
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.card.CounterEnumType;
+import forge.game.keyword.Keyword;
+import forge.game.player.Player;
+import forge.game.staticability.StaticAbility;
+import forge.game.zone.Zone;
+import forge.game.zone.ZoneType;
+
+/**
+ * Creature values computed during one AI decision (see {@link CachedCreatureEvaluator}) or one search
+ * of the simulation AI, reused for creatures in the same state, also when they are copies in other
+ * games of the search.
+ *
+ * A creature is in the same state as the card it was copied from while neither has changed since
+ * (see {@link Card#setCopiedFrom}), so the entries are for the card at the top of that chain and
+ * its version then. They are kept in arrays indexed by the id of that card, and a lookup only compares
+ * the card, its version and the energy of the controller, which a few abilities are worth more with.
+ *
+ * The value of a creature also depends on static abilities, possibly of other cards, that make it unblockable,
+ * attack each combat or assign its damage as though it weren't blocked, which no version counts, so
+ * nothing is cached in games with such abilities. Each decision or search has its own cache, which is
+ * only used by the thread running it and goes away with it.
+ */
+public final class CardEvaluationCache {
+    private static final int DEFAULT_SIZE = 4096;
+    private static final ZoneType[] STATIC_ZONES = { ZoneType.Battlefield, ZoneType.Graveyard, ZoneType.Exile, ZoneType.Command };
+
+    private final int mask;
+    // allocated with the first entry, as many decisions evaluate no creature
+    private Card[] cards;
+    private long[] versions;
+    private int[] energies;
+    private int[] values;
+    private int hits;
+    private int misses;
+
+    private Game checkedGame;
+    private long checkedGameStamp;
+    private boolean checkedGameCacheable;
+
+    public CardEvaluationCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * @param size how many creatures can be cached at the same time, a power of two
+     */
+    public CardEvaluationCache(int size) {
+        mask = size - 1;
+    }
+
+    /**
+     * @return a stamp that changes whenever anything in the game changes
+     */
+    private static long getGameStamp(Game game) {
+        return game.getTracker().getChangeCount() + game.getEventCount() + game.getTimestamp();
+    }
+
+    /**
+     * @return the value of the creature, as evaluator.evaluateCreature(c) returns it
+     */
+    public int evaluateCreature(Card c, CreatureEvaluator evaluator) {
+        if (c.hasSVar("AIEvaluationModifier") || c.hasKeyword(Keyword.ECHO) || !isCacheable(c.getGame())) {
+            // the modifier may count anything, and whether echo was paid isn't counted by the versions
+            return evaluator.evaluateCreature(c, true, true);
+        }
+
+        Card root = c;
+        long version = c.getStateVersion();
+        while (root.getCopiedFrom() != null && version == root.getCopiedAtVersion()) {
+            version = root.getCopiedFromVersion();
+            root = root.getCopiedFrom();
+        }
+        final Player controller = c.getController();
+        final int energy = controller == null ? 0 : controller.getCounters(CounterEnumType.ENERGY);
+        if (cards == null) {
+            cards = new Card[mask + 1];
+            versions = new long[mask + 1];
+            energies = new int[mask + 1];
+            values = new int[mask + 1];
+        }
+        final int slot = root.getId() & mask;
+        if (cards[slot] == root && versions[slot] == version && energies[slot] == energy) {
+            hits++;
+            return values[slot];
+        }
+        misses++;
+        final int value = evaluator.evaluateCreature(c, true, true);
+        cards[slot] = root;
+        versions[slot] = version;
+        energies[slot] = energy;
+        values[slot] = value;
+        return value;
+    }
+
+    private boolean isCacheable(Game game) {
+        final long gameStamp = getGameStamp(game);
+        if (game != checkedGame || gameStamp != checkedGameStamp) {
+            checkedGame = game;
+            checkedGameStamp = gameStamp;
+            checkedGameCacheable = !hasStaticAbilitiesAffectingCreatureValues(game);
+        }
+        return checkedGameCacheable;
+    }
+
+    private static boolean hasStaticAbilitiesAffectingCreatureValues(Game game) {
+        for (Player p : game.getPlayers()) {
+            for (ZoneType zoneType : STATIC_ZONES) {
+                if (hasStaticAbilitiesAffectingCreatureValues(p.getZone(zoneType))) {
+                    return true;
+                }
+            }
+        }
+        return hasStaticAbilitiesAffectingCreatureValues(game.getStackZone());
+    }
+
+    private static boolean hasStaticAbilitiesAffectingCreatureValues(Zone zone) {
+        for (int i = 0; i < zone.size(); i++) {
+            for (StaticAbility stAb : zone.get(i).getStaticAbilities()) {
+                final String mode = stAb.getParam("Mode");
+                // the creature is evaluated without a blocker, which the ones with ValidBlocker (e.g. flying) need
+                if ("CantBlockBy".equals(mode) ? !stAb.hasParam("ValidBlocker")
+                        : "MustAttack".equals(mode) || "AssignCombatDamageAsUnblocked".equals(mode)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+}
@@ -554,7 +554,7 @@ public class ComputerUtilCard {
         }
     };
 
-    private static final CreatureEvaluator creatureEvaluator = new CreatureEvaluator();
+    private static final CreatureEvaluator creatureEvaluator = new CachedCreatureEvaluator();
 
     /**
      * <p>
@@ -44,7 +44,7 @@ public class CreatureEvaluator implements Function<Card, Integer> {
 
         if (considerPT) {
             value += addValue(power * 15, "power");
-            value += addValue(toughness * 10, "toughness: " + toughness);
+            value += addValue(toughness * 10, describeValues() ? "toughness: " + toughness : "toughness");
 
             // because backside is always stronger the potential makes it better than a single faced card
             if (c.hasKeyword(Keyword.DAYBOUND) && c.hasBackSide()) {
@@ -164,7 +164,7 @@ public class CreatureEvaluator implements Function<Card, Integer> {
 
         for (final SpellAbility sa : c.getSpellAbilities()) {
             if (sa.isAbility()) {
-                value += addValue(evaluateSpellAbility(sa), "sa: " + sa);
+                value += addValue(evaluateSpellAbility(sa), describeValues() ? "sa: " + sa : "sa");
             }
         }
 
@@ -286,6 +286,14 @@ public class CreatureEvaluator implements Function<Card, Integer> {
         return 10;
     }
 
+    /**
+     * @return whether the texts passed to {@link #addValue} should describe the values in full,
+     * which is only worth building when they are printed.
+     */
+    protected boolean describeValues() {
+        return false;
+    }
+
     protected int addValue(int value, String text) {
         return value;
     }
@@ -14,12 +14,32 @@ public class LobbyPlayerAi extends LobbyPlayer implements IGameEntitiesFactory {
     private boolean rotateProfileEachGame;
     private boolean allowCheatShuffle;
     private boolean useSimulation;
+    private boolean useMonteCarloTreeSearch;
 
     public LobbyPlayerAi(String name, Set<AIOption> options) {
         super(name);
         if (options != null && options.contains(AIOption.USE_SIMULATION)) {
             this.useSimulation = true;
         }
+        if (options != null && options.contains(AIOption.USE_MCTS)) {
+            this.useSimulation = true;
+            this.useMonteCarloTreeSearch = true;
+        }
+    }
+
+    /**
+     * @return a player with the same name, profile and options, for a game played alongside the ones of this player.
+     */
+    public LobbyPlayerAi copy() {
+        LobbyPlayerAi copy = new LobbyPlayerAi(getName(), null);
+        copy.aiProfile = aiProfile;
+        copy.rotateProfileEachGame = rotateProfileEachGame;
+        copy.allowCheatShuffle = allowCheatShuffle;
+        copy.useSimulation = useSimulation;
+        copy.useMonteCarloTreeSearch = useMonteCarloTreeSearch;
+        copy.setAvatarIndex(getAvatarIndex());
+        copy.setSleeveIndex(getSleeveIndex());
+        return copy;
     }
 
     public boolean isAllowCheatShuffle() {
@@ -43,6 +63,7 @@ public class LobbyPlayerAi extends LobbyPlayer implements IGameEntitiesFactory {
     private PlayerControllerAi createControllerFor(Player ai) {
         PlayerControllerAi result = new PlayerControllerAi(ai.getGame(), ai, this);
         result.setUseSimulation(useSimulation);
+        result.setUseMonteCarloTreeSearch(useMonteCarloTreeSearch);
         result.allowCheatShuffle(allowCheatShuffle);
         return result;
     }
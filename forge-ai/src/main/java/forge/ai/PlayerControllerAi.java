@@ -109,6 +109,10 @@ public class PlayerControllerAi extends PlayerController {
         brains.setUseSimulation(value);
     }
 
+    public void setUseMonteCarloTreeSearch(boolean value) {
+        brains.setUseMonteCarloTreeSearch(value);
+    }
+
     @Override
     public SpellAbility getAbilityToPlay(Card hostCard, List<SpellAbility> abilities, ITriggerEvent triggerEvent) {
         if (abilities.size() == 0) {
@@ -665,17 +669,23 @@ public class PlayerControllerAi extends PlayerController {
 
     @Override
     public void declareAttackers(Player attacker, Combat combat) {
-        brains.declareAttackers(attacker, combat);
+        brains.decide(() -> {
+            brains.declareAttackers(attacker, combat);
+            return null;
+        });
     }
 
     @Override
     public void declareBlockers(Player defender, Combat combat) {
-        brains.declareBlockersFor(defender, combat);
+        brains.decide(() -> {
+            brains.declareBlockersFor(defender, combat);
+            return null;
+        });
     }
 
     @Override
     public List<SpellAbility> chooseSpellAbilityToPlay() {
-        return brains.chooseSpellAbilityToPlay();
+        return brains.decide(brains::chooseSpellAbilityToPlay);
     }
 
     @Override
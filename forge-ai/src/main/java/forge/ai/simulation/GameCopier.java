@@ -185,6 +185,10 @@ public class GameCopier {
         if (GameSimulator.COPY_STACK)
             copyStack(origGame, newGame, gameObjectMap);
 
+        for (Map.Entry<Card, Card> e : cardMap.entrySet()) {
+            e.getValue().setCopiedFrom(e.getKey());
+        }
+
         // TODO update thisTurnCast
 
         if (advanceToPhase != null) {
@@ -233,6 +237,7 @@ public class GameCopier {
 
     private void copyGameState(Game newGame) {
         newGame.setAge(origGame.getAge());
+        newGame.setReuseUnchangedLastState(origGame.isReuseUnchangedLastState());
 
         // TODO countersAddedThisTurn
 
@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import forge.ai.ComputerUtil;
 import forge.ai.PlayerControllerAi;
@@ -31,20 +32,34 @@ public class GameSimulator {
     private SpellAbilityChoicesIterator interceptor;
 
     public GameSimulator(SimulationController controller, Game origGame, Player origAiPlayer, PhaseType advanceToPhase) {
+        this(controller, origGame, origAiPlayer, advanceToPhase, null, true);
+    }
+
+    /**
+     * @param origGameScore score of the original game if the caller already knows it, which saves
+     *        evaluating it again (and with it, copying the game to simulate upcoming combat)
+     * @param verifyCopy whether to check that the copy scores the same as the original game, which
+     *        only needs to be done once for any number of copies of the same game state
+     */
+    public GameSimulator(SimulationController controller, Game origGame, Player origAiPlayer, PhaseType advanceToPhase,
+            Score origGameScore, boolean verifyCopy) {
         this.controller = controller;
         copier = new GameCopier(origGame);
         simGame = copier.makeCopy(advanceToPhase, origAiPlayer);
 
         aiPlayer = (Player) copier.find(origAiPlayer);
         eval = new GameStateEvaluator();
+        if (controller != null) {
+            eval.setCardEvaluationCache(controller.getCardEvaluationCache());
+        }
 
         origLines = new ArrayList<>();
-        debugLines = origLines;
+        debugLines.set(origLines);
 
-        debugPrint = false;
-        origScore = eval.getScoreForGameState(origGame, origAiPlayer);
+        debugPrint.set(false);
+        origScore = origGameScore != null ? origGameScore : eval.getScoreForGameState(origGame, origAiPlayer);
 
-        if (advanceToPhase == null) {
+        if (advanceToPhase == null && verifyCopy) {
             ensureGameCopyScoreMatches(origGame, origAiPlayer);
         }
 
@@ -53,26 +68,26 @@ public class GameSimulator {
         // want to compare to the eval score after simulating.
         if (COPY_STACK && !origGame.getStackZone().isEmpty()) {
             origLines = new ArrayList<>();
-            debugLines = origLines;
+            debugLines.set(origLines);
             Game copyOrigGame = copier.makeCopy();
             Player copyOrigAiPlayer = copyOrigGame.getPlayers().get(1);
             resolveStack(copyOrigGame, copyOrigGame.getPlayers().get(0));
             origScore = eval.getScoreForGameState(copyOrigGame, copyOrigAiPlayer);
         }
 
-        debugPrint = false;
-        debugLines = null;
+        debugPrint.set(false);
+        debugLines.remove();
     }
 
     private void ensureGameCopyScoreMatches(Game origGame, Player origAiPlayer) {
         eval.setDebugging(true);
         List<String> simLines = new ArrayList<>();
-        debugLines = simLines;
+        debugLines.set(simLines);
         Score simScore = eval.getScoreForGameState(simGame, aiPlayer);
         if (!simScore.equals(origScore)) {
             // Re-eval orig with debug printing.
             origLines = new ArrayList<>();
-            debugLines = origLines;
+            debugLines.set(origLines);
             eval.getScoreForGameState(origGame, origAiPlayer);
             // Print debug info.
             printDiff(origLines, simLines);
@@ -115,14 +130,40 @@ public class GameSimulator {
         }
     }
 
-    public static boolean debugPrint;
-    public static List<String> debugLines;
+    // Debug output state is kept per thread, so that root candidates can be simulated in parallel.
+    private static final ThreadLocal<Boolean> debugPrint = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<List<String>> debugLines = new ThreadLocal<>();
+    /**
+     * @return whether anything passed to debugPrint would currently be printed or collected
+     */
+    public static boolean isDebugOutputEnabled() {
+        return debugPrint.get() || debugLines.get() != null;
+    }
+    /**
+     * Runs the task and then restores the debug output state of this thread. A task of the search
+     * pool may run on a thread that is simulating something else, e.g. the one waiting for it.
+     */
+    static <T> T keepingDebugOutput(Supplier<T> task) {
+        final Boolean print = debugPrint.get();
+        final List<String> lines = debugLines.get();
+        try {
+            return task.get();
+        } finally {
+            debugPrint.set(print);
+            if (lines != null) {
+                debugLines.set(lines);
+            } else {
+                debugLines.remove();
+            }
+        }
+    }
     public static void debugPrint(String str) {
-        if (debugPrint) {
+        if (debugPrint.get()) {
             System.out.println(str);
         }
-        if (debugLines != null) {
-            debugLines.add(str);
+        List<String> lines = debugLines.get();
+        if (lines != null) {
+            lines.add(str);
         }
     }
 
@@ -188,7 +229,7 @@ public class GameSimulator {
                 saOrSubSa = saOrSubSa.getSubAbility();
             } while (saOrSubSa != null);
 
-            if (debugPrint && !sa.getAllTargetChoices().isEmpty()) {
+            if (debugPrint.get() && !sa.getAllTargetChoices().isEmpty()) {
                 debugPrint("Targets: ");
                 for (TargetChoices target : sa.getAllTargetChoices()) {
                     System.out.print(target);
@@ -213,24 +254,37 @@ public class GameSimulator {
         Player opponent = aiPlayer.getWeakestOpponent();
         resolveStack(simGame, opponent);
 
+        // Skip searching positions that were already reached by playing things in a different order.
+        String stateKey = null;
+        if (controller.getTranspositionTable() != null) {
+            stateKey = GameStateKey.compute(simGame, aiPlayer);
+            TranspositionTable.Entry transposition = controller.findTransposition(stateKey);
+            if (transposition != null) {
+                controller.possiblyCacheResult(transposition.evalScore, origSa);
+                return transposition.score;
+            }
+            controller.beginTransposition();
+        }
+
         // TODO: If this is during combat, before blockers are declared,
         // we should simulate how combat will resolve and evaluate that
         // state instead!
         List<String> simLines = null;
-        if (debugPrint) {
+        if (debugPrint.get()) {
             debugPrint("SimGame:");
             simLines = new ArrayList<>();
-            debugLines = simLines;
-            debugPrint = false;
+            debugLines.set(simLines);
+            debugPrint.set(false);
         }
         Score score = eval.getScoreForGameState(simGame, aiPlayer);
         if (simLines != null) {
-            debugLines = null;
-            debugPrint = true;
+            debugLines.remove();
+            debugPrint.set(true);
             printDiff(origLines, simLines);
         }
         controller.possiblyCacheResult(score, origSa);
-        if (controller.shouldRecurse() && !simGame.isGameOver()) {
+        Score evalScore = score;
+        if (!simGame.isGameOver() && controller.shouldRecurse()) {
             controller.push(sa, score, this);
             SpellAbilityPicker sim = new SpellAbilityPicker(simGame, aiPlayer);
             SpellAbility nextSa = sim.chooseSpellAbilityToPlay(controller);
@@ -239,6 +293,9 @@ public class GameSimulator {
             }
             controller.pop(score, nextSa);
         }
+        if (stateKey != null) {
+            controller.storeTransposition(stateKey, evalScore, score);
+        }
 
         return score;
     }
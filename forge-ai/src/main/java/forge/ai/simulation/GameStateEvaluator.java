@@ -1,21 +1,34 @@
 package forge.ai.simulation;
 
+import forge.ai.CardEvaluationCache;
 import forge.ai.CreatureEvaluator;
 import forge.game.Game;
 import forge.game.card.Card;
 import forge.game.card.CounterEnumType;
+import forge.game.combat.Combat;
 import forge.game.phase.PhaseType;
 import forge.game.player.Player;
+import forge.game.zone.Zone;
 import forge.game.zone.ZoneType;
 
+import java.util.List;
+
 public class GameStateEvaluator {
     private boolean debugging = false;
     private SimulationCreatureEvaluator eval = new SimulationCreatureEvaluator();
+    private CardEvaluationCache cardEvaluationCache;
 
     public void setDebugging(boolean debugging) {
         this.debugging = debugging;
     }
 
+    /**
+     * @param cache where to keep the creature values of the search this evaluator is used by, or null to not keep them
+     */
+    void setCardEvaluationCache(CardEvaluationCache cache) {
+        this.cardEvaluationCache = cache;
+    }
+
     private static void debugPrint(String s) {
         GameSimulator.debugPrint(s);
     }
@@ -36,6 +49,13 @@ public class GameStateEvaluator {
         if (evalGame.getPhaseHandler().getPlayerTurn().getCreaturesInPlay().isEmpty()) {
             return null;
         }
+        // Likewise, once attackers have been declared there's nothing left to simulate if nobody attacked.
+        if (!phase.isBefore(PhaseType.COMBAT_DECLARE_ATTACKERS)) {
+            Combat combat = evalGame.getPhaseHandler().getCombat();
+            if (combat == null || combat.getAttackers().isEmpty()) {
+                return null;
+            }
+        }
         GameCopier copier = new GameCopier(evalGame);
         Game gameCopy = copier.makeCopy();
         gameCopy.getPhaseHandler().devAdvanceToPhase(PhaseType.COMBAT_DAMAGE, new Runnable() {
@@ -109,6 +129,9 @@ public class GameStateEvaluator {
      * @return
      */
     private Score getScoreForGameStateImpl(Game game, Player aiPlayer) {
+        if (!debugging && !GameSimulator.isDebugOutputEnabled()) {
+            return getFastScoreForGameState(game, aiPlayer);
+        }
         int score = 0;
         // TODO: more than 2 players
         // TODO: try and reuse evaluateBoardPosition
@@ -171,6 +194,71 @@ public class GameStateEvaluator {
         return new Score(score, summonSickScore);
     }
 
+    /**
+     * Same score as getScoreForGameStateImpl, for when no debug output is wanted. This is what runs at
+     * every leaf of the simulation, so it walks the zones by index instead of collecting their cards,
+     * builds no strings, and reuses the values of creatures that the search evaluated before in the same state.
+     * @param game
+     * @param aiPlayer
+     * @return
+     */
+    private Score getFastScoreForGameState(Game game, Player aiPlayer) {
+        List<Player> players = game.getPlayers();
+        int myCards = 0;
+        int theirCards = 0;
+        int opponentLife = 0;
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            Zone hand = p.getZone(ZoneType.Hand);
+            for (int j = 0; j < hand.size(); j++) {
+                if (hand.get(j).getController() == aiPlayer) {
+                    myCards++;
+                } else {
+                    theirCards++;
+                }
+            }
+            if (p.isOpponentOf(aiPlayer)) {
+                opponentLife += p.getLife();
+            }
+        }
+        int score = 0;
+        if (!aiPlayer.isUnlimitedHandSize() && myCards > aiPlayer.getMaxHandSize()) {
+            score += myCards - aiPlayer.getMaxHandSize();
+            myCards = aiPlayer.getMaxHandSize();
+        }
+        score += 5 * myCards - 4 * theirCards;
+        score += 2 * aiPlayer.getLife();
+        score -= 2 * opponentLife / (players.size() - 1);
+        int summonSickScore = score;
+        boolean beforeMain2 = game.getPhaseHandler().getPhase().isBefore(PhaseType.MAIN2);
+        CardEvaluationCache cache = cardEvaluationCache;
+        for (int i = 0; i < players.size(); i++) {
+            Zone battlefield = players.get(i).getZone(ZoneType.Battlefield);
+            for (int j = 0; j < battlefield.size(); j++) {
+                Card c = battlefield.get(j);
+                if (c.isPhasedOut()) {
+                    continue;
+                }
+                int value;
+                if (cache != null && c.isCreature()) {
+                    value = cache.evaluateCreature(c, eval);
+                } else {
+                    value = evalCard(game, aiPlayer, c);
+                }
+                if (c.getController() == aiPlayer) {
+                    score += value;
+                    if (!beforeMain2 || !c.isSick()) {
+                        summonSickScore += value;
+                    }
+                } else {
+                    score -= value;
+                    summonSickScore -= value;
+                }
+            }
+        }
+        return new Score(score, summonSickScore);
+    }
+
     /**
      * Evaluate the value of a card. Used to determine which card the Computer should play
      * @param game
@@ -202,6 +290,11 @@ public class GameStateEvaluator {
 
 
     private class SimulationCreatureEvaluator extends CreatureEvaluator {
+        @Override
+        protected boolean describeValues() {
+            return debugging;
+        }
+
         @Override
         protected int addValue(int value, String text) {
             if (debugging && value != 0) {
@@ -0,0 +1,151 @@
+package forge.ai.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import forge.game.Game;
+import forge.game.GameEntity;
+import forge.game.card.Card;
+import forge.game.card.CounterType;
+import forge.game.combat.Combat;
+import forge.game.keyword.KeywordInterface;
+import forge.game.mana.Mana;
+import forge.game.player.Player;
+import forge.game.spellability.SpellAbilityStackInstance;
+import forge.game.spellability.TargetChoices;
+import forge.game.zone.ZoneType;
+
+/**
+ * Key of a game state for the {@link TranspositionTable}: a text holding the parts of the state the
+ * simulation AI reads, so that two states with equal keys are scored and searched alike.
+ *
+ * It holds, for each player, their life, counters, keywords, mana pool and how many lands and spells
+ * they played this turn, and for each card its name, state, owner and controller, plus on the
+ * battlefield its status, combat role, damage, power and toughness, type, counters, keywords, number
+ * of abilities and what it is attached to. Cards are told apart by these rather than by id, since
+ * ids differ between game copies. Only the order of the library and of the stack matters, the cards of
+ * the other zones are sorted, so that the same cards reached in another order give the same key.
+ *
+ * Keys are compared as a whole, so two different states never share an entry of the table. What the
+ * key leaves out, such as the text of abilities gained until end of turn, only makes states that differ
+ * in it share one.
+ */
+public final class GameStateKey {
+    private static final ZoneType[] ZONES = new ZoneType[] {
+        ZoneType.Battlefield,
+        ZoneType.Hand,
+        ZoneType.Graveyard,
+        ZoneType.Exile,
+        ZoneType.Command,
+    };
+
+    private GameStateKey() {
+    }
+
+    public static String compute(Game game, Player aiPlayer) {
+        List<Player> players = game.getPlayers();
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append(game.getPhaseHandler().getPhase()).append(';').append(game.getPhaseHandler().getTurn()).append(';')
+                .append(players.indexOf(game.getPhaseHandler().getPlayerTurn())).append(';').append(players.indexOf(aiPlayer));
+
+        for (Player p : players) {
+            sb.append("\nP").append(players.indexOf(p)).append(':').append(p.getLife()).append(';')
+                    .append(p.getLandsPlayedThisTurn()).append(';').append(p.getSpellsCastThisTurn()).append(';')
+                    .append(p.getMaxHandSize()).append(';');
+            appendCounters(sb, p);
+            List<String> keywords = new ArrayList<>();
+            for (KeywordInterface k : p.getKeywords()) {
+                keywords.add(k.getOriginal());
+            }
+            appendSorted(sb, keywords);
+            List<String> mana = new ArrayList<>();
+            for (Mana m : p.getManaPool()) {
+                mana.add(m.toString());
+            }
+            appendSorted(sb, mana);
+            for (ZoneType zone : ZONES) {
+                List<String> cards = new ArrayList<>();
+                for (Card c : p.getCardsIn(zone)) {
+                    cards.add(cardKey(c, game, players, zone == ZoneType.Battlefield, true));
+                }
+                sb.append('\n').append(zone).append(':');
+                appendSorted(sb, cards);
+            }
+            // Only the order of the library matters, as it decides what gets drawn.
+            sb.append("\nLibrary:");
+            for (Card c : p.getCardsIn(ZoneType.Library)) {
+                sb.append(c.getName()).append(',');
+            }
+        }
+
+        sb.append("\nStack:");
+        for (SpellAbilityStackInstance si : game.getStack()) {
+            sb.append(si.getSpellAbility(false)).append('/').append(players.indexOf(si.getActivatingPlayer())).append('/');
+            TargetChoices targets = si.getTargetChoices();
+            if (targets != null) {
+                for (Card c : targets.getTargetCards()) {
+                    sb.append(cardKey(c, game, players, c.isInPlay(), false)).append('&');
+                }
+                for (Player p : targets.getTargetPlayers()) {
+                    sb.append('P').append(players.indexOf(p)).append('&');
+                }
+            }
+            sb.append(',');
+        }
+        return sb.toString();
+    }
+
+    private static String cardKey(Card c, Game game, List<Player> players, boolean inPlay, boolean withAttachment) {
+        StringBuilder sb = new StringBuilder(64);
+        sb.append(c.getName()).append('|').append(c.getCurrentStateName()).append('|')
+                .append(players.indexOf(c.getOwner())).append('|').append(players.indexOf(c.getController()));
+        if (c.isFaceDown()) {
+            sb.append("|facedown");
+        }
+        if (!inPlay) {
+            return sb.toString();
+        }
+        Combat combat = game.getCombat();
+        sb.append('|').append(c.isTapped() ? 'T' : '-').append(c.hasSickness() ? 'S' : '-').append(c.isPhasedOut() ? 'P' : '-');
+        if (combat != null) {
+            sb.append(combat.isAttacking(c) ? 'A' : '-').append(combat.isBlocking(c) ? 'B' : '-');
+        }
+        sb.append('|').append(c.getDamage()).append('|').append(c.getNetPower()).append('/').append(c.getNetToughness())
+                .append('|').append(c.getType()).append('|');
+        appendCounters(sb, c);
+        List<String> keywords = new ArrayList<>();
+        for (KeywordInterface k : c.getKeywords()) {
+            keywords.add(k.getOriginal());
+        }
+        appendSorted(sb, keywords);
+        sb.append(c.getSpellAbilities().size()).append(',').append(c.getStaticAbilities().size()).append(',')
+                .append(c.getTriggers().size()).append(',').append(c.getReplacementEffects().size());
+        GameEntity attachedTo = c.getEntityAttachedTo();
+        if (withAttachment && attachedTo instanceof Card) {
+            sb.append("|@").append(cardKey((Card) attachedTo, game, players, true, false));
+        } else if (withAttachment && attachedTo instanceof Player) {
+            sb.append("|@P").append(players.indexOf(attachedTo));
+        }
+        return sb.toString();
+    }
+
+    private static void appendCounters(StringBuilder sb, GameEntity entity) {
+        Map<String, Integer> counters = new TreeMap<>();
+        for (Map.Entry<CounterType, Integer> e : entity.getCounters().entrySet()) {
+            counters.put(e.getKey().toString(), e.getValue());
+        }
+        sb.append(counters).append(';');
+    }
+
+    private static void appendSorted(StringBuilder sb, List<String> items) {
+        Collections.sort(items);
+        sb.append('[');
+        for (String item : items) {
+            sb.append(item).append(',');
+        }
+        sb.append("];");
+    }
+}
@@ -0,0 +1,352 @@
+package forge.ai.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import forge.ai.PlayerControllerAi;
+import forge.ai.simulation.GameStateEvaluator.Score;
+import forge.game.Game;
+import forge.game.player.Player;
+import forge.game.spellability.SpellAbility;
+import forge.util.MyRandom;
+
+/**
+ * Monte Carlo Tree Search over the plays the AI can make before passing priority, as an alternative
+ * to the exhaustive search of {@link SpellAbilityPicker}.
+ *
+ * Each node holds a snapshot of the game after a sequence of plays. A node is widened by one spell
+ * ability per visit; every choice of targets, modes and cards that {@link SpellAbilityChoicesIterator}
+ * enumerates for it becomes a separate child. Passing priority is a child of every node, worth the
+ * score of the node's game. New children are valued by a rollout, in which the heuristic
+ * {@link forge.ai.AiController} keeps playing on a copy of the game before it is scored.
+ *
+ * Playouts run in parallel on the simulation search pool. Nodes on the path of a running playout
+ * get a virtual loss, so that the other threads explore elsewhere in the meantime.
+ */
+public class MonteCarloTreeSearch {
+    private static final double EXPLORATION = 0.7;
+    private static final int VIRTUAL_LOSS = 1;
+    // plays the heuristic AI may make during a rollout
+    private static final int ROLLOUT_PLAYS = 3;
+    // score difference at which a play counts as 73% of a win
+    private static final double REWARD_SCALE = 100;
+    // visits needed for a deeper play to be added to the plan
+    private static final int MIN_PLAN_VISITS = 3;
+
+    private final Score rootScore;
+    private final Node root;
+    private final AtomicInteger playoutsStarted = new AtomicInteger();
+    private final AtomicInteger playouts = new AtomicInteger();
+    private long elapsedTime;
+
+    private static class Node {
+        final Game game;
+        final Player player;
+        final Score score;
+        // decision leading to this node, null for the root and for passing
+        final Plan.Decision decision;
+        final boolean pass;
+        final List<SpellAbility> candidates;
+        final List<Node> children = new ArrayList<>();
+        int nextCandidate;
+        int visits;
+        int virtualLoss;
+        double totalReward;
+
+        Node(Game game, Player player, Score score, Plan.Decision decision, List<SpellAbility> candidates) {
+            this.game = game;
+            this.player = player;
+            this.score = score;
+            this.decision = decision;
+            this.pass = false;
+            this.candidates = candidates;
+            children.add(new Node(this));
+        }
+
+        // pass priority in the parent's game
+        Node(Node parent) {
+            this.game = parent.game;
+            this.player = parent.player;
+            this.score = parent.score;
+            this.decision = null;
+            this.pass = true;
+            this.candidates = new ArrayList<>();
+        }
+
+        boolean isTerminal() {
+            return pass || game.isGameOver();
+        }
+    }
+
+    public MonteCarloTreeSearch(Game game, Player player, Score origGameScore, List<SpellAbility> candidateSAs) {
+        this.rootScore = origGameScore;
+        this.root = new Node(game, player, origGameScore, null, candidateSAs);
+    }
+
+    /**
+     * Runs up to the given number of playouts, on all threads of the search pool.
+     * @param deadline time in milliseconds at which to stop even if playouts are left, or 0 for none
+     * @return the plan following the most visited plays, or null if passing is best
+     */
+    public Plan search(int maxPlayouts, long deadline) {
+        long startTime = System.currentTimeMillis();
+        int nThreads = Math.max(1, Math.min(maxPlayouts, SpellAbilityPicker.getSearchPool().getParallelism()));
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(nThreads);
+        for (int i = 0; i < nThreads; i++) {
+            final long randomSeed = MyRandom.getRandom().nextLong();
+            tasks.add(SpellAbilityPicker.getSearchPool().submit(() -> runPlayouts(maxPlayouts, deadline, randomSeed)));
+        }
+
+        // Wait for every task even if one fails, so that none is still copying the game when we return.
+        RuntimeException failure = null;
+        for (ForkJoinTask<?> task : tasks) {
+            try {
+                task.join();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        elapsedTime = System.currentTimeMillis() - startTime;
+        if (failure != null) {
+            throw failure;
+        }
+        return getBestPlan();
+    }
+
+    public int getPlayouts() {
+        return playouts.get();
+    }
+
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    public double getPlayoutsPerSecond() {
+        return elapsedTime == 0 ? 0 : playouts.get() * 1000.0 / elapsedTime;
+    }
+
+    private void runPlayouts(int maxPlayouts, long deadline, long randomSeed) {
+        Random origThreadRandom = MyRandom.getThreadRandom();
+        MyRandom.setThreadRandom(new Random(randomSeed));
+        try {
+            while (playoutsStarted.getAndIncrement() < maxPlayouts) {
+                if (deadline > 0 && System.currentTimeMillis() >= deadline) {
+                    break;
+                }
+                playout();
+                playouts.incrementAndGet();
+            }
+        } finally {
+            MyRandom.setThreadRandom(origThreadRandom);
+        }
+    }
+
+    private void playout() {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int candidateIndex = -1;
+        synchronized (this) {
+            path.add(node);
+            node.virtualLoss += VIRTUAL_LOSS;
+            while (!node.isTerminal()) {
+                if (node.nextCandidate < node.candidates.size()) {
+                    candidateIndex = node.nextCandidate++;
+                    break;
+                }
+                node = selectChild(node);
+                path.add(node);
+                node.virtualLoss += VIRTUAL_LOSS;
+            }
+        }
+
+        double reward;
+        if (candidateIndex < 0) {
+            reward = getReward(node.score);
+        } else {
+            List<Node> newChildren = expand(node, candidateIndex);
+            Node best = null;
+            for (Node child : newChildren) {
+                if (best == null || child.score.value > best.score.value) {
+                    best = child;
+                }
+            }
+            if (best == null) {
+                reward = getReward(node.score);
+            } else {
+                reward = getReward(rollout(best));
+            }
+            synchronized (this) {
+                node.children.addAll(newChildren);
+                if (best != null) {
+                    best.virtualLoss += VIRTUAL_LOSS;
+                    path.add(best);
+                }
+            }
+        }
+
+        synchronized (this) {
+            for (Node n : path) {
+                n.virtualLoss -= VIRTUAL_LOSS;
+                n.visits++;
+                n.totalReward += reward;
+            }
+        }
+    }
+
+    private static Node selectChild(Node parent) {
+        double logVisits = Math.log(parent.visits + parent.virtualLoss + 1);
+        Node best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Node child : parent.children) {
+            int n = child.visits + child.virtualLoss;
+            if (n == 0) {
+                return child;
+            }
+            // Virtual losses count as visits without any reward.
+            double value = child.totalReward / n + EXPLORATION * Math.sqrt(logVisits / n);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    private double getReward(Score score) {
+        if (score.value == Integer.MAX_VALUE) {
+            return 1;
+        }
+        if (score.value == Integer.MIN_VALUE) {
+            return 0;
+        }
+        return 1 / (1 + Math.exp((rootScore.value - score.value) / REWARD_SCALE));
+    }
+
+    /**
+     * Simulates every choice of the given spell ability in the node's game.
+     */
+    private List<Node> expand(Node node, int saIndex) {
+        ExpansionController controller = new ExpansionController(node.score);
+        controller.evaluateSpellAbility(node.candidates, saIndex);
+        SpellAbility sa = node.candidates.get(saIndex);
+        SpellAbilityChoicesIterator choicesIterator = new SpellAbilityChoicesIterator(controller);
+        List<Node> children = new ArrayList<>();
+        Score bestScore = new Score(Integer.MIN_VALUE);
+        Score lastScore;
+        do {
+            GameSimulator simulator;
+            synchronized (node.game) {
+                simulator = new GameSimulator(controller, node.game, node.player, null, node.score, false);
+            }
+            simulator.setInterceptor(choicesIterator);
+            lastScore = simulator.simulateSpellAbility(sa);
+            if (lastScore.value > bestScore.value) {
+                bestScore = lastScore;
+            }
+            Game simGame = simulator.getSimulatedGameState();
+            if (lastScore.value != Integer.MIN_VALUE || simGame.isGameOver()) {
+                Player simPlayer = (Player) simulator.getGameCopier().find(node.player);
+                List<SpellAbility> candidates = new ArrayList<>();
+                if (!simGame.isGameOver()) {
+                    candidates = new SpellAbilityPicker(simGame, simPlayer).getCandidateSpellsAndAbilities();
+                }
+                children.add(new Node(simGame, simPlayer, lastScore, controller.getLastMergedDecision(), candidates));
+            }
+        } while (choicesIterator.advance(lastScore));
+        controller.doneEvaluating(bestScore);
+        return children;
+    }
+
+    /**
+     * Lets the heuristic AI keep playing on a copy of the node's game, and scores the result.
+     */
+    private Score rollout(Node node) {
+        if (node.game.isGameOver()) {
+            return node.score;
+        }
+        GameCopier copier = new GameCopier(node.game);
+        Game game;
+        synchronized (node.game) {
+            game = copier.makeCopy();
+        }
+        final Player p = (Player) copier.find(node.player);
+        if (p.getController() instanceof PlayerControllerAi) {
+            playRollout(game, p, (PlayerControllerAi) p.getController());
+        } else {
+            // the player isn't controlled by the AI, so an AI controller plays for them, as in GameSimulator.resolveStack()
+            final PlayerControllerAi controller = new PlayerControllerAi(game, p, p.getLobbyPlayer());
+            p.runWithController(() -> playRollout(game, p, controller), controller);
+        }
+        return new GameStateEvaluator().getScoreForGameState(game, p);
+    }
+
+    private static void playRollout(Game game, Player p, PlayerControllerAi controller) {
+        controller.setUseSimulation(false);
+        for (int i = 0; i < ROLLOUT_PLAYS && !game.isGameOver(); i++) {
+            List<SpellAbility> sas = controller.chooseSpellAbilityToPlay();
+            if (sas == null || sas.isEmpty()) {
+                break;
+            }
+            for (SpellAbility sa : sas) {
+                controller.playChosenSpellAbility(sa);
+            }
+            GameSimulator.resolveStack(game, p.getWeakestOpponent());
+        }
+    }
+
+    private static Node getMostVisitedChild(Node parent) {
+        Node best = null;
+        for (Node child : parent.children) {
+            if (best == null || child.visits > best.visits
+                    || (child.visits == best.visits && child.totalReward > best.totalReward)) {
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    private Plan getBestPlan() {
+        ArrayList<Plan.Decision> decisions = new ArrayList<>();
+        Node node = root;
+        Node best = getMostVisitedChild(node);
+        // Same as in SpellAbilityPicker, hold off on plays that only add summon sick creatures.
+        if (best == null || best.pass || best.score.summonSickValue <= rootScore.summonSickValue) {
+            return null;
+        }
+        while (best != null && !best.pass && (decisions.isEmpty() || best.visits >= MIN_PLAN_VISITS)) {
+            decisions.add(best.decision);
+            node = best;
+            best = getMostVisitedChild(node);
+        }
+        return new Plan(decisions, node.score);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MCTS: %d playouts in %d ms (%.1f/s), %d root children",
+                getPlayouts(), elapsedTime, getPlayoutsPerSecond(), root.children.size());
+    }
+
+    /**
+     * Simulates a single play, without recursing into further plays.
+     */
+    private static class ExpansionController extends SimulationController {
+        ExpansionController(Score score) {
+            super(score);
+        }
+
+        @Override
+        public boolean shouldRecurse() {
+            return false;
+        }
+
+        @Override
+        public void printState(Score score, SpellAbility origSa, String suffix, boolean useStack) {
+        }
+    }
+}
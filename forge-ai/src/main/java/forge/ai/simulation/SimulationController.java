@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import forge.ai.CardEvaluationCache;
 import forge.ai.simulation.GameStateEvaluator.Score;
 import forge.game.GameObject;
 import forge.game.card.Card;
@@ -11,7 +12,9 @@ import forge.game.player.Player;
 import forge.game.spellability.SpellAbility;
 
 public class SimulationController {
-    private static int MAX_DEPTH = 3;
+    static final int MAX_DEPTH = 3;
+    // how deep an iterative search may go when there's time left
+    static final int MAX_ITERATIVE_DEPTH = 8;
 
     private List<Plan.Decision> currentStack;
     private List<Score> scoreStack;
@@ -20,6 +23,14 @@ public class SimulationController {
     private Score bestScore;
     private List<CachedEffect> effectCache = new ArrayList<>();
     private GameObject[] currentHostAndTarget;
+    private final TranspositionTable transpositionTable;
+    // the positions being searched on from that are to be stored in the transposition table, innermost last
+    private final List<Subtree> subtrees = new ArrayList<>();
+    private int maxDepth = MAX_DEPTH;
+    private long deadline;
+    private boolean depthLimitReached;
+    private boolean timedOut;
+    private final CardEvaluationCache cardEvaluationCache = new CardEvaluationCache();
 
     private static class CachedEffect {
         final GameObject hostCard;
@@ -37,7 +48,44 @@ public class SimulationController {
         }
     }
 
+    private static class Subtree {
+        // last decision made to reach the position
+        final Plan.Decision anchor;
+        final boolean depthLimitReachedBefore;
+        // best decision found after the anchor and its score, like bestSequence and bestScore
+        Plan.Decision leaf;
+        Score score = new Score(Integer.MIN_VALUE);
+
+        Subtree(Plan.Decision anchor, boolean depthLimitReachedBefore) {
+            this.anchor = anchor;
+            this.depthLimitReachedBefore = depthLimitReachedBefore;
+        }
+
+        List<Plan.Decision> getContinuation() {
+            List<Plan.Decision> continuation = new ArrayList<>();
+            for (Plan.Decision d = leaf; d != anchor; d = d.prevDecision) {
+                continuation.add(d);
+            }
+            Collections.reverse(continuation);
+            // Copied, as getBestPlan() merges the decisions of the plan it returns.
+            Plan.Decision prev = null;
+            for (int i = 0; i < continuation.size(); i++) {
+                prev = new Plan.Decision(continuation.get(i), prev);
+                continuation.set(i, prev);
+            }
+            return continuation;
+        }
+    }
+
     public SimulationController(Score score) {
+        this(score, null);
+    }
+
+    /**
+     * @param transpositionTable the table shared by the searches of the decision, or null to not use any
+     */
+    public SimulationController(Score score, TranspositionTable transpositionTable) {
+        this.transpositionTable = transpositionTable;
         bestScore = score;
         scoreStack = new ArrayList<>();
         scoreStack.add(score);
@@ -49,8 +97,110 @@ public class SimulationController {
         return scoreStack.size() - 1;
     }
 
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @param deadline time in milliseconds after which the search should stop, or 0 for no limit
+     */
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Only to be called when the search would go on otherwise, as a true result means it was cut short.
+     */
+    public boolean isTimeUp() {
+        if (!timedOut && deadline > 0 && System.currentTimeMillis() >= deadline) {
+            timedOut = true;
+        }
+        return timedOut;
+    }
+
+    /**
+     * @return whether the deadline stopped the search before it was done
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * @return whether recursion was ever stopped by the depth limit, i.e. whether a deeper search could find more
+     */
+    public boolean isDepthLimitReached() {
+        return depthLimitReached;
+    }
+
     public boolean shouldRecurse() {
-        return bestScore.value != Integer.MAX_VALUE && getRecursionDepth() < MAX_DEPTH;
+        if (bestScore.value == Integer.MAX_VALUE) {
+            return false;
+        }
+        if (getRecursionDepth() >= maxDepth) {
+            depthLimitReached = true;
+            return false;
+        }
+        return !isTimeUp();
+    }
+
+    CardEvaluationCache getCardEvaluationCache() {
+        return cardEvaluationCache;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    private int getDepthLeft() {
+        return maxDepth - getRecursionDepth();
+    }
+
+    /**
+     * Looks the position up in the transposition table. When found, the plays stored with it are added
+     * after the last decision, as if they had been found by searching on from the position.
+     * @return the entry to use instead of searching from the position, or null
+     */
+    public TranspositionTable.Entry findTransposition(String stateKey) {
+        if (transpositionTable == null) {
+            return null;
+        }
+        TranspositionTable.Entry entry = transpositionTable.get(stateKey, getDepthLeft());
+        if (entry == null) {
+            return null;
+        }
+        if (entry.depthCutOff) {
+            // The entry is used instead of searching, so the search is cut off where the stored one was.
+            depthLimitReached = true;
+        }
+        if (!entry.continuation.isEmpty()) {
+            Plan.Decision leaf = getLastDecision();
+            for (Plan.Decision d : entry.continuation) {
+                leaf = new Plan.Decision(d, leaf);
+            }
+            updateBest(leaf, entry.continuationScore);
+        }
+        return entry;
+    }
+
+    /**
+     * Starts the search from a position that is then stored with storeTransposition().
+     */
+    public void beginTransposition() {
+        subtrees.add(new Subtree(getLastDecision(), depthLimitReached));
+        depthLimitReached = false;
+    }
+
+    public void storeTransposition(String stateKey, Score evalScore, Score score) {
+        Subtree subtree = subtrees.remove(subtrees.size() - 1);
+        boolean depthCutOff = depthLimitReached;
+        depthLimitReached |= subtree.depthLimitReachedBefore;
+        // A search cut short by the deadline or by a win found elsewhere didn't get as far as the entry would claim.
+        if (timedOut || (bestScore.value == Integer.MAX_VALUE && subtree.score.value != Integer.MAX_VALUE)) {
+            return;
+        }
+        List<Plan.Decision> continuation = subtree.leaf == null ? Collections.<Plan.Decision>emptyList() : subtree.getContinuation();
+        transpositionTable.put(stateKey, getDepthLeft(),
+                new TranspositionTable.Entry(evalScore, score, continuation, subtree.score, depthCutOff));
     }
 
     public Plan.Decision getLastDecision() {
@@ -83,13 +233,25 @@ public class SimulationController {
     public void doneEvaluating(Score score) {
         // if we're here during a deeper level this hasn't been called for the level above yet
         // in such case we need to check that this decision has really lead to the improvement in score
-        if (getLastDecision().initialScore.value < score.value && score.value > bestScore.value) {
-            bestScore = score;
-            bestSequence = getLastDecision();
+        if (getLastDecision().initialScore.value < score.value) {
+            updateBest(getLastDecision(), score);
         }
         currentStack.remove(currentStack.size() - 1);
     }
 
+    private void updateBest(Plan.Decision decision, Score score) {
+        if (score.value > bestScore.value) {
+            bestScore = score;
+            bestSequence = decision;
+        }
+        for (Subtree subtree : subtrees) {
+            if (score.value > subtree.score.value) {
+                subtree.score = score;
+                subtree.leaf = decision;
+            }
+        }
+    }
+
     public Score getBestScore() {
         return bestScore;
     }
@@ -130,7 +292,7 @@ public class SimulationController {
         return new Plan(sequence, getBestScore());
     }
 
-    private Plan.Decision getLastMergedDecision() {
+    Plan.Decision getLastMergedDecision() {
         MultiTargetSelector.Targets targets = null;
         List<String> choices = new ArrayList<>();
         int[] modes = null;
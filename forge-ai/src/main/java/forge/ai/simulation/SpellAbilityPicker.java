@@ -2,15 +2,24 @@ package forge.ai.simulation;
 
 import forge.util.MyRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import forge.ai.AiController;
 import forge.ai.AiPlayDecision;
+import forge.ai.AiProps;
 import forge.ai.ComputerUtil;
 import forge.ai.ComputerUtilAbility;
 import forge.ai.ComputerUtilCard;
 import forge.ai.ComputerUtilCost;
+import forge.ai.PlayerControllerAi;
 import forge.ai.ability.ChangeZoneAi;
 import forge.ai.ability.ExploreAi;
 import forge.ai.ability.LearnAi;
@@ -32,6 +41,9 @@ import forge.game.zone.ZoneType;
 import forge.util.TextUtil;
 
 public class SpellAbilityPicker {
+    // Shared by all pickers, worker threads are named like game threads since they run game code.
+    private static ForkJoinPool searchPool;
+
     private Game game;
     private Player player;
     private Score bestScore;
@@ -39,7 +51,13 @@ public class SpellAbilityPicker {
     private SpellAbilityChoicesIterator interceptor;
 
     private Plan plan;
-    private int numSimulations;
+    private int transpositionTableSize = -1;
+    // shared by all searches of the last plan, null if disabled
+    private TranspositionTable transpositionTable;
+    private MonteCarloTreeSearch monteCarloTreeSearch;
+    private final AtomicInteger numSimulations = new AtomicInteger();
+    // Every copy of the same game state is the same, so only the first one needs to be verified.
+    private final AtomicBoolean copyVerified = new AtomicBoolean();
 
     public SpellAbilityPicker(Game game, Player player) {
         this.game = game;
@@ -64,7 +82,7 @@ public class SpellAbilityPicker {
         print("---- choose ability  (phase = " + phaseStr + ")");
     }
 
-    private List<SpellAbility> getCandidateSpellsAndAbilities() {
+    List<SpellAbility> getCandidateSpellsAndAbilities() {
         CardCollection cards = ComputerUtilAbility.getAvailableCards(game, player);
         cards = ComputerUtilCard.dedupeCards(cards);
         List<SpellAbility> all = ComputerUtilAbility.getSpellAbilities(cards, player);
@@ -99,6 +117,7 @@ public class SpellAbilityPicker {
         }
 
         Score origGameScore = new GameStateEvaluator().getScoreForGameState(game, player);
+        copyVerified.set(false);
         List<SpellAbility> candidateSAs = getCandidateSpellsAndAbilities();
         if (controller != null) {
             // This is a recursion during a higher-level simulation. Just return the head of the best
@@ -112,11 +131,27 @@ public class SpellAbilityPicker {
             return sa;
         }
         createNewPlan(origGameScore, candidateSAs);
+        if (transpositionTable != null) {
+            print("Transposition table: " + transpositionTable);
+        }
         return getPlannedSpellAbility(origGameScore, candidateSAs);
     }
 
     private Plan formulatePlanWithPhase(Score origGameScore, List<SpellAbility> candidateSAs, PhaseType phase) {
-        SimulationController controller = new SimulationController(origGameScore);
+        boolean parallel = candidateSAs.size() > 1 && useParallelSearch();
+        int timeBudget = getAiIntProperty(AiProps.SIMULATION_TIME_BUDGET);
+        if (timeBudget > 0) {
+            return formulatePlanIteratively(origGameScore, candidateSAs, phase, parallel, timeBudget);
+        }
+        if (parallel) {
+            long startTime = System.currentTimeMillis();
+            print("Evaluating in parallel... (orig score = " + origGameScore +  ")");
+            RootResult[] results = evaluateRootCandidates(origGameScore, candidateSAs, phase,
+                    getCandidateOrder(candidateSAs.size(), null), SimulationController.MAX_DEPTH, 0, true);
+            RootResult best = chooseBestResult(origGameScore, candidateSAs, results, startTime);
+            return best == null ? null : best.controller.getBestPlan();
+        }
+        SimulationController controller = new SimulationController(origGameScore, transpositionTable);
         SpellAbility sa = chooseSpellAbilityToPlayImpl(controller, candidateSAs, origGameScore, phase);
         if (sa != null) {
             return controller.getBestPlan();
@@ -124,6 +159,223 @@ public class SpellAbilityPicker {
         return null;
     }
 
+    /**
+     * Searches one play deeper each iteration until the time budget runs out, always keeping the plan
+     * of the last iteration that got far enough to be trusted. Each iteration searches the candidates
+     * in the order of the previous iteration's scores. So when an iteration is cut short, the candidates
+     * it did finish include the previous best one, and their scores can still be compared with each other.
+     * All iterations share the transposition table of the decision, so a position an earlier iteration
+     * searched with as much depth left isn't searched again.
+     */
+    private Plan formulatePlanIteratively(Score origGameScore, List<SpellAbility> candidateSAs, PhaseType phase,
+            boolean parallel, int timeBudget) {
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + timeBudget;
+        Integer[] order = getCandidateOrder(candidateSAs.size(), null);
+        Plan bestPlan = null;
+        for (int maxDepth = 0; maxDepth <= SimulationController.MAX_ITERATIVE_DEPTH; maxDepth++) {
+            print("Evaluating to depth " + maxDepth + "... (orig score = " + origGameScore +  ")");
+            RootResult[] results = evaluateRootCandidates(origGameScore, candidateSAs, phase, order, maxDepth, deadline, parallel);
+            boolean finished = true;
+            boolean depthLimitReached = false;
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null || !results[i].finished) {
+                    // Without any recursion a partly evaluated candidate is still better than no plan at all.
+                    if (maxDepth > 0 || results[i] == null) {
+                        results[i] = null;
+                    }
+                    finished = false;
+                } else if (results[i].controller.isDepthLimitReached()) {
+                    depthLimitReached = true;
+                }
+            }
+            if (maxDepth > 0 && results[order[0]] == null) {
+                print("Out of time before finishing the previous best candidate, keeping the previous plan.");
+                break;
+            }
+            RootResult best = chooseBestResult(origGameScore, candidateSAs, results, startTime);
+            bestPlan = best == null ? null : best.controller.getBestPlan();
+            if (!finished) {
+                print("Out of time, keeping the best plan among the candidates evaluated to depth " + maxDepth + ".");
+                break;
+            }
+            if (!depthLimitReached) {
+                // Nothing was cut off by the depth limit, so searching deeper would give the same result.
+                break;
+            }
+            order = getCandidateOrder(candidateSAs.size(), results);
+        }
+        return bestPlan;
+    }
+
+    private static Integer[] getCandidateOrder(int count, final RootResult[] previousResults) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        if (previousResults != null) {
+            // Best first, keeping the original order among equal scores.
+            Arrays.sort(order, (a, b) -> Integer.compare(previousResults[b].score.value, previousResults[a].score.value));
+        }
+        return order;
+    }
+
+    private boolean useMonteCarloTreeSearch() {
+        if (!(player.getController() instanceof PlayerControllerAi)) {
+            return false;
+        }
+        AiController aic = ((PlayerControllerAi) player.getController()).getAi();
+        return aic.usesMonteCarloTreeSearch() || aic.getBooleanProperty(AiProps.SIMULATION_USE_MCTS);
+    }
+
+    private void createNewPlanWithMonteCarloTreeSearch(Score origGameScore, List<SpellAbility> candidateSAs) {
+        if (candidateSAs.isEmpty()) {
+            print("No good plan at this time");
+            return;
+        }
+        int timeBudget = getAiIntProperty(AiProps.SIMULATION_TIME_BUDGET);
+        long deadline = timeBudget > 0 ? System.currentTimeMillis() + timeBudget : 0;
+        monteCarloTreeSearch = new MonteCarloTreeSearch(game, player, origGameScore, candidateSAs);
+        Plan bestPlan = monteCarloTreeSearch.search(getAiIntProperty(AiProps.SIMULATION_MCTS_PLAYOUTS), deadline);
+        print(monteCarloTreeSearch.toString());
+        if (bestPlan == null) {
+            print("No good plan at this time");
+            return;
+        }
+        printPlan(bestPlan, "Current phase (" + game.getPhaseHandler().getPhase() + ")");
+        plan = bestPlan;
+    }
+
+    private boolean useParallelSearch() {
+        if (!(player.getController() instanceof PlayerControllerAi)) {
+            return false;
+        }
+        return ((PlayerControllerAi) player.getController()).getAi().getBooleanProperty(AiProps.SIMULATION_PARALLEL_ROOT_SEARCH);
+    }
+
+    private int getAiIntProperty(AiProps propName) {
+        if (!(player.getController() instanceof PlayerControllerAi)) {
+            return Integer.parseInt(propName.getDefault());
+        }
+        return ((PlayerControllerAi) player.getController()).getAi().getIntProperty(propName);
+    }
+
+    static synchronized ForkJoinPool getSearchPool() {
+        if (searchPool == null) {
+            searchPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Game-Simulation-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+        }
+        return searchPool;
+    }
+
+    private static class RootResult {
+        final int saIndex;
+        final SimulationController controller;
+        final Score score;
+        // false if the deadline stopped the search of the candidate before it was done
+        final boolean finished;
+
+        RootResult(int saIndex, SimulationController controller, Score score) {
+            this.saIndex = saIndex;
+            this.controller = controller;
+            this.score = score;
+            this.finished = !controller.isTimedOut();
+        }
+    }
+
+    /**
+     * Evaluates every root candidate with its own controller, in the given order, either sequentially
+     * or as tasks on the search pool. The random seeds are drawn in candidate order beforehand, so the
+     * seed of a candidate doesn't depend on the order or on scheduling.
+     * @return the results indexed like candidateSAs, null for candidates skipped because the time ran out
+     */
+    private RootResult[] evaluateRootCandidates(Score origGameScore, List<SpellAbility> candidateSAs, PhaseType phase,
+            Integer[] order, int maxDepth, long deadline, boolean parallel) {
+        long[] randomSeeds = new long[candidateSAs.size()];
+        for (int i = 0; i < randomSeeds.length; i++) {
+            randomSeeds[i] = MyRandom.getRandom().nextLong();
+        }
+        RootResult[] results = new RootResult[candidateSAs.size()];
+        if (!parallel) {
+            for (int i = 0; i < order.length; i++) {
+                // Always evaluate at least one candidate.
+                if (i > 0 && deadline > 0 && System.currentTimeMillis() >= deadline) {
+                    break;
+                }
+                int saIndex = order[i];
+                results[saIndex] = evaluateRootCandidate(origGameScore, candidateSAs, phase, saIndex, randomSeeds[saIndex], maxDepth, deadline);
+            }
+            return results;
+        }
+
+        List<ForkJoinTask<RootResult>> tasks = new ArrayList<>(order.length);
+        for (int i = 0; i < order.length; i++) {
+            final boolean first = i == 0;
+            final int saIndex = order[i];
+            tasks.add(getSearchPool().submit(() -> {
+                if (!first && deadline > 0 && System.currentTimeMillis() >= deadline) {
+                    return null;
+                }
+                return GameSimulator.keepingDebugOutput(() ->
+                        evaluateRootCandidate(origGameScore, candidateSAs, phase, saIndex, randomSeeds[saIndex], maxDepth, deadline));
+            }));
+        }
+
+        // Wait for every task even if one fails, so that none is still copying the game when we return.
+        RuntimeException failure = null;
+        for (int i = 0; i < order.length; i++) {
+            try {
+                results[order[i]] = tasks.get(i).join();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    private RootResult evaluateRootCandidate(Score origGameScore, List<SpellAbility> candidateSAs, PhaseType phase,
+            int saIndex, long randomSeedToUse, int maxDepth, long deadline) {
+        SimulationController controller = new SimulationController(origGameScore, transpositionTable);
+        controller.setMaxDepth(maxDepth);
+        controller.setDeadline(deadline);
+        Score score = evaluateSa(controller, origGameScore, phase, candidateSAs, saIndex, randomSeedToUse);
+        return new RootResult(saIndex, controller, score);
+    }
+
+    /**
+     * Same choice as in chooseSpellAbilityToPlayImpl(): the highest score wins and ties go to the earliest
+     * candidate, so the result is the same as that of the sequential search.
+     */
+    private RootResult chooseBestResult(Score origGameScore, List<SpellAbility> candidateSAs, RootResult[] results, long startTime) {
+        RootResult best = null;
+        Score bestSaValue = origGameScore;
+        for (RootResult result : results) {
+            if (result != null && result.score.value > bestSaValue.value) {
+                bestSaValue = result.score;
+                best = result;
+            }
+        }
+
+        // See chooseSpellAbilityToPlayImpl() for why summon sick creatures are checked here.
+        if (best != null && bestSaValue.summonSickValue <= origGameScore.summonSickValue) {
+            best = null;
+        }
+
+        long execTime = System.currentTimeMillis() - startTime;
+        SpellAbility bestSa = best == null ? null : candidateSAs.get(best.saIndex);
+        print("BEST: " + abilityToString(bestSa) + " SCORE: " + bestSaValue.summonSickValue + " TIME: " + execTime);
+        this.bestScore = bestSaValue;
+        return best;
+    }
+
     private void printPlan(Plan plan, String intro) {
         if (plan == null) {
             print(intro + ": no plan!");
@@ -151,6 +403,16 @@ public class SpellAbilityPicker {
 
     private void createNewPlan(Score origGameScore, List<SpellAbility> candidateSAs) {
         plan = null;
+        transpositionTable = null;
+        if (useMonteCarloTreeSearch()) {
+            createNewPlanWithMonteCarloTreeSearch(origGameScore, candidateSAs);
+            return;
+        }
+        int tableSize = transpositionTableSize >= 0 ? transpositionTableSize
+                : getAiIntProperty(AiProps.SIMULATION_TRANSPOSITION_TABLE_SIZE);
+        if (tableSize > 0) {
+            transpositionTable = new TranspositionTable(tableSize);
+        }
 
         Plan bestPlan = formulatePlanWithPhase(origGameScore, candidateSAs, null);
         if (bestPlan == null) {
@@ -189,7 +451,10 @@ public class SpellAbilityPicker {
         Score bestSaValue = origGameScore;
         print("Evaluating... (orig score = " + origGameScore +  ")");
         for (int i = 0; i < candidateSAs.size(); i++) {
-            Score value = evaluateSa(controller, phase, candidateSAs, i);
+            if (controller.isTimeUp()) {
+                break;
+            }
+            Score value = evaluateSa(controller, origGameScore, phase, candidateSAs, i);
             if (value.value > bestSaValue.value) {
                 bestSaValue = value;
                 bestSa = candidateSAs.get(i);
@@ -351,33 +616,42 @@ public class SpellAbilityPicker {
         return AiPlayDecision.WillPlay;
     }
 
-    private Score evaluateSa(final SimulationController controller, PhaseType phase, List<SpellAbility> saList, int saIndex) {
-        controller.evaluateSpellAbility(saList, saIndex);
-        SpellAbility sa = saList.get(saIndex);
-
+    private Score evaluateSa(final SimulationController controller, Score origGameScore, PhaseType phase, List<SpellAbility> saList, int saIndex) {
         // Use a deterministic random seed when evaluating different choices of a spell ability.
         // This is needed as otherwise random effects may result in a different number of choices
         // each iteration, which will break the logic in SpellAbilityChoicesIterator.
-        Random origRandom = MyRandom.getRandom();
-        long randomSeedToUse = origRandom.nextLong();
+        return evaluateSa(controller, origGameScore, phase, saList, saIndex, MyRandom.getRandom().nextLong());
+    }
 
+    private Score evaluateSa(final SimulationController controller, Score origGameScore, PhaseType phase, List<SpellAbility> saList, int saIndex, long randomSeedToUse) {
+        controller.evaluateSpellAbility(saList, saIndex);
+        SpellAbility sa = saList.get(saIndex);
+
+        // The seed only applies to this thread, so that simulations on other threads aren't affected.
+        Random origThreadRandom = MyRandom.getThreadRandom();
         Score bestScore = new Score(Integer.MIN_VALUE);
         final SpellAbilityChoicesIterator choicesIterator = new SpellAbilityChoicesIterator(controller);
         Score lastScore;
-        do {
-            // TODO: MyRandom should be an instance on the game object, so that we could do
-            // simulations in parallel without messing up global state.
-            MyRandom.setRandom(new Random(randomSeedToUse));
-            GameSimulator simulator = new GameSimulator(controller, game, player, phase);
-            simulator.setInterceptor(choicesIterator);
-            lastScore = simulator.simulateSpellAbility(sa);
-            numSimulations++;
-            if (lastScore.value > bestScore.value) {
-                bestScore = lastScore;
-            }
-        } while (choicesIterator.advance(lastScore));
+        try {
+            do {
+                MyRandom.setThreadRandom(new Random(randomSeedToUse));
+                GameSimulator simulator;
+                // Copying reads the original game, which other root candidates may be copying at the same time.
+                synchronized (game) {
+                    boolean verifyCopy = phase == null && !copyVerified.getAndSet(true);
+                    simulator = new GameSimulator(controller, game, player, phase, origGameScore, verifyCopy);
+                }
+                simulator.setInterceptor(choicesIterator);
+                lastScore = simulator.simulateSpellAbility(sa);
+                numSimulations.incrementAndGet();
+                if (lastScore.value > bestScore.value) {
+                    bestScore = lastScore;
+                }
+            } while (choicesIterator.advance(lastScore) && !controller.isTimeUp());
+        } finally {
+            MyRandom.setThreadRandom(origThreadRandom);
+        }
         controller.doneEvaluating(bestScore);
-        MyRandom.setRandom(origRandom);
         return bestScore;
     }
 
@@ -456,7 +730,32 @@ public class SpellAbilityPicker {
         return ComputerUtil.chooseSacrificeType(player, type, ability, ability.getTargetCard(), effect, amount, exclude);
     }
 
+    /**
+     * @param size the size of the transposition table, instead of the one set in the AI profile
+     */
+    public void setTranspositionTableSize(int size) {
+        transpositionTableSize = size;
+    }
+
+    /**
+     * @return how many positions of the last plan were found in the transposition table
+     */
+    public int getTranspositionHits() {
+        return transpositionTable == null ? 0 : transpositionTable.getHits();
+    }
+
+    public int getTranspositionMisses() {
+        return transpositionTable == null ? 0 : transpositionTable.getMisses();
+    }
+
+    /**
+     * @return the last Monte Carlo Tree Search run, with its playout statistics, or null if there was none
+     */
+    public MonteCarloTreeSearch getMonteCarloTreeSearch() {
+        return monteCarloTreeSearch;
+    }
+
     public int getNumSimulations() {
-        return numSimulations;
+        return numSimulations.get();
     }
 }
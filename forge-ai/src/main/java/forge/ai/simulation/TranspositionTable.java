@@ -0,0 +1,92 @@
+package forge.ai.simulation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import forge.ai.simulation.GameStateEvaluator.Score;
+
+/**
+ * Bounded cache of simulation results, keyed on the {@link GameStateKey} of the position reached
+ * and the depth that was left to search from it. Lets different orders of the same actions (e.g. land
+ * then spell vs. spell then land) share a single search, also across the root candidates of a decision
+ * and across the iterations of an iterative search. The least recently used entries are dropped once
+ * the table is full.
+ *
+ * An entry holds the best plays found from the position, so that a plan reaching the position again
+ * gets them without searching the position again.
+ *
+ * The table is shared by the searches of a whole decision, which may run at the same time.
+ */
+public class TranspositionTable {
+    public static class Entry {
+        // score of the position itself, before searching on from it
+        public final Score evalScore;
+        // score the search from the position returned
+        public final Score score;
+        // best plays found after reaching the position, first one first, and the score of the last one
+        public final List<Plan.Decision> continuation;
+        public final Score continuationScore;
+        // whether the search from the position was stopped anywhere by the depth limit
+        public final boolean depthCutOff;
+
+        public Entry(Score evalScore, Score score, List<Plan.Decision> continuation, Score continuationScore, boolean depthCutOff) {
+            this.evalScore = evalScore;
+            this.score = score;
+            this.continuation = continuation;
+            this.continuationScore = continuationScore;
+            this.depthCutOff = depthCutOff;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+    private int hits;
+    private int misses;
+
+    public TranspositionTable(final int maxSize) {
+        entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    private static String getKey(String stateKey, int depthLeft) {
+        // The same position is worth more when there's more depth left to search from it.
+        return depthLeft + "\n" + stateKey;
+    }
+
+    public synchronized Entry get(String stateKey, int depthLeft) {
+        Entry entry = entries.get(getKey(stateKey, depthLeft));
+        if (entry == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return entry;
+    }
+
+    public synchronized void put(String stateKey, int depthLeft, Entry entry) {
+        entries.put(getKey(stateKey, depthLeft), entry);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "hits = " + hits + ", misses = " + misses + ", size = " + entries.size();
+    }
+}
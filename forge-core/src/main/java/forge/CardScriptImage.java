@@ -0,0 +1,232 @@
+package forge;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * A single binary file holding the lines of all the card scripts of a folder,
+ * so that they can be read at once instead of opening thousands of files or
+ * zip entries at every startup.
+ *
+ * The image records a fingerprint of the scripts it was made from (their names,
+ * sizes and modification times) and a checksum of its content. It is only used
+ * while both match, otherwise the scripts are read again and the image rebuilt.
+ * When cards are loaded lazily, only an {@link Index} of the scripts is kept
+ * and each script is read from the mapped image when its card is requested.
+ *
+ * Layout: magic, format version, fingerprint, checksum of the rest, number of
+ * scripts, then for each one its file name, number of lines and lines. Strings
+ * are stored as their length in UTF-8 bytes followed by the bytes. Empty lines
+ * and comments are left out, as {@link forge.card.CardRules.Reader} skips them.
+ */
+final class CardScriptImage {
+    private static final int MAGIC = 0x46435349; // "FCSI"
+    // increase whenever the layout, or the way the lines are read, changes
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4;
+
+    private CardScriptImage() {
+    }
+
+    /**
+     * @return the lines of each script by file name, or null if the image is
+     * missing, was made from other scripts or is damaged.
+     */
+    static Map<String, List<String>> read(final File image, final long fingerprint) {
+        try {
+            final ByteBuffer buffer = open(image, fingerprint);
+            if (buffer == null) {
+                return null;
+            }
+            final int count = buffer.getInt();
+            final Map<String, List<String>> scripts = new LinkedHashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                final String name = readString(buffer);
+                scripts.put(name, readLines(buffer));
+            }
+            return scripts;
+        } catch (final IOException | RuntimeException e) {
+            System.err.println("Error reading card script image " + image.getAbsolutePath() + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Where each script is in a mapped image, to read single scripts from it when they are needed.
+     */
+    static final class Index {
+        private final ByteBuffer buffer;
+        private final TreeMap<String, Integer> positions;
+
+        private Index(final ByteBuffer buffer, final TreeMap<String, Integer> positions) {
+            this.buffer = buffer;
+            this.positions = positions;
+        }
+
+        /**
+         * @return the name of the first script starting with this prefix, or null.
+         */
+        String findName(final String prefix) {
+            final String name = positions.ceilingKey(prefix);
+            return name != null && name.startsWith(prefix) ? name : null;
+        }
+
+        List<String> getLines(final String name) {
+            final Integer position = positions.get(name);
+            if (position == null) {
+                return null;
+            }
+            final ByteBuffer script = buffer.duplicate();
+            script.position(position);
+            return readLines(script);
+        }
+    }
+
+    /**
+     * @return the index of the image, or null if the image is missing, was made
+     * from other scripts or is damaged.
+     */
+    static Index index(final File image, final long fingerprint) {
+        try {
+            final ByteBuffer buffer = open(image, fingerprint);
+            if (buffer == null) {
+                return null;
+            }
+            final int count = buffer.getInt();
+            final TreeMap<String, Integer> positions = new TreeMap<>();
+            for (int i = 0; i < count; i++) {
+                final String name = readString(buffer);
+                positions.put(name, buffer.position());
+                final int lineCount = buffer.getInt();
+                for (int j = 0; j < lineCount; j++) {
+                    final int length = buffer.getInt();
+                    buffer.position(buffer.position() + length);
+                }
+            }
+            return new Index(buffer, positions);
+        } catch (final IOException | RuntimeException e) {
+            System.err.println("Error reading card script image " + image.getAbsolutePath() + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the mapped image positioned after its header, or null if it can't be used.
+     */
+    private static ByteBuffer open(final File image, final long fingerprint) throws IOException {
+        if (!image.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(image, "r"); FileChannel channel = file.getChannel()) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            // the mapping stays valid once the file is closed
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getLong() != fingerprint) {
+                return null;
+            }
+            final int checksum = buffer.getInt();
+            final CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                System.err.println("Ignoring damaged card script image " + image.getAbsolutePath());
+                return null;
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Write the image, replacing the previous one only once the new one is complete.
+     * @param scripts the lines of each script by file name
+     */
+    static void write(final File image, final long fingerprint, final Map<String, List<String>> scripts) {
+        try {
+            final ByteArrayOutputStream content = new ByteArrayOutputStream(1 << 20);
+            final DataOutputStream out = new DataOutputStream(content);
+            out.writeInt(scripts.size());
+            for (final Map.Entry<String, List<String>> e : scripts.entrySet()) {
+                writeString(out, e.getKey());
+                int lineCount = 0;
+                for (final String line : e.getValue()) {
+                    if (isScriptLine(line)) {
+                        lineCount++;
+                    }
+                }
+                out.writeInt(lineCount);
+                for (final String line : e.getValue()) {
+                    if (isScriptLine(line)) {
+                        writeString(out, line);
+                    }
+                }
+            }
+            out.flush();
+
+            final byte[] bytes = content.toByteArray();
+            final CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length);
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(fingerprint).putInt((int) crc.getValue());
+
+            final File dir = image.getAbsoluteFile().getParentFile();
+            if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("can't create " + dir);
+            }
+            // a file of its own, so that processes writing the image at the same time don't mix their content
+            final File temp = File.createTempFile(image.getName(), ".tmp", dir);
+            try {
+                try (FileOutputStream file = new FileOutputStream(temp)) {
+                    file.write(header.array());
+                    file.write(bytes);
+                }
+                Files.move(temp.toPath(), image.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+        } catch (final IOException e) {
+            System.err.println("Error writing card script image " + image.getAbsolutePath() + ": " + e);
+        }
+    }
+
+    private static boolean isScriptLine(final String line) {
+        return !line.isEmpty() && line.charAt(0) != '#';
+    }
+
+    private static List<String> readLines(final ByteBuffer buffer) {
+        final int lineCount = buffer.getInt();
+        final List<String> lines = new ArrayList<>(lineCount);
+        for (int j = 0; j < lineCount; j++) {
+            lines.add(readString(buffer));
+        }
+        return lines;
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream out, final String s) throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -73,6 +73,13 @@ public class CardStorageReader {
 
     private final boolean loadCardsLazily;
 
+    private File scriptImage;
+    // lines of the scripts read while loading all cards, to write to the image
+    private Map<String, List<String>> scriptsRead;
+    // where the scripts are in the image, when it is up to date and cards are loaded one by one
+    private CardScriptImage.Index scriptIndex;
+    private boolean scriptIndexChecked;
+
     public CardStorageReader(final String cardDataDir, final CardStorageReader.ProgressObserver progressObserver, boolean loadCardsLazily) {
         this.progressObserver = progressObserver != null ? progressObserver : CardStorageReader.ProgressObserver.emptyObserver;
         this.cardsfolder = new File(cardDataDir);
@@ -104,6 +111,15 @@ public class CardStorageReader {
 
     } // CardReader()
 
+    /**
+     * Read all the cards from this binary image of their scripts when it is up to date,
+     * and update it otherwise. This avoids reading each script from its own file.
+     * When cards are loaded lazily, they are read from the image as long as it is up to date.
+     */
+    public void setScriptImage(final File scriptImage) {
+        this.scriptImage = scriptImage;
+    }
+
     private List<CardRules> loadCardsInRange(final List<File> files, final int from, final int to) {
         final CardRules.Reader rulesReader = new CardRules.Reader();
 
@@ -115,6 +131,18 @@ public class CardStorageReader {
         return result;
     }
 
+    private List<CardRules> loadCardsInRangeFromScripts(final List<Map.Entry<String, List<String>>> scripts, final int from, final int to) {
+        final CardRules.Reader rulesReader = new CardRules.Reader();
+
+        final List<CardRules> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            final Map.Entry<String, List<String>> script = scripts.get(i);
+            rulesReader.reset();
+            result.add(rulesReader.readCard(script.getValue(), Files.getNameWithoutExtension(script.getKey())));
+        }
+        return result;
+    }
+
     private List<CardRules> loadCardsInRangeFromZip(final List<ZipEntry> files, final int from, final int to) {
         final CardRules.Reader rulesReader = new CardRules.Reader();
 
@@ -191,7 +219,7 @@ public class CardStorageReader {
             // TODO: Consider changing the naming convention for DFCs.
             String[] fileNames = new File(folder).list();
             if (fileNames != null) {
-                for (String fileName : new File(folder).list()) {
+                for (String fileName : fileNames) {
                     if (fileName.startsWith(transformedName)) {
                         file = new File(folder, fileName);
                         break;
@@ -202,10 +230,37 @@ public class CardStorageReader {
         return file;
     }
 
+    private synchronized CardScriptImage.Index getScriptIndex() {
+        if (!scriptIndexChecked && scriptImage != null && loadCardsLazily) {
+            scriptIndex = CardScriptImage.index(scriptImage, getFingerprint(collectCardFiles(new ArrayList<>(), this.cardsfolder)));
+            scriptIndexChecked = true;
+        }
+        return scriptIndex;
+    }
+
+    private CardRules loadCardFromImage(final CardScriptImage.Index index, final String transformedName) {
+        String name = transformedName.charAt(0) + "/" + transformedName;
+        List<String> lines = index.getLines(name + CardStorageReader.CARD_FILE_DOT_EXTENSION);
+        if (lines != null) {
+            return new CardRules.Reader().readCard(lines, transformedName);
+        }
+        // Double faced cards are prefix matched, as for the files
+        name = index.findName(name);
+        if (name == null) {
+            return null;
+        }
+        return new CardRules.Reader().readCard(index.getLines(name), Files.getNameWithoutExtension(name));
+    }
+
     public final CardRules attemptToLoadCard(String cardName) {
         String transformedName = transformName(cardName);
         CardRules rules = null;
 
+        final CardScriptImage.Index index = getScriptIndex();
+        if (index != null) {
+            return loadCardFromImage(index, transformedName);
+        }
+
         // TODO: Should CardRules.Reader object be cached?
         ZipEntry entry = findZipEntryForCard(transformedName);
         if (entry != null) {
@@ -243,6 +298,25 @@ public class CardStorageReader {
         }
  
         final List<File> allFiles = collectCardFiles(new ArrayList<>(), this.cardsfolder);
+        final long fingerprint = scriptImage == null ? 0 : getFingerprint(allFiles);
+        if (scriptImage != null) {
+            final StopWatch sw = new StopWatch();
+            sw.start();
+            final Map<String, List<String>> scripts = CardScriptImage.read(scriptImage, fingerprint);
+            if (scripts != null) {
+                final int scriptParts = scripts.size() < NUMBER_OF_PARTS * 100 ? Math.max(1, scripts.size() / 100) : NUMBER_OF_PARTS;
+                final CountDownLatch cdlScripts = new CountDownLatch(scriptParts);
+                final List<Callable<List<CardRules>>> taskScripts = makeTaskListForScripts(new ArrayList<>(scripts.entrySet()), cdlScripts);
+                progressObserver.setOperationName(localizer.getMessage("splash.loading.cards-archive"), true);
+                progressObserver.report(0, taskScripts.size());
+                executeLoadTask(result, taskScripts, cdlScripts);
+                sw.stop();
+                System.out.printf("Read cards: %s scripts from %s in %d ms (%d parts) %s%n", scripts.size(), scriptImage.getName(), sw.getTime(), taskScripts.size(), useThreadPool ? "using thread pool" : "in same thread");
+                return result;
+            }
+            scriptsRead = new ConcurrentHashMap<>();
+        }
+
         if (!allFiles.isEmpty()) {
             int fileParts = zip == null ? NUMBER_OF_PARTS : 1 + NUMBER_OF_PARTS / 3;
             if (allFiles.size() < fileParts * 100) {
@@ -274,9 +348,47 @@ public class CardStorageReader {
             System.out.printf("Read cards: %s archived files in %d ms (%d parts) %s%n", this.zip.size(), timeOnParse, taskZip.size(), useThreadPool ? "using thread pool" : "in same thread");
         }
 
+        if (scriptsRead != null) {
+            // not when some scripts failed to load, they would be missing until the next change
+            final int scriptCount = allFiles.size() + (this.zip == null ? 0 : getZipEntries().size());
+            if (scriptsRead.size() == scriptCount) {
+                CardScriptImage.write(scriptImage, fingerprint, new TreeMap<>(scriptsRead));
+            }
+            scriptsRead = null;
+        }
         return result;
     }
 
+    /**
+     * Fingerprint of the scripts, which changes when a script is added, removed or modified.
+     */
+    private long getFingerprint(final List<File> files) {
+        long h = mix(files.size());
+        // summed up, so that the order of the files doesn't matter
+        for (final File file : files) {
+            h += mix(mix(getScriptName(file).hashCode() + file.length()) + file.lastModified());
+        }
+        if (zip != null) {
+            final File zipFile = new File(zip.getName());
+            h += mix(mix(zipFile.length()) + zipFile.lastModified());
+        }
+        return h;
+    }
+
+    private static long mix(long h) {
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    // path of the script in the cards folder, the same way zip entries are named
+    private String getScriptName(final File file) {
+        final String path = file.getPath();
+        final String folder = cardsfolder.getPath();
+        final String name = path.startsWith(folder) ? path.substring(folder.length() + 1) : file.getName();
+        return name.replace(File.separatorChar, '/');
+    }
+
     private List<ZipEntry> getZipEntries() {
         ZipEntry entry;
         final List<ZipEntry> entries = new ArrayList<>();
@@ -335,6 +447,27 @@ public class CardStorageReader {
         return tasks;
     }
 
+    private List<Callable<List<CardRules>>> makeTaskListForScripts(final List<Map.Entry<String, List<String>>> scripts, final CountDownLatch cdl) {
+        final int totalScripts = scripts.size();
+        final int maxParts = (int) cdl.getCount();
+        final int scriptsPerPart = totalScripts / maxParts;
+        final List<Callable<List<CardRules>>> tasks = new ArrayList<>();
+        for (int iPart = 0; iPart < maxParts; iPart++) {
+            final int from = iPart * scriptsPerPart;
+            final int till = iPart == maxParts - 1 ? totalScripts : from + scriptsPerPart;
+            tasks.add(new Callable<List<CardRules>>() {
+                @Override
+                public List<CardRules> call() throws Exception{
+                    final List<CardRules> res = loadCardsInRangeFromScripts(scripts, from, till);
+                    cdl.countDown();
+                    progressObserver.report(maxParts - (int)cdl.getCount(), maxParts);
+                    return res;
+                }
+            });
+        }
+        return tasks;
+    }
+
     private List<Callable<List<CardRules>>> makeTaskListForFiles(final List<File> allFiles, final CountDownLatch cdl) {
         final int totalFiles = allFiles.size();
         final int maxParts = (int) cdl.getCount();
@@ -396,6 +529,9 @@ public class CardStorageReader {
             fileInputStream = new FileInputStream(file);
             reader.reset();
             final List<String> lines = readScript(fileInputStream);
+            if (scriptsRead != null) {
+                scriptsRead.put(getScriptName(file), lines);
+            }
             return reader.readCard(lines, Files.getNameWithoutExtension(file.getName()));
         } catch (final FileNotFoundException ex) {
             throw new RuntimeException("CardReader : run error -- file not found: " + file.getPath(), ex);
@@ -427,7 +563,11 @@ public class CardStorageReader {
             zipInputStream = this.zip.getInputStream(entry);
             rulesReader.reset();
 
-            return rulesReader.readCard(readScript(zipInputStream), Files.getNameWithoutExtension(entry.getName()));
+            final List<String> lines = readScript(zipInputStream);
+            if (scriptsRead != null) {
+                scriptsRead.put(entry.getName(), lines);
+            }
+            return rulesReader.readCard(lines, Files.getNameWithoutExtension(entry.getName()));
         } catch (final IOException exn) {
             throw new RuntimeException(exn);
             // PM
@@ -10,12 +10,19 @@ import forge.token.TokenDb;
 import forge.util.FileUtil;
 import forge.util.ImageUtil;
 import forge.util.TextUtil;
+import forge.util.ThreadUtil;
 import forge.util.storage.IStorage;
 import forge.util.storage.StorageBase;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 
 /**
@@ -58,6 +65,8 @@ public class StaticData {
     private IStorage<PrintSheet> printSheets;
     private final Map<String, List<String>> setLookup = new HashMap<>();
     private List<String> blocksLandCodes = new ArrayList<>();
+    // how long each loading stage took in ms, written by the threads running the stages
+    private final Map<String, Long> loadingTimes = new ConcurrentHashMap<>();
 
     private static StaticData lastInstance = null;
 
@@ -72,7 +81,6 @@ public class StaticData {
     public StaticData(CardStorageReader cardReader, CardStorageReader tokenReader, CardStorageReader customCardReader, CardStorageReader customTokenReader, String editionFolder, String customEditionsFolder, String blockDataFolder, String setLookupFolder, String cardArtPreference, boolean enableUnknownCards, boolean loadNonLegalCards, boolean allowCustomCardsInDecksConformance, boolean enableSmartCardArtSelection) {
         this.cardReader = cardReader;
         this.tokenReader = tokenReader;
-        this.editions = new CardEdition.Collection(new CardEdition.Reader(new File(editionFolder)));
         this.blockDataFolder = blockDataFolder;
         this.customCardReader = customCardReader;
         this.allowCustomCardsInDecksConformance = allowCustomCardsInDecksConformance;
@@ -81,7 +89,22 @@ public class StaticData {
         lastInstance = this;
         List<String> funnyCards = new ArrayList<>();
         List<String> filtered = new ArrayList<>();
+
+        // The card and token scripts and the set lookups don't depend on the editions nor on each other,
+        // so they are read on other threads while the editions are read on this one.
+        final ExecutorService executor = ThreadUtil.isMultiCoreSystem() ? ThreadUtil.getComputingPool(0.5f) : null;
+        final Future<List<CardRules>> cardsLoaded = submitStage(executor, "cards", () -> loadCards(cardReader, customCardReader));
+        final Future<List<CardRules>> tokensLoaded = tokenReader == null ? null
+                : submitStage(executor, "tokens", () -> loadCards(tokenReader, customTokenReader));
+        final Future<Map<String, List<String>>> setLookupLoaded = submitStage(executor, "set lookups", () -> loadSetLookup(setLookupFolder));
+        if (executor != null) {
+            executor.shutdown();
+        }
+
+        final long editionsStart = System.currentTimeMillis();
+        this.editions = new CardEdition.Collection(new CardEdition.Reader(new File(editionFolder)));
         editions.append(new CardEdition.Collection(new CardEdition.Reader(new File(customEditionsFolder), true)));
+        loadingTimes.put("editions", System.currentTimeMillis() - editionsStart);
 
         {
             final Map<String, CardRules> regularCards = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
@@ -97,73 +120,113 @@ public class StaticData {
                 }
             }
 
-            for (CardRules card : cardReader.loadCards()) {
-                if (null == card) continue;
-
+            for (CardRules card : awaitStage(cardsLoaded)) {
                 final String cardName = card.getName();
 
-                if (!loadNonLegalCards && !card.getType().isLand() && funnyCards.contains(cardName))
+                if (!card.isCustom() && !loadNonLegalCards && !card.getType().isLand() && funnyCards.contains(cardName))
                     filtered.add(cardName);
 
+                //Custom cards are appended to the respective list.
                 if (card.isVariant()) {
                     variantsCards.put(cardName, card);
                 } else {
                     regularCards.put(cardName, card);
                 }
             }
-            if (customCardReader != null) { //Load user's custom cards.
-                for (CardRules card : customCardReader.loadCards()) {
-                    if (null == card) continue;
-
-                    final String cardName = card.getName();
-                    card.setCustom();
-                    if(card.isVariant()) { //Append loaded custom cards to the respective list.
-                        variantsCards.put(cardName, card);
-                    } else {
-                        regularCards.put(cardName, card);
-                    }
-                }
-            }
 
             if (!filtered.isEmpty()) {
                 Collections.sort(filtered);
             }
 
+            final long indexStart = System.currentTimeMillis();
             commonCards = new CardDb(regularCards, editions, filtered, cardArtPreference);
             variantCards = new CardDb(variantsCards, editions, filtered, cardArtPreference);
 
             //must initialize after establish field values for the sake of card image logic
             commonCards.initialize(false, false, enableUnknownCards);
             variantCards.initialize(false, false, enableUnknownCards);
+            loadingTimes.put("card index", System.currentTimeMillis() - indexStart);
         }
 
-        if (this.tokenReader != null){
+        if (tokensLoaded != null) {
             final Map<String, CardRules> tokens = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
 
-            for (CardRules card : this.tokenReader.loadCards()) {
-                if (null == card) continue;
+            for (CardRules card : awaitStage(tokensLoaded)) {
                 tokens.put(card.getNormalizedName(), card);
             }
-            if (customTokenReader != null){
-                for (CardRules card : customTokenReader.loadCards()){
-                    if (null == card) continue;
-                    card.setCustom();
-                    tokens.put(card.getNormalizedName(), card);
-                }
-            }
             allTokens = new TokenDb(tokens, editions);
         } else {
             allTokens = null;
         }
 
-        //initialize setLookup
+        setLookup.putAll(awaitStage(setLookupLoaded));
+    }
+
+    /**
+     * Read the cards of a reader and then those of its custom counterpart, which are marked as custom.
+     */
+    private static List<CardRules> loadCards(final CardStorageReader reader, final CardStorageReader customReader) {
+        final List<CardRules> cards = new ArrayList<>();
+        for (CardRules card : reader.loadCards()) {
+            if (null == card) continue;
+            cards.add(card);
+        }
+        if (customReader != null) { //Load user's custom cards.
+            for (CardRules card : customReader.loadCards()) {
+                if (null == card) continue;
+                card.setCustom();
+                cards.add(card);
+            }
+        }
+        return cards;
+    }
+
+    private static Map<String, List<String>> loadSetLookup(final String setLookupFolder) {
+        final Map<String, List<String>> result = new HashMap<>();
         if (FileUtil.isDirectoryWithFiles(setLookupFolder)){
             for (File f : Objects.requireNonNull(new File(setLookupFolder).listFiles())){
                 if (f.isFile()) {
-                    setLookup.put(f.getName().replace(".txt",""), FileUtil.readFile(f));
+                    result.put(f.getName().replace(".txt",""), FileUtil.readFile(f));
                 }
             }
         }
+        return result;
+    }
+
+    /**
+     * Run a stage of the loading on the executor, or right away without one, and record how long it took.
+     */
+    private <T> Future<T> submitStage(final ExecutorService executor, final String stage, final Callable<T> load) {
+        final FutureTask<T> task = new FutureTask<>(() -> {
+            final long start = System.currentTimeMillis();
+            final T result = load.call();
+            loadingTimes.put(stage, System.currentTimeMillis() - start);
+            return result;
+        });
+        if (executor == null) {
+            task.run();
+        } else {
+            executor.execute(task);
+        }
+        return task;
+    }
+
+    private static <T> T awaitStage(final Future<T> stage) {
+        try {
+            return stage.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
     }
 
     public static StaticData instance() {
@@ -174,6 +237,14 @@ public class StaticData {
         return setLookup;
     }
 
+    /**
+     * @return how many ms each stage of loading this data took: "cards", "tokens",
+     *         "set lookups", "editions" and "card index"
+     */
+    public Map<String, Long> getLoadingTimes() {
+        return Collections.unmodifiableMap(loadingTimes);
+    }
+
     public final CardEdition.Collection getEditions() {
         return this.editions;
     }
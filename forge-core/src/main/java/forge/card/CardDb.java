@@ -231,24 +231,28 @@ public final class CardDb implements ICardDatabase, IDeckGenPool {
 
         // create faces list from rules
         for (final CardRules rule : rules.values()) {
-            if (filteredCards.contains(rule.getName()) && !exlcudedCardName.equalsIgnoreCase(rule.getName()))
-                continue;
-            final ICardFace main = rule.getMainPart();
-            facesByName.put(main.getName(), main);
-            if (main.getAltName() != null) {
-                alternateName.put(main.getAltName(), main.getName());
-            }
-            final ICardFace other = rule.getOtherPart();
-            if (other != null) {
-                facesByName.put(other.getName(), other);
-                if (other.getAltName() != null) {
-                    alternateName.put(other.getAltName(), other.getName());
-                }
-            }
+            addFaces(rule);
         }
         setCardArtPreference(cardArtPreference);
     }
 
+    private void addFaces(CardRules rule) {
+        if (filtered.contains(rule.getName()) && !exlcudedCardName.equalsIgnoreCase(rule.getName()))
+            return;
+        final ICardFace main = rule.getMainPart();
+        facesByName.put(main.getName(), main);
+        if (main.getAltName() != null) {
+            alternateName.put(main.getAltName(), main.getName());
+        }
+        final ICardFace other = rule.getOtherPart();
+        if (other != null) {
+            facesByName.put(other.getName(), other);
+            if (other.getAltName() != null) {
+                alternateName.put(other.getAltName(), other.getName());
+            }
+        }
+    }
+
     private void addSetCard(CardEdition e, CardInSet cis, CardRules cr) {
         int artIdx = IPaperCard.DEFAULT_ART_INDEX;
         String key = e.getCode() + "/" + cis.name;
@@ -264,6 +268,7 @@ public final class CardDb implements ICardDatabase, IDeckGenPool {
         // @leriomaggio: This method is called when lazy-loading is set
         System.out.println("[LOG]: (Lazy) Loading Card: " + cardName);
         rulesByName.put(cardName, cr);
+        addFaces(cr);
         boolean reIndexNecessary = false;
         CardEdition ed = editions.get(setCode);
         if (ed == null || ed.equals(CardEdition.UNKNOWN)) {
@@ -283,8 +288,16 @@ public final class CardDb implements ICardDatabase, IDeckGenPool {
             }
         }
 
-        if (reIndexNecessary)
-            reIndex();
+        if (reIndexNecessary) {
+            // only the names of this card changed, the others don't need to be indexed again
+            reIndex(cr.getName());
+            if (cr.getOtherPart() != null) {
+                reIndex(cr.getOtherPart().getName());
+            }
+            if (cr.getSplitType() == CardSplitType.Split) {
+                reIndex(cr.getMainPart().getName());
+            }
+        }
     }
 
     public void initialize(boolean logMissingPerEdition, boolean logMissingSummary, boolean enableUnknownCards) {
@@ -392,6 +405,13 @@ public final class CardDb implements ICardDatabase, IDeckGenPool {
         }
     }
 
+    private void reIndex(String cardName) {
+        Collection<PaperCard> cards = allCardsByName.get(cardName);
+        if (!cards.isEmpty()) {
+            uniqueCardsByName.put(cardName, getFirstWithImage(cards));
+        }
+    }
+
     private static PaperCard getFirstWithImage(final Collection<PaperCard> cards) {
         //NOTE: this is written this way to avoid checking final card in list
         final Iterator<PaperCard> iterator = cards.iterator();
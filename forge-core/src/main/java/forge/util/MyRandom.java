@@ -32,6 +32,8 @@ import java.util.Random;
 public class MyRandom {
     /** Constant <code>random</code>. */
     private static Random random = new SecureRandom();
+    /** Per-thread override of <code>random</code>, used by parallel simulations. */
+    private static final ThreadLocal<Random> threadRandom = new ThreadLocal<>();
 
     /**
      * <p>
@@ -52,7 +54,8 @@ public class MyRandom {
      * @return the random
      */
     public static Random getRandom() {
-        return MyRandom.random;
+        Random override = threadRandom.get();
+        return override != null ? override : MyRandom.random;
     }
 
     /**
@@ -63,11 +66,32 @@ public class MyRandom {
         MyRandom.random = random;
     }
 
+    /**
+     * Sets a random provider for the calling thread only, taking precedence over the
+     * global one. Used for deterministic simulations running on several threads at once.
+     * @param random the random, or null to fall back to the global provider
+     */
+    public static void setThreadRandom(Random random) {
+        if (random == null) {
+            threadRandom.remove();
+        } else {
+            threadRandom.set(random);
+        }
+    }
+
+    /**
+     * Gets the random provider set for the calling thread, if any.
+     * @return the random, or null if the thread uses the global provider
+     */
+    public static Random getThreadRandom() {
+        return threadRandom.get();
+    }
+
     public static int[] splitIntoRandomGroups(final int value, final int numGroups) {
         int[] groups = new int[numGroups];
         
         for (int i = 0; i < value; i++) {
-            groups[random.nextInt(numGroups)]++;
+            groups[getRandom().nextInt(numGroups)]++;
         }
 
         return groups;
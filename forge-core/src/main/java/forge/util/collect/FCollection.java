@@ -6,30 +6,33 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 import java.util.Set;
 
 import org.apache.commons.lang3.ArrayUtils;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
-import com.google.common.collect.Sets;
 
 /**
  * Collection with unique elements ({@link Set}) that maintains the order in
  * which the elements are added to it ({@link List}).
  *
+ * The elements are stored in an {@link IndexedArraySet}, so that both lookups
+ * and access by index take constant time.
+ *
  * This object is serializable if all elements it contains are.
  *
  * @param <T> the type of the elements this collection contains.
  * @see FCollectionView
  */
-public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>, Cloneable, Serializable {
+public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>, RandomAccess, Cloneable, Serializable {
     private static final long serialVersionUID = -1664555336364294106L;
 
     private static final FCollection<?> EMPTY = new EmptyFCollection<>();
@@ -40,14 +43,9 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
     }
 
     /**
-     * The {@link Set} representation of this collection.
-     */
-    private final Set<T> set = Sets.newHashSet();
-
-    /**
-     * The {@link List} representation of this collection.
+     * The elements of this collection, in order.
      */
-    private final LinkedList<T> list = Lists.newLinkedList();
+    private final IndexedArraySet<T> set = new IndexedArraySet<>();
 
     /**
      * Create an empty {@link FCollection}.
@@ -132,13 +130,19 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
     }
 
     /**
-     * <p>This implementation uses the hash code of the backing list.</p>
+     * <p>This implementation uses the hash code of a {@link List} of the same
+     * elements, in the same order.</p>
      *
      * {@inheritDoc}
      */
     @Override
     public int hashCode() {
-        return list.hashCode();
+        int hashCode = 1;
+        for (int i = 0; i < set.size(); i++) {
+            final T e = set.get(i);
+            hashCode = 31 * hashCode + (e == null ? 0 : e.hashCode());
+        }
+        return hashCode;
     }
 
     /**
@@ -148,7 +152,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public String toString() {
-        return list.toString();
+        return Arrays.toString(set.toArray());
     }
 
     /**
@@ -157,7 +161,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public final FCollection<T> clone() {
-        return new FCollection<>(list);
+        return new FCollection<>(set);
     }
 
     /**
@@ -168,7 +172,10 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public T getFirst() {
-        return list.getFirst();
+        if (set.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return set.get(0);
     }
 
     /**
@@ -179,7 +186,10 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public T getLast() {
-        return list.getLast();
+        if (set.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return set.get(set.size() - 1);
     }
 
     /**
@@ -218,7 +228,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public Iterator<T> iterator() {
-        return list.iterator();
+        return set.iterator();
     }
 
     /**
@@ -226,7 +236,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public Object[] toArray() {
-        return list.toArray();
+        return set.toArray();
     }
 
     /**
@@ -235,7 +245,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
     @Override
     @SuppressWarnings("hiding")
     public <T> T[] toArray(final T[] a) {
-        return list.toArray(a);
+        return set.toArray(a);
     }
 
     /**
@@ -247,11 +257,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean add(final T e) {
-        if (set.add(e)) {
-            list.add(e);
-            return true;
-        }
-        return false;
+        return set.add(e);
     }
 
     /**
@@ -263,11 +269,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean remove(final Object o) {
-        if (set.remove(o)) {
-            list.remove(o);
-            return true;
-        }
-        return false;
+        return set.remove(o);
     }
 
     /**
@@ -371,11 +373,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean retainAll(final Collection<?> c) {
-        if (set.retainAll(c)) {
-            list.retainAll(c);
-            return true;
-        }
-        return false;
+        return set.retainAll(c);
     }
 
     /**
@@ -383,9 +381,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public void clear() {
-        if (set.isEmpty()) { return; }
         set.clear();
-        list.clear();
     }
 
     /**
@@ -393,17 +389,18 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public T get(final int index) {
-        return list.get(index);
+        return set.get(index);
     }
 
     /**
      * Set the element at an index to a value. WARNING: this method doesn't
-     * update the set and should only be used in a situation where the set of
-     * elements in this collection is invariant.
+     * check for duplicates and should only be used in a situation where the
+     * set of elements in this collection is invariant, such as when changing
+     * the order of the elements.
      */
     @Override
-    public T set(final int index, final T element) { //assume this isn't called except when changing list order, so don't worry about updating set
-        return list.set(index, element);
+    public T set(final int index, final T element) {
+        return set.set(index, element);
     }
 
     /**
@@ -424,12 +421,12 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      * @return whether this collection changed as a result of this method call.
      */
     private boolean insert(int index, final T element) {
-        if (set.add(element)) {
-            list.add(index, element);
+        final int oldIndex = set.indexOf(element);
+        if (oldIndex < 0) {
+            set.add(index, element);
             return true;
         }
         //re-position in list if needed
-        final int oldIndex = list.indexOf(element);
         if (index == oldIndex) {
             return false;
         }
@@ -437,8 +434,8 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
         if (index > oldIndex) {
             index--; //account for being removed
         }
-        list.remove(oldIndex);
-        list.add(index, element);
+        set.remove(oldIndex);
+        set.add(index, element);
         return true;
     }
 
@@ -447,11 +444,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public T remove(final int index) {
-        final T removedItem = list.remove(index);
-        if (removedItem != null) {
-            set.remove(removedItem);
-        }
-        return removedItem;
+        return set.remove(index);
     }
 
     /**
@@ -459,7 +452,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public int indexOf(final Object o) {
-        return list.indexOf(o);
+        return set.indexOf(o);
     }
 
     /**
@@ -467,7 +460,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public int lastIndexOf(final Object o) {
-        return list.lastIndexOf(o);
+        return set.indexOf(o); //elements are unique
     }
 
     /**
@@ -475,7 +468,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public ListIterator<T> listIterator() {
-        return list.listIterator();
+        return set.listIterator(0);
     }
 
     /**
@@ -483,7 +476,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public ListIterator<T> listIterator(final int index) {
-        return list.listIterator(index);
+        return set.listIterator(index);
     }
 
     /**
@@ -496,7 +489,12 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public List<T> subList(final int fromIndex, final int toIndex) {
-        return ImmutableList.copyOf(list.subList(fromIndex, toIndex));
+        Preconditions.checkPositionIndexes(fromIndex, toIndex, set.size());
+        final ImmutableList.Builder<T> builder = ImmutableList.builder();
+        for (int i = fromIndex; i < toIndex; i++) {
+            builder.add(set.get(i));
+        }
+        return builder.build();
     }
 
     /**
@@ -515,16 +513,17 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      * {@inheritDoc}
      */
     public void sort(final Comparator<? super T> comparator) {
-        Collections.sort(list, comparator);
+        set.sort(comparator);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("unchecked")
     public Iterable<T> threadSafeIterable() {
-        //create a new linked list for iterating to make it thread safe and avoid concurrent modification exceptions
-        return Iterables.unmodifiableIterable(new LinkedList<>(list));
+        //create a copy for iterating to make it thread safe and avoid concurrent modification exceptions
+        return Iterables.unmodifiableIterable(Arrays.asList((T[]) set.toArray()));
     }
 
     @Override
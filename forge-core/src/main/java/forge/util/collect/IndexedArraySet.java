@@ -0,0 +1,497 @@
+package forge.util.collect;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Insertion-ordered {@link java.util.Set} backed by an array, so that the
+ * elements can also be accessed by their position in constant time. This is
+ * the storage of {@link FCollection}.
+ *
+ * Small sets are searched linearly. Once a set grows past a few elements, an
+ * open-addressing hash table of positions in the array (linear probing,
+ * backward shift deletion) is built to look elements up. Compared to a
+ * {@link java.util.LinkedHashSet} or a {@link java.util.HashSet} paired with a
+ * {@link java.util.LinkedList}, no node is allocated per element.
+ *
+ * Removing or inserting an element other than the last one shifts the
+ * following elements, as in an {@link java.util.ArrayList}.
+ *
+ * @param <T> the type of the elements this set contains.
+ */
+public final class IndexedArraySet<T> extends AbstractSet<T> implements Serializable {
+    private static final long serialVersionUID = 2914385620364818395L;
+
+    private static final Object[] EMPTY_ELEMENTS = new Object[0];
+    private static final int MIN_CAPACITY = 4;
+    /**
+     * Sets with at most this many elements are searched without the index.
+     */
+    private static final int INDEX_THRESHOLD = 8;
+
+    private Object[] elements = EMPTY_ELEMENTS;
+    private int size;
+    /**
+     * Hash table of the positions of the elements plus one, 0 marking an empty
+     * slot. Its length is a power of two, at least twice the size. Null while
+     * the set is small. Not serialized, as the hashes of the elements may differ
+     * once they are read back.
+     */
+    private transient int[] index;
+    /**
+     * Hashes of the elements, kept along with the index so that it can be
+     * updated without calling {@link Object#hashCode()} and
+     * {@link Object#equals(Object)}.
+     */
+    private transient int[] hashes;
+    private transient int modCount;
+
+    public IndexedArraySet() {
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(final int position) {
+        checkPosition(position);
+        return (T) elements[position];
+    }
+
+    /**
+     * @return the position of the element in this set, or -1 if it isn't in it.
+     */
+    public int indexOf(final Object o) {
+        if (index == null) {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(o, elements[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        final int slot = findSlot(o);
+        return slot < 0 ? -1 : index[slot] - 1;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Add an element at the end of this set, if it isn't already present.
+     */
+    @Override
+    public boolean add(final T e) {
+        if (contains(e)) {
+            return false;
+        }
+        ensureCapacity(size + 1);
+        elements[size] = e;
+        if (index != null) {
+            final int hash = hash(e);
+            hashes[size] = hash;
+            index[emptySlot(hash)] = size + 1;
+        }
+        size++;
+        modCount++;
+        updateIndexSize();
+        return true;
+    }
+
+    /**
+     * Insert an element at a position. The element must not already be in
+     * this set.
+     */
+    public void add(final int position, final T e) {
+        if (position < 0 || position > size) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size);
+        }
+        if (position == size) {
+            add(e);
+            return;
+        }
+        ensureCapacity(size + 1);
+        if (index != null) {
+            // Move the following positions up, from the last one so that each
+            // position is only ever held by a single entry.
+            for (int i = size - 1; i >= position; i--) {
+                index[slotOf(i)] = i + 2;
+            }
+            System.arraycopy(hashes, position, hashes, position + 1, size - position);
+            final int hash = hash(e);
+            hashes[position] = hash;
+            index[emptySlot(hash)] = position + 1;
+        }
+        System.arraycopy(elements, position, elements, position + 1, size - position);
+        elements[position] = e;
+        size++;
+        modCount++;
+        updateIndexSize();
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        final int position = indexOf(o);
+        if (position < 0) {
+            return false;
+        }
+        remove(position);
+        return true;
+    }
+
+    /**
+     * Remove the element at a position.
+     *
+     * @return the removed element.
+     */
+    public T remove(final int position) {
+        final T removed = get(position);
+        if (index != null) {
+            deleteSlot(slotOf(position));
+            // Move the following positions down, from the first one so that
+            // each position is only ever held by a single entry.
+            for (int i = position + 1; i < size; i++) {
+                index[slotOf(i)] = i;
+            }
+            System.arraycopy(hashes, position + 1, hashes, position, size - position - 1);
+        }
+        System.arraycopy(elements, position + 1, elements, position, size - position - 1);
+        elements[--size] = null;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Replace the element at a position. Meant for reordering the elements, so
+     * the new element may transiently be present twice, the copy at this
+     * position being the one that is found.
+     *
+     * @return the replaced element.
+     */
+    public T set(final int position, final T e) {
+        final T old = get(position);
+        if (index != null && !Objects.equals(old, e)) {
+            // The position isn't indexed if a copy of the old element was
+            // set elsewhere in the meantime.
+            final int oldSlot = slotOf(position);
+            if (oldSlot >= 0) {
+                deleteSlot(oldSlot);
+            }
+            final int slot = findSlot(e);
+            if (slot >= 0) {
+                index[slot] = position + 1;
+            } else {
+                index[~slot] = position + 1;
+            }
+            hashes[position] = hash(e);
+        }
+        elements[position] = e;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        index = null;
+        hashes = null;
+        modCount++;
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<? super T> filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("unchecked")
+            final T e = (T) elements[i];
+            if (!filter.test(e)) {
+                elements[kept++] = e;
+            }
+        }
+        if (kept == size) {
+            return false;
+        }
+        Arrays.fill(elements, kept, size, null);
+        size = kept;
+        modCount++;
+        if (index != null) {
+            hashes = null;
+            rebuildIndex();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean retainAll(final Collection<?> c) {
+        return removeIf(e -> !c.contains(e));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void sort(final Comparator<? super T> comparator) {
+        Arrays.sort((T[]) elements, 0, size, comparator);
+        modCount++;
+        if (index != null) {
+            hashes = null;
+            rebuildIndex();
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> E[] toArray(final E[] a) {
+        if (a.length < size) {
+            return (E[]) Arrays.copyOf(elements, size, a.getClass());
+        }
+        System.arraycopy(elements, 0, a, 0, size);
+        if (a.length > size) {
+            a[size] = null;
+        }
+        return a;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr(0);
+    }
+
+    public ListIterator<T> listIterator(final int position) {
+        if (position < 0 || position > size) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size);
+        }
+        return new Itr(position);
+    }
+
+    private void checkPosition(final int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size);
+        }
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(MIN_CAPACITY, Math.max(capacity, elements.length + (elements.length >> 1))));
+            if (hashes != null) {
+                hashes = Arrays.copyOf(hashes, elements.length);
+            }
+        }
+    }
+
+    /**
+     * Build the index once the set is too large to be searched linearly, and
+     * grow it to keep it at most half full.
+     */
+    private void updateIndexSize() {
+        if (index == null ? size > INDEX_THRESHOLD : size * 2 > index.length) {
+            rebuildIndex();
+        }
+    }
+
+    private void rebuildIndex() {
+        final int length = Integer.highestOneBit(Math.max(size, INDEX_THRESHOLD) * 4 - 1);
+        if (index == null || index.length != length) {
+            index = new int[length];
+        } else {
+            Arrays.fill(index, 0);
+        }
+        if (hashes == null) {
+            hashes = new int[elements.length];
+            for (int i = 0; i < size; i++) {
+                hashes[i] = hash(elements[i]);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            index[emptySlot(hashes[i])] = i + 1;
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (size > INDEX_THRESHOLD) {
+            rebuildIndex();
+        }
+    }
+
+    private static int hash(final Object o) {
+        final int h = (o == null ? 0 : o.hashCode()) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return the slot of the index holding the element, or the complement of
+     *         the empty slot where it would go.
+     */
+    private int findSlot(final Object o) {
+        final int mask = index.length - 1;
+        final int hash = hash(o);
+        int slot = hash & mask;
+        int p;
+        while ((p = index[slot]) != 0) {
+            if (hashes[p - 1] == hash && Objects.equals(o, elements[p - 1])) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ~slot;
+    }
+
+    /**
+     * @return the slot of the index pointing to the given position, or -1 if
+     *         there is none.
+     */
+    private int slotOf(final int position) {
+        final int mask = index.length - 1;
+        int slot = hashes[position] & mask;
+        int p;
+        while ((p = index[slot]) != 0) {
+            if (p - 1 == position) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int emptySlot(final int hash) {
+        final int mask = index.length - 1;
+        int slot = hash & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void deleteSlot(final int slot) {
+        final int mask = index.length - 1;
+        int hole = slot;
+        int next = (slot + 1) & mask;
+        int p;
+        while ((p = index[next]) != 0) {
+            // move the entry into the hole unless that would put it before its home slot
+            final int home = hashes[p - 1] & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                index[hole] = p;
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        index[hole] = 0;
+    }
+
+    private final class Itr implements ListIterator<T> {
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        Itr(final int cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor++;
+            return (T) elements[lastReturned];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T previous() {
+            checkForComodification();
+            if (cursor <= 0) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = --cursor;
+            return (T) elements[lastReturned];
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            IndexedArraySet.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(final T e) {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            IndexedArraySet.this.set(lastReturned, e);
+        }
+
+        @Override
+        public void add(final T e) {
+            checkForComodification();
+            if (contains(e)) {
+                throw new IllegalArgumentException("Element is already in the set: " + e);
+            }
+            IndexedArraySet.this.add(cursor++, e);
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
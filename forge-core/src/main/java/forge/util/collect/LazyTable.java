@@ -0,0 +1,129 @@
+package forge.util.collect;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ForwardingTable;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Table;
+
+/**
+ * {@link Table} that only creates its backing table when the first cell is
+ * put into it.
+ *
+ * Meant for the many tables of a game object that stay empty for most of its
+ * life, such as the layer changes of a card. Until then, an instance only holds
+ * a reference to its factory. Once created, the backing table is kept even if
+ * it is cleared, since tables that are used at all tend to be refilled, e.g.
+ * by every pass of the static abilities.
+ *
+ * Cells are to be added with {@link #put} and {@link #putAll}: the views of an
+ * empty table are empty and immutable, except that removing from them does
+ * nothing.
+ *
+ * @param <R> the type of the row keys.
+ * @param <C> the type of the column keys.
+ * @param <V> the type of the values.
+ */
+public class LazyTable<R, C, V> extends ForwardingTable<R, C, V> {
+    private final Supplier<? extends Table<R, C, V>> factory;
+    private Table<R, C, V> table;
+
+    /**
+     * @param factory
+     *            creates the backing table, e.g. {@code TreeBasedTable::create}
+     *            to keep the rows and columns sorted.
+     */
+    public LazyTable(final Supplier<? extends Table<R, C, V>> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    protected Table<R, C, V> delegate() {
+        return table == null ? ImmutableTable.of() : table;
+    }
+
+    private Table<R, C, V> allocate() {
+        if (table == null) {
+            table = factory.get();
+        }
+        return table;
+    }
+
+    @Override
+    public V put(final R rowKey, final C columnKey, final V value) {
+        return allocate().put(rowKey, columnKey, value);
+    }
+
+    @Override
+    public void putAll(final Table<? extends R, ? extends C, ? extends V> other) {
+        if (!other.isEmpty()) {
+            allocate().putAll(other);
+        }
+    }
+
+    @Override
+    public V remove(final Object rowKey, final Object columnKey) {
+        return table == null ? null : table.remove(rowKey, columnKey);
+    }
+
+    @Override
+    public void clear() {
+        if (table != null) {
+            table.clear();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return table == null || table.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return table == null ? 0 : table.size();
+    }
+
+    @Override
+    public Set<Cell<R, C, V>> cellSet() {
+        return table == null ? Collections.emptySet() : table.cellSet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return table == null ? Collections.emptyList() : table.values();
+    }
+
+    @Override
+    public Set<R> rowKeySet() {
+        return table == null ? Collections.emptySet() : table.rowKeySet();
+    }
+
+    @Override
+    public Set<C> columnKeySet() {
+        return table == null ? Collections.emptySet() : table.columnKeySet();
+    }
+
+    @Override
+    public Map<C, V> row(final R rowKey) {
+        return table == null ? Collections.emptyMap() : table.row(rowKey);
+    }
+
+    @Override
+    public Map<R, V> column(final C columnKey) {
+        return table == null ? Collections.emptyMap() : table.column(columnKey);
+    }
+
+    @Override
+    public Map<R, Map<C, V>> rowMap() {
+        return table == null ? Collections.emptyMap() : table.rowMap();
+    }
+
+    @Override
+    public Map<C, Map<R, V>> columnMap() {
+        return table == null ? Collections.emptyMap() : table.columnMap();
+    }
+}
@@ -0,0 +1,77 @@
+package forge.card;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import forge.CardStorageReader;
+import forge.util.Localizer;
+
+public class CardScriptImageTest {
+    private static final String[] SCRIPTS = {
+            "h/hill_giant.txt", "s/serra_angel.txt", "g/grizzly_bears.txt", "l/lightning_bolt.txt", "d/delver_of_secrets_insectile_aberration.txt"
+    };
+
+    @BeforeClass
+    public void setup() {
+        Localizer.getInstance().initialize("en-US", "../forge-gui/res/languages/");
+    }
+
+    private static File copyScripts(File folder) throws IOException {
+        for (String script : SCRIPTS) {
+            File target = new File(folder, script);
+            target.getParentFile().mkdirs();
+            Files.copy(new File("../forge-gui/res/cardsfolder/" + script).toPath(), target.toPath());
+        }
+        return folder;
+    }
+
+    private static List<String> loadCards(File folder, File image) {
+        CardStorageReader reader = new CardStorageReader(folder.getPath(), null, false);
+        reader.setScriptImage(image);
+        List<String> cards = new ArrayList<>();
+        for (CardRules rules : reader.loadCards()) {
+            cards.add(rules.getName() + "|" + rules.getNormalizedName() + "|" + rules.getSplitType() + "|" + rules.getPower() + "|"
+                    + rules.getOracleText() + "|" + rules.getMainPart().getAbilities() + "|" + rules.getMainPart().getVariables());
+        }
+        return cards;
+    }
+
+    @Test
+    public void testCardsReadFromImage() throws IOException {
+        File folder = copyScripts(Files.createTempDirectory("cardsfolder").toFile());
+        File image = new File(folder, "db/cardsfolder.bin");
+
+        List<String> fromScripts = loadCards(folder, image);
+        AssertJUnit.assertEquals(SCRIPTS.length, fromScripts.size());
+        AssertJUnit.assertTrue(image.isFile());
+        long written = image.lastModified();
+
+        // the image is up to date, so it is used as is
+        AssertJUnit.assertEquals(fromScripts, loadCards(folder, image));
+        AssertJUnit.assertEquals(written, image.lastModified());
+
+        // a changed script makes the image stale
+        File giant = new File(folder, "h/hill_giant.txt");
+        String script = new String(Files.readAllBytes(giant.toPath()), StandardCharsets.UTF_8);
+        Files.write(giant.toPath(), script.replace("PT:3/3", "PT:13/3").getBytes(StandardCharsets.UTF_8));
+        List<String> changed = loadCards(folder, image);
+        AssertJUnit.assertFalse(fromScripts.equals(changed));
+        AssertJUnit.assertEquals(changed, loadCards(folder, image));
+        // the image was replaced without leaving its temporary file behind
+        AssertJUnit.assertEquals(1, image.getParentFile().list().length);
+
+        // so does a damaged one
+        byte[] bytes = Files.readAllBytes(image.toPath());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(image.toPath(), bytes);
+        AssertJUnit.assertEquals(changed, loadCards(folder, image));
+    }
+}
@@ -0,0 +1,129 @@
+package forge.util.collect;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+public class FCollectionTest {
+
+    @Test
+    public void testAddAndRemoveKeepOrderAndUniqueness() {
+        FCollection<Integer> c = new FCollection<>();
+        for (int i = 0; i < 20; i++) {
+            AssertJUnit.assertTrue(c.add(i));
+        }
+        AssertJUnit.assertFalse(c.add(5));
+        AssertJUnit.assertEquals(20, c.size());
+
+        AssertJUnit.assertTrue(c.remove((Integer) 3));
+        AssertJUnit.assertFalse(c.contains(3));
+        AssertJUnit.assertEquals(3, c.indexOf(4));
+        AssertJUnit.assertEquals(Integer.valueOf(19), c.getLast());
+
+        // inserting an element that is already present moves it
+        c.add(0, 19);
+        AssertJUnit.assertEquals(Integer.valueOf(19), c.getFirst());
+        AssertJUnit.assertEquals(19, c.size());
+        AssertJUnit.assertEquals(0, c.indexOf(19));
+        AssertJUnit.assertEquals(1, c.indexOf(0));
+
+        AssertJUnit.assertEquals(Integer.valueOf(19), c.remove(0));
+        AssertJUnit.assertEquals(-1, c.indexOf(19));
+        AssertJUnit.assertEquals(c.size(), c.asSet().size());
+    }
+
+    @Test
+    public void testReorderingKeepsLookups() {
+        FCollection<Integer> c = new FCollection<>();
+        for (int i = 0; i < 50; i++) {
+            c.add(i);
+        }
+        Collections.shuffle(c, new Random(7));
+        for (int i = 0; i < c.size(); i++) {
+            AssertJUnit.assertEquals(i, c.indexOf(c.get(i)));
+        }
+        c.sort(null);
+        for (int i = 0; i < 50; i++) {
+            AssertJUnit.assertEquals(Integer.valueOf(i), c.get(i));
+        }
+
+        Iterator<Integer> it = c.iterator();
+        while (it.hasNext()) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        AssertJUnit.assertEquals(25, c.size());
+        AssertJUnit.assertEquals(0, c.indexOf(1));
+        AssertJUnit.assertFalse(c.contains(2));
+        AssertJUnit.assertEquals(new ArrayList<>(c).hashCode(), c.hashCode());
+    }
+
+    /**
+     * Compares the collection with the pair of a HashSet and a LinkedList it was previously backed by.
+     */
+    @Test
+    public void testMatchesHashSetAndLinkedList() {
+        final int size = 60;
+        long checksum = 0;
+
+        FCollection<Integer> c = new FCollection<>();
+        Set<Integer> set = new HashSet<>();
+        List<Integer> list = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            c.add(i);
+            if (set.add(i)) {
+                list.add(i);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            checksum += c.get(i) + (c.contains(i) ? 1 : 0) + c.indexOf(size - 1 - i);
+            checksum -= list.get(i) + (set.contains(i) ? 1 : 0) + list.indexOf(size - 1 - i);
+        }
+        for (int i = 0; i < size; i += 2) {
+            c.remove((Integer) i);
+            if (set.remove(i)) {
+                list.remove((Integer) i);
+            }
+        }
+
+        AssertJUnit.assertEquals(0, checksum);
+        AssertJUnit.assertEquals(list, new ArrayList<>(c));
+    }
+
+    @Test
+    public void testSerializationRebuildsLookups() throws Exception {
+        FCollection<String> c = new FCollection<>();
+        for (int i = 0; i < 30; i++) {
+            c.add("card" + i);
+        }
+        c.remove("card3");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(c);
+        }
+        FCollection<?> read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (FCollection<?>) in.readObject();
+        }
+
+        AssertJUnit.assertEquals(new ArrayList<>(c), new ArrayList<>(read));
+        for (int i = 0; i < read.size(); i++) {
+            AssertJUnit.assertEquals(i, read.indexOf(c.get(i)));
+        }
+        AssertJUnit.assertFalse(read.contains("card3"));
+    }
+}
@@ -0,0 +1,52 @@
+package forge.util.collect;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Table;
+import com.google.common.collect.TreeBasedTable;
+
+public class LazyTableTest {
+    private int created;
+
+    private LazyTable<Long, Long, String> newTable() {
+        return new LazyTable<>(() -> {
+            created++;
+            return TreeBasedTable.create();
+        });
+    }
+
+    @Test
+    public void testReadingDoesNotCreateTable() {
+        LazyTable<Long, Long, String> table = newTable();
+        AssertJUnit.assertTrue(table.isEmpty());
+        AssertJUnit.assertEquals(0, table.size());
+        AssertJUnit.assertTrue(table.cellSet().isEmpty());
+        AssertJUnit.assertTrue(table.values().isEmpty());
+        AssertJUnit.assertTrue(table.row(1L).isEmpty());
+        AssertJUnit.assertNull(table.get(1L, 1L));
+        AssertJUnit.assertNull(table.remove(1L, 1L));
+        table.clear();
+        table.putAll(TreeBasedTable.create());
+        AssertJUnit.assertEquals(0, created);
+    }
+
+    @Test
+    public void testTableCreatedOnFirstPutAndKept() {
+        LazyTable<Long, Long, String> table = newTable();
+        table.put(2L, 0L, "b");
+        table.put(1L, 0L, "a");
+        AssertJUnit.assertEquals(1, created);
+        AssertJUnit.assertEquals(2, table.size());
+        // the backing table keeps its order
+        AssertJUnit.assertEquals("[a, b]", table.values().toString());
+
+        table.clear();
+        AssertJUnit.assertTrue(table.isEmpty());
+        Table<Long, Long, String> other = TreeBasedTable.create();
+        other.put(3L, 0L, "c");
+        table.putAll(other);
+        AssertJUnit.assertEquals("c", table.get(3L, 0L));
+        AssertJUnit.assertEquals(1, created);
+    }
+}
@@ -26,6 +26,8 @@ import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import forge.game.card.*;
 import org.apache.commons.lang3.tuple.Pair;
@@ -39,7 +41,6 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Table;
-import com.google.common.eventbus.EventBus;
 
 import forge.GameCommand;
 import forge.card.CardRarity;
@@ -48,6 +49,7 @@ import forge.card.CardType.Supertype;
 import forge.game.ability.AbilityKey;
 import forge.game.combat.Combat;
 import forge.game.event.Event;
+import forge.game.event.EventDispatcher;
 import forge.game.event.GameEventDayTimeChanged;
 import forge.game.event.GameEventGameOutcome;
 import forge.game.phase.Phase;
@@ -79,8 +81,8 @@ import forge.util.collect.FCollection;
  */
 public class Game {
 
-    private static int maxId = 0;
-    private static int nextId() { return ++maxId; }
+    private static final AtomicInteger maxId = new AtomicInteger();
+    private static int nextId() { return maxId.incrementAndGet(); }
 
     /** The ID. */
     private int id;
@@ -104,13 +106,19 @@ public class Game {
     private final StaticEffects staticEffects = new StaticEffects();
     private final TriggerHandler triggerHandler = new TriggerHandler(this);
     private final ReplacementHandler replacementHandler = new ReplacementHandler(this);
-    private final EventBus events = new EventBus("game events");
+    private final EventDispatcher events = new EventDispatcher();
+    private long eventCount = 0;
+    private long characteristicsCacheHits = 0;
+    private long characteristicsCacheMisses = 0;
     private final GameLog gameLog = new GameLog();
 
     private final Zone stackZone = new Zone(ZoneType.Stack, this);
 
     private CardCollection lastStateBattlefield = new CardCollection();
     private CardCollection lastStateGraveyard = new CardCollection();
+    // LKI copies of the last copyLastState by card id, reused for cards that didn't change since
+    private Map<Integer, Card> lastStateCopies = Maps.newHashMap();
+    private boolean reuseUnchangedLastState = true;
 
     private CardZoneTable untilHostLeavesPlayTriggerList = new CardZoneTable();
 
@@ -190,16 +198,47 @@ public class Game {
         return lastStateGraveyard;
     }
 
+    /**
+     * Save the last known information of the cards on the battlefields and in
+     * the graveyards. Cards that didn't change since the previous call keep
+     * their LKI copy from then, rather than being copied again.
+     */
     public void copyLastState() {
         lastStateBattlefield.clear();
         lastStateGraveyard.clear();
         Map<Integer, Card> cachedMap = Maps.newHashMap();
         for (final Player p : getPlayers()) {
-            lastStateBattlefield.addAll(p.getZone(ZoneType.Battlefield).getLKICopy(cachedMap));
-            lastStateGraveyard.addAll(p.getZone(ZoneType.Graveyard).getLKICopy(cachedMap));
+            copyLastState(p.getZone(ZoneType.Battlefield), lastStateBattlefield, cachedMap);
+            copyLastState(p.getZone(ZoneType.Graveyard), lastStateGraveyard, cachedMap);
+        }
+        lastStateCopies = cachedMap;
+    }
+
+    private void copyLastState(final Zone zone, final CardCollection lastState, final Map<Integer, Card> cachedMap) {
+        for (final Card c : zone.getCards()) {
+            Card lki = cachedMap.get(c.getId());
+            if (lki == null && reuseUnchangedLastState) {
+                lki = lastStateCopies.get(c.getId());
+                if (lki != null && c.isLKICopyCurrent(lki)) {
+                    cachedMap.put(c.getId(), lki);
+                } else {
+                    lki = null;
+                }
+            }
+            if (lki == null) {
+                lki = CardUtil.getLKICopy(c, cachedMap);
+            }
+            lastState.add(lki);
         }
     }
 
+    public boolean isReuseUnchangedLastState() {
+        return reuseUnchangedLastState;
+    }
+    public void setReuseUnchangedLastState(boolean reuse) {
+        reuseUnchangedLastState = reuse;
+    }
+
     public CardCollectionView copyLastState(ZoneType type) {
         CardCollection result = new CardCollection();
         Map<Integer, Card> cachedMap = Maps.newHashMap();
@@ -228,8 +267,10 @@ public class Game {
                 : null;
 
         if (lookup != null) {
+            Card lki = CardUtil.getLKICopy(c);
             lookup.remove(c);
-            lookup.add(CardUtil.getLKICopy(c));
+            lookup.add(lki);
+            lastStateCopies.put(c.getId(), lki);
         }
     }
 
@@ -896,8 +937,48 @@ public class Game {
      * The events are sent to UI, log and sound system. Network listeners are under development.
      */
     public void fireEvent(final Event event) {
+        eventCount++;
         events.post(event);
     }
+
+    /**
+     * Fire an event of a type that is fired very often, e.g. for every tap or stats change. It's only created
+     * if anything listens to its type, which in games without a UI is mostly nothing.
+     */
+    public <T extends Event> void fireEvent(final Class<T> type, final Supplier<? extends T> event) {
+        eventCount++;
+        if (events.hasHandlers(type)) {
+            events.post(event.get());
+        }
+    }
+
+    /**
+     * @return the number of events fired so far
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+    /**
+     * Counts a lookup of the derived characteristics a card caches, see {@link Card#getType()}.
+     */
+    public void countCharacteristicsCache(final boolean hit) {
+        if (hit) {
+            characteristicsCacheHits++;
+        } else {
+            characteristicsCacheMisses++;
+        }
+    }
+    public long getCharacteristicsCacheHits() {
+        return characteristicsCacheHits;
+    }
+    public long getCharacteristicsCacheMisses() {
+        return characteristicsCacheMisses;
+    }
+
+    /**
+     * Subscribe the methods of an object annotated with {@link com.google.common.eventbus.Subscribe} to the events
+     * of this game. See {@link EventDispatcher} for how they are delivered.
+     */
     public void subscribeToEvents(final Object subscriber) {
         events.register(subscriber);
     }
@@ -1064,6 +1145,7 @@ public class Game {
     public void clearCaches() {
         lastStateBattlefield.clear();
         lastStateGraveyard.clear();
+        lastStateCopies.clear();
         //playerCache.clear();
     }
 
@@ -609,7 +609,7 @@ public class GameAction {
             copied.setHasBeenDealtDeathtouchDamage(false);
             if (copied.isTapped()) {
                 copied.setTapped(false); //untap card after it leaves the battlefield if needed
-                game.fireEvent(new GameEventCardTapped(c, false));
+                game.fireEvent(GameEventCardTapped.class, () -> new GameEventCardTapped(c, false));
             }
         }
 
@@ -1261,7 +1261,7 @@ public class GameAction {
         // TODO filter out old copies from zone change
 
         if (runEvents && !affectedCards.isEmpty()) {
-            game.fireEvent(new GameEventCardStatsChanged(affectedCards));
+            game.fireEvent(GameEventCardStatsChanged.class, () -> new GameEventCardStatsChanged(affectedCards));
         }
         game.getTracker().unfreeze();
     }
@@ -1487,7 +1487,7 @@ public class GameAction {
         game.getTracker().unfreeze();
 
         if (runEvents && !affectedCards.isEmpty()) {
-            game.fireEvent(new GameEventCardStatsChanged(affectedCards));
+            game.fireEvent(GameEventCardStatsChanged.class, () -> new GameEventCardStatsChanged(affectedCards));
         }
 
         // recheck the game over condition at this point to make sure no other win conditions apply now.
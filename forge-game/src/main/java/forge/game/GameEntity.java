@@ -193,7 +193,7 @@ public abstract class GameEntity extends GameObject implements IIdentifiable {
     public final void addAttachedCard(final Card c) {
         if (attachedCards.add(c)) {
             updateAttachedCards();
-            getGame().fireEvent(new GameEventCardAttachment(c, null, this));
+            getGame().fireEvent(GameEventCardAttachment.class, () -> new GameEventCardAttachment(c, null, this));
         }
     }
 
@@ -204,7 +204,7 @@ public abstract class GameEntity extends GameObject implements IIdentifiable {
     public final void removeAttachedCard(final Card c) {
         if (attachedCards.remove(c)) {
             updateAttachedCards();
-            getGame().fireEvent(new GameEventCardAttachment(c, this, null));
+            getGame().fireEvent(GameEventCardAttachment.class, () -> new GameEventCardAttachment(c, this, null));
         }
     }
 
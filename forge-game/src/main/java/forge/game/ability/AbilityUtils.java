@@ -435,14 +435,13 @@ public class AbilityUtils {
         final Game game = card.getGame();
 
         // Strip and save sign for calculations
-        final boolean startsWithPlus = amount.charAt(0) == '+';
-        final boolean startsWithMinus = amount.charAt(0) == '-';
-        if (startsWithPlus || startsWithMinus) { amount = amount.substring(1); }
-        int multiplier = startsWithMinus ? -1 : 1;
+        final AmountExpression.Reference reference = AmountExpression.Reference.of(amount);
+        amount = reference.name;
+        int multiplier = reference.multiplier;
 
         // return result soon for plain numbers
-        if (StringUtils.isNumeric(amount)) {
-            int val = Integer.parseInt(amount);
+        if (reference.numeric) {
+            int val = reference.value;
             if (maxto) {
                 val = Math.max(val, 0);
             }
@@ -475,24 +474,22 @@ public class AbilityUtils {
         }
 
         // Handle numeric constant coming in svar value
-        if (StringUtils.isNumeric(svarval)) {
-            int val = Integer.parseInt(svarval);
+        final AmountExpression.Value value = AmountExpression.Value.of(svarval);
+        if (value.numeric) {
+            int val = value.value;
             if (maxto) {
                 val = Math.max(val, 0);
             }
             return val * multiplier;
         }
 
-        // Parse Object$Property string
-        final String[] calcX = svarval.split("\\$", 2);
-
         // Incorrect parses mean zero.
-        if (calcX.length == 1 || calcX[1].equals("none")) {
+        if (value.object == null) {
             return 0;
         }
 
-        // modify amount string for text changes
-        calcX[1] = applyAbilityTextChangeEffects(calcX[1], ability);
+        // Object$Property, with the property modified for text changes
+        final String[] calcX = { value.object, applyAbilityTextChangeEffects(value.property, ability) };
 
         Integer val = null;
         if (calcX[0].startsWith("Count")) {
@@ -1655,28 +1652,23 @@ public class AbilityUtils {
      */
     public static int xCount(final Card c, final String s, final CardTraitBase ctb) {
         final String s2 = applyAbilityTextChangeEffects(s, ctb);
-        final String[] l = s2.split("/");
-        final String expr = CardFactoryUtil.extractOperators(s2);
+        final AmountExpression.Count parsed = AmountExpression.Count.of(s2);
+        final String expr = parsed.operators;
         final Player player = ctb == null ? null : ctb instanceof SpellAbility ? ((SpellAbility)ctb).getActivatingPlayer() : ctb.getHostCard().getController();
 
         // accept straight numbers
-        if (l[0].startsWith("Number$")) {
-            final String number = l[0].substring(7);
-            return doXMath(Integer.parseInt(number), expr, c, ctb);
-        }
-
-        if (l[0].startsWith("Count$")) {
-            l[0] = l[0].substring(6);
+        if (parsed.literal) {
+            return doXMath(parsed.literalValue, expr, c, ctb);
         }
 
-        if (l[0].startsWith("SVar$")) {
-            String n = l[0].substring(5);
+        if (parsed.svar != null) {
+            String n = parsed.svar;
             String v = ctb == null ? c.getSVar(n) : ctb.getSVar(n);
             return doXMath(xCount(c, v, ctb), expr, c, ctb);
         }
 
-        final String[] sq;
-        sq = l[0].split("\\.");
+        final String first = parsed.first;
+        final String[] sq = parsed.query;
 
         final Game game = c.getGame();
 
@@ -1824,7 +1816,7 @@ public class AbilityUtils {
                 }
 
                 if (sq[0].startsWith("LastStateBattlefield")) {
-                    final String[] k = l[0].split(" ");
+                    final String[] k = first.split(" ");
                     CardCollectionView list;
                     // this is only for spells that were cast
                     if (sq[0].contains("WithFallback")) {
@@ -1848,7 +1840,7 @@ public class AbilityUtils {
                 }
 
                 if (sq[0].startsWith("LastStateGraveyard")) {
-                    final String[] k = l[0].split(" ");
+                    final String[] k = first.split(" ");
                     CardCollectionView list;
                     // this is only for spells that were cast
                     if (sq[0].contains("WithFallback")) {
@@ -1894,14 +1886,14 @@ public class AbilityUtils {
             } else {
                 // fallback if ctb isn't a spellability
                 if (sq[0].startsWith("LastStateBattlefield")) {
-                    final String[] k = l[0].split(" ");
+                    final String[] k = first.split(" ");
                     CardCollectionView list = game.getLastStateBattlefield();
                     list = CardLists.getValidCards(list, k[1], player, c, ctb);
                     return doXMath(list.size(), expr, c, ctb);
                 }
 
                 if (sq[0].startsWith("LastStateGraveyard")) {
-                    final String[] k = l[0].split(" ");
+                    final String[] k = first.split(" ");
                     CardCollectionView list = game.getLastStateGraveyard();
                     list = CardLists.getValidCards(list, k[1], player, c, ctb);
                     return doXMath(list.size(), expr, c, ctb);
@@ -2061,7 +2053,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].contains("TotalValue")) {
-            return doXMath(c.getKeywordMagnitude(Keyword.smartValueOf(l[0].split(" ")[1])), expr, c, ctb);
+            return doXMath(c.getKeywordMagnitude(Keyword.smartValueOf(first.split(" ")[1])), expr, c, ctb);
         }
         if (sq[0].contains("TimesKicked")) {
             return doXMath(c.getKickerMagnitude(), expr, c, ctb);
@@ -2159,7 +2151,7 @@ public class AbilityUtils {
 
         // Count$AttachedTo <DefinedCards related to spellability> <restriction>
         if (sq[0].startsWith("AttachedTo")) {
-            final String[] k = l[0].split(" ");
+            final String[] k = first.split(" ");
             int sum = 0;
             for (Card card : getDefinedCards(c, k[1], ctb)) {
                 // Hateful Eidolon: the script uses LKI so that the attached cards have to be defined
@@ -2331,7 +2323,7 @@ public class AbilityUtils {
             return doXMath(player.getCommanderCast(c), expr, c, ctb);
         }
 
-        if (l[0].startsWith("TotalCommanderCastFromCommandZone")) {
+        if (first.startsWith("TotalCommanderCastFromCommandZone")) {
             return doXMath(player.getTotalCommanderCast(), expr, c, ctb);
         }
 
@@ -2369,7 +2361,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].contains("TotalDamageThisTurn")) {
-            String[] props = l[0].split(" ");
+            String[] props = first.split(" ");
             int sum = 0;
             for (Pair<Integer, Boolean> p : c.getDamageReceivedThisTurn()) {
                 if (game.getDamageLKI(p).getLeft().isValid(props[1], player, c, ctb)) {
@@ -2380,7 +2372,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].contains("DamageThisTurn")) {
-            String[] props = l[0].split(" ");
+            String[] props = first.split(" ");
             Boolean isCombat = null;
             if (sq[0].contains("CombatDamage")) {
                 isCombat = true;
@@ -2414,7 +2406,7 @@ public class AbilityUtils {
         if (sq[0].startsWith("TypesSharedWith")) {
             Set<CardType.CoreType> thisTypes = Sets.newHashSet(c.getType().getCoreTypes());
             Set<CardType.CoreType> matches = new HashSet<>();
-            for (Card c1 : AbilityUtils.getDefinedCards(ctb.getHostCard(), l[0].split(" ")[1], ctb)) {
+            for (Card c1 : AbilityUtils.getDefinedCards(ctb.getHostCard(), first.split(" ")[1], ctb)) {
                 for (CardType.CoreType type : Sets.newHashSet(c1.getType().getCoreTypes())) {
                     if (thisTypes.contains(type)) {
                         matches.add(type);
@@ -2452,14 +2444,14 @@ public class AbilityUtils {
 
         // Count$CardAttackedThisTurn <Valid>
         if (sq[0].startsWith("CreaturesAttackedThisTurn")) {
-            final String[] workingCopy = l[0].split(" ", 2);
+            final String[] workingCopy = first.split(" ", 2);
             final String validFilter = workingCopy[1];
             return doXMath(CardLists.getValidCardCount(player.getCreaturesAttackedThisTurn(), validFilter, player, c, ctb), expr, c, ctb);
         }
 
         // Manapool
         if (sq[0].startsWith("ManaPool")) {
-            final String color = l[0].split(":")[1];
+            final String color = first.split(":")[1];
             int v = 0;
             if (color.equals("All")) {
                 v = player.getManaPool().totalMana();
@@ -2485,9 +2477,9 @@ public class AbilityUtils {
         //SacrificedThisTurn <type>
         if (sq[0].startsWith("SacrificedThisTurn")) {
             List<Card> list = player.getSacrificedThisTurn();
-            if (l[0].contains(" ")) {
-                String[] lparts = l[0].split(" ", 2);
-                String restrictions = TextUtil.fastReplace(l[0], TextUtil.addSuffix(lparts[0]," "), "");
+            if (first.contains(" ")) {
+                String[] lparts = first.split(" ", 2);
+                String restrictions = TextUtil.fastReplace(first, TextUtil.addSuffix(lparts[0]," "), "");
                 list = CardLists.getValidCardsAsList(list, restrictions, player, c, ctb);
             }
             return doXMath(list.size(), expr, c, ctb);
@@ -2608,7 +2600,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].startsWith("CreatureType")) {
-            String[] sqparts = l[0].split(" ", 2);
+            String[] sqparts = first.split(" ", 2);
             final String[] rest = sqparts[1].split(",");
 
             final CardCollectionView cardsInZones = sqparts[0].length() > 12
@@ -2646,8 +2638,8 @@ public class AbilityUtils {
             return doXMath(colorOcurrencices, expr, c, ctb);
         }
 
-        if (l[0].contains("ExactManaCost")) {
-            String[] sqparts = l[0].split(" ", 2);
+        if (first.contains("ExactManaCost")) {
+            String[] sqparts = first.split(" ", 2);
             final String[] rest = sqparts[1].split(",");
 
             final CardCollectionView cardsInZones = sqparts[0].length() > 13
@@ -2695,7 +2687,7 @@ public class AbilityUtils {
         // Count$ThisTurnCast <Valid>
         // Count$LastTurnCast <Valid>
         if (sq[0].startsWith("ThisTurnCast") || sq[0].startsWith("LastTurnCast")) {
-            final String[] workingCopy = l[0].split("_");
+            final String[] workingCopy = first.split("_");
             final String validFilter = workingCopy[1];
 
             List<Card> res = Lists.newArrayList();
@@ -2710,7 +2702,7 @@ public class AbilityUtils {
 
         // Count$ThisTurnEntered <ZoneDestination> [from <ZoneOrigin>] <Valid>
         if (sq[0].startsWith("ThisTurnEntered")) {
-            final String[] workingCopy = l[0].split("_");
+            final String[] workingCopy = first.split("_");
 
             ZoneType destination = ZoneType.smartValueOf(workingCopy[1]);
             final boolean hasFrom = workingCopy[2].equals("from");
@@ -2723,7 +2715,7 @@ public class AbilityUtils {
 
         // Count$LastTurnEntered <ZoneDestination> [from <ZoneOrigin>] <Valid>
         if (sq[0].startsWith("LastTurnEntered")) {
-            final String[] workingCopy = l[0].split("_");
+            final String[] workingCopy = first.split("_");
 
             ZoneType destination = ZoneType.smartValueOf(workingCopy[1]);
             final boolean hasFrom = workingCopy[2].equals("from");
@@ -2735,13 +2727,13 @@ public class AbilityUtils {
         }
 
         if (sq[0].startsWith("CountersAddedThisTurn")) {
-            final String[] parts = l[0].split(" ");
+            final String[] parts = first.split(" ");
             CounterType cType = CounterType.getType(parts[1]);
 
             return doXMath(game.getCounterAddedThisTurn(cType, parts[2], parts[3], c, player, ctb), expr, c, ctb);
         }
         if (sq[0].startsWith("CountersRemovedThisTurn")) {
-            final String[] parts = l[0].split(" ");
+            final String[] parts = first.split(" ");
             CounterType cType = CounterType.getType(parts[1]);
 
             return doXMath(game.getCounterRemovedThisTurn(cType, parts[2], c, player, ctb), expr, c, ctb);
@@ -2749,7 +2741,7 @@ public class AbilityUtils {
 
         // count valid cards in any specified zone/s
         if (sq[0].startsWith("Valid")) {
-            String[] paidparts = l[0].split("\\$", 2);
+            String[] paidparts = first.split("\\$", 2);
             String[] lparts = paidparts[0].split(" ", 2);
 
             CardCollectionView cardsInZones = null;
@@ -2785,7 +2777,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].startsWith("MostCardName")) {
-            String[] lparts = l[0].split(" ", 2);
+            String[] lparts = first.split(" ", 2);
             final String[] rest = lparts[1].split(",");
 
             final CardCollectionView cardsInZones = lparts[0].length() > 12
@@ -2811,7 +2803,7 @@ public class AbilityUtils {
 
         if (sq[0].startsWith("DifferentCardNames_")) {
             final List<String> crdname = Lists.newArrayList();
-            final String restriction = l[0].substring(19);
+            final String restriction = first.substring(19);
             CardCollection list = CardLists.getValidCards(game.getCardsInGame(), restriction, player, c, ctb);
             for (final Card card : list) {
                 String name = card.getName();
@@ -2824,39 +2816,39 @@ public class AbilityUtils {
         }
 
         if (sq[0].startsWith("MostProminentCreatureType")) {
-            String restriction = l[0].split(" ")[1];
+            String restriction = first.split(" ")[1];
             CardCollection list = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), restriction, player, c, ctb);
             return doXMath(CardFactoryUtil.getMostProminentCreatureTypeSize(list), expr, c, ctb);
         }
 
         if (sq[0].startsWith("SecondMostProminentColor")) {
-            String restriction = l[0].split(" ")[1];
+            String restriction = first.split(" ")[1];
             CardCollection list = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), restriction, player, c, ctb);
             int[] colorSize = CardFactoryUtil.SortColorsFromList(list);
             return doXMath(colorSize[colorSize.length - 2], expr, c, ctb);
         }
 
         if (sq[0].startsWith("ColorsCtrl")) {
-            final String restriction = l[0].substring(11);
+            final String restriction = first.substring(11);
             final CardCollection list = CardLists.getValidCards(player.getCardsIn(ZoneType.Battlefield), restriction, player, c, ctb);
             return doXMath(CardUtil.getColorsFromCards(list).countColors(), expr, c, ctb);
         }
 
         // TODO move below to handlePaid
         if (sq[0].startsWith("SumPower")) {
-            final String[] restrictions = l[0].split("_");
+            final String[] restrictions = first.split("_");
             CardCollection filteredCards = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), restrictions[1], player, c, ctb);
             return doXMath(Aggregates.sum(filteredCards, CardPredicates.Accessors.fnGetNetPower), expr, c, ctb);
         }
         if (sq[0].startsWith("DifferentPower_")) {
-            final String restriction = l[0].substring(15);
+            final String restriction = first.substring(15);
             CardCollection list = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), restriction, player, c, ctb);
             final Iterable<Card> powers = Aggregates.uniqueByLast(list, CardPredicates.Accessors.fnGetNetPower);
             return doXMath(Iterables.size(powers), expr, c, ctb);
         }
         if (sq[0].startsWith("DifferentCounterKinds_")) {
             final List<CounterType> kinds = Lists.newArrayList();
-            final String rest = l[0].substring(22);
+            final String rest = first.substring(22);
             CardCollection list = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), rest, player, c, ctb);
             for (final Card card : list) {
                 for (final Map.Entry<CounterType, Integer> map : card.getCounters().entrySet()) {
@@ -3154,60 +3146,52 @@ public class AbilityUtils {
             return num;
         }
 
-        final String[] s = operators.split("\\.");
-        int secondaryNum = 0;
-
-        try {
-            if (s.length == 2) {
-                secondaryNum = Integer.parseInt(s[1]);
-            }
-        } catch (final Exception e) {
-            secondaryNum = calculateAmount(c, s[1], ctb);
-        }
+        final AmountExpression.Operator op = AmountExpression.Operator.of(operators);
+        final int secondaryNum = op.operandAmount == null ? op.operand : calculateAmount(c, op.operandAmount, ctb);
 
-        if (s[0].contains("Plus")) {
+        switch (op.kind) {
+        case Plus:
             return num + secondaryNum;
-        } else if (s[0].contains("NMinus")) {
+        case NMinus:
             return secondaryNum - num;
-        } else if (s[0].contains("Minus")) {
+        case Minus:
             return num - secondaryNum;
-        } else if (s[0].contains("Twice")) {
+        case Twice:
             return num * 2;
-        } else if (s[0].contains("Thrice")) {
+        case Thrice:
             return num * 3;
-        } else if (s[0].contains("HalfUp")) {
+        case HalfUp:
             return (int) (Math.ceil(num / 2.0));
-        } else if (s[0].contains("HalfDown")) {
+        case HalfDown:
             return (int) (Math.floor(num / 2.0));
-        } else if (s[0].contains("ThirdUp")) {
+        case ThirdUp:
             return (int) (Math.ceil(num / 3.0));
-        } else if (s[0].contains("ThirdDown")) {
+        case ThirdDown:
             return (int) (Math.floor(num / 3.0));
-        } else if (s[0].contains("Negative")) {
+        case Negative:
             return num * -1;
-        } else if (s[0].contains("Times")) {
+        case Times:
             return num * secondaryNum;
-        } else if (s[0].contains("DivideEvenlyDown")) {
+        case DivideEvenlyDown:
             if (secondaryNum == 0) {
                 return 0;
             }
             return num / secondaryNum;
-        } else if (s[0].contains("Mod")) {
+        case Mod:
             return num % secondaryNum;
-        } else if (s[0].contains("Abs")) {
+        case Abs:
             return Math.abs(num);
-        } else if (s[0].contains("LimitMax")) {
+        case LimitMax:
             if (num < secondaryNum) {
                 return num;
             }
             return secondaryNum;
-        } else if (s[0].contains("LimitMin")) {
+        case LimitMin:
             if (num > secondaryNum) {
                 return num;
             }
             return secondaryNum;
-
-        } else {
+        default:
             return num;
         }
     }
@@ -3793,10 +3777,9 @@ public class AbilityUtils {
         // "Named <CARDNAME> in all graveyards" - Count$NamedAllYards.<CARDNAME>
 
         if (sq[0].contains("Named")) {
-            if (sq[1].equals("CARDNAME")) {
-                sq[1] = c.getName();
-            }
-            someCards = CardLists.filter(someCards, CardPredicates.nameEquals(sq[1]));
+            // sq is shared by all counts of the same text, so it must not be changed
+            final String name = sq[1].equals("CARDNAME") ? c.getName() : sq[1];
+            someCards = CardLists.filter(someCards, CardPredicates.nameEquals(name));
         }
 
         // Refined qualities
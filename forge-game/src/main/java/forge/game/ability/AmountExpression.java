@@ -0,0 +1,215 @@
+package forge.game.ability;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+
+import forge.game.card.CardFactoryUtil;
+
+/**
+ * Parsed forms of the amount expressions of card scripts, e.g. the SVar
+ * "X:Count$Valid Creature.YouCtrl/Plus.1" or the amount "-X".
+ *
+ * Each distinct text is parsed once and shared by all cards, so that
+ * {@link AbilityUtils#calculateAmount}, {@link AbilityUtils#xCount} and
+ * {@link AbilityUtils#doXMath} don't split and compare strings again on every
+ * evaluation. Evaluating the parsed form is still up to AbilityUtils, which
+ * interprets the object and property names as before.
+ */
+public final class AmountExpression {
+    // texts built at runtime are parsed every time once this many are cached
+    private static final int MAX_CACHED = 1 << 16;
+
+    private AmountExpression() {
+    }
+
+    private static <T> T parse(final Map<String, T> cache, final String text, final Function<String, T> parser) {
+        T parsed = cache.get(text);
+        if (parsed == null) {
+            parsed = parser.apply(text);
+            if (cache.size() < MAX_CACHED) {
+                cache.putIfAbsent(text, parsed);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * An amount as given to {@link AbilityUtils#calculateAmount}: an optionally
+     * signed number or SVar name.
+     */
+    public static final class Reference {
+        private static final Map<String, Reference> cache = new ConcurrentHashMap<>();
+
+        public final int multiplier;
+        // the amount without its sign
+        public final String name;
+        public final boolean numeric;
+        public final int value;
+
+        private Reference(final String amount) {
+            final boolean startsWithPlus = amount.charAt(0) == '+';
+            final boolean startsWithMinus = amount.charAt(0) == '-';
+            name = startsWithPlus || startsWithMinus ? amount.substring(1) : amount;
+            multiplier = startsWithMinus ? -1 : 1;
+            numeric = StringUtils.isNumeric(name);
+            value = numeric ? Integer.parseInt(name) : 0;
+        }
+
+        public static Reference of(final String amount) {
+            return parse(cache, amount, Reference::new);
+        }
+    }
+
+    /**
+     * The value of an SVar: a number or Object$Property.
+     */
+    public static final class Value {
+        private static final Map<String, Value> cache = new ConcurrentHashMap<>();
+
+        public final boolean numeric;
+        public final int value;
+        // null if the value isn't of the form Object$Property, or the property is "none"
+        public final String object;
+        public final String property;
+
+        private Value(final String svarval) {
+            numeric = StringUtils.isNumeric(svarval);
+            value = numeric ? Integer.parseInt(svarval) : 0;
+            final String[] calcX = svarval.split("\\$", 2);
+            if (calcX.length == 1 || calcX[1].equals("none")) {
+                object = null;
+                property = null;
+            } else {
+                object = calcX[0];
+                property = calcX[1];
+            }
+        }
+
+        public static Value of(final String svarval) {
+            return parse(cache, svarval, Value::new);
+        }
+    }
+
+    /**
+     * A count as evaluated by {@link AbilityUtils#xCount}, e.g.
+     * "Count$CardCounters.P1P1/Twice".
+     */
+    public static final class Count {
+        private static final Map<String, Count> cache = new ConcurrentHashMap<>();
+
+        // the math after the first "/", or null
+        public final String operators;
+        // whether the count is a literal Number$N
+        public final boolean literal;
+        public final int literalValue;
+        // the part before the operators, without its Count$ prefix
+        public final String first;
+        // name of the SVar of an SVar$Name count, or null
+        public final String svar;
+        // the query without its Count$ prefix, split on "."; shared, so never to be modified
+        public final String[] query;
+
+        private Count(final String s) {
+            final String[] l = s.split("/");
+            operators = CardFactoryUtil.extractOperators(s);
+            String first = l[0];
+            literal = first.startsWith("Number$");
+            if (literal) {
+                literalValue = Integer.parseInt(first.substring(7));
+                this.first = first;
+                svar = null;
+                query = null;
+                return;
+            }
+            literalValue = 0;
+            if (first.startsWith("Count$")) {
+                first = first.substring(6);
+            }
+            this.first = first;
+            svar = first.startsWith("SVar$") ? first.substring(5) : null;
+            query = first.split("\\.");
+        }
+
+        public static Count of(final String s) {
+            return parse(cache, s, Count::new);
+        }
+    }
+
+    /**
+     * The math of a count, e.g. "Plus.1", "Times.X" or "HalfUp".
+     */
+    public static final class Operator {
+        public enum Kind {
+            None, Plus, NMinus, Minus, Twice, Thrice, HalfUp, HalfDown, ThirdUp, ThirdDown, Negative, Times,
+            DivideEvenlyDown, Mod, Abs, LimitMax, LimitMin
+        }
+
+        private static final Map<String, Operator> cache = new ConcurrentHashMap<>();
+
+        public final Kind kind;
+        public final int operand;
+        // amount to calculate for the operand when it isn't a number, or null
+        public final String operandAmount;
+
+        private Operator(final String operators) {
+            final String[] s = operators.split("\\.");
+            int number = 0;
+            String amount = null;
+            if (s.length == 2) {
+                try {
+                    number = Integer.parseInt(s[1]);
+                } catch (final NumberFormatException e) {
+                    amount = s[1];
+                }
+            }
+            operand = number;
+            operandAmount = amount;
+            kind = getKind(s[0]);
+        }
+
+        // the first operator name the text contains, in the order they have always been checked in
+        private static Kind getKind(final String op) {
+            if (op.contains("Plus")) {
+                return Kind.Plus;
+            } else if (op.contains("NMinus")) {
+                return Kind.NMinus;
+            } else if (op.contains("Minus")) {
+                return Kind.Minus;
+            } else if (op.contains("Twice")) {
+                return Kind.Twice;
+            } else if (op.contains("Thrice")) {
+                return Kind.Thrice;
+            } else if (op.contains("HalfUp")) {
+                return Kind.HalfUp;
+            } else if (op.contains("HalfDown")) {
+                return Kind.HalfDown;
+            } else if (op.contains("ThirdUp")) {
+                return Kind.ThirdUp;
+            } else if (op.contains("ThirdDown")) {
+                return Kind.ThirdDown;
+            } else if (op.contains("Negative")) {
+                return Kind.Negative;
+            } else if (op.contains("Times")) {
+                return Kind.Times;
+            } else if (op.contains("DivideEvenlyDown")) {
+                return Kind.DivideEvenlyDown;
+            } else if (op.contains("Mod")) {
+                return Kind.Mod;
+            } else if (op.contains("Abs")) {
+                return Kind.Abs;
+            } else if (op.contains("LimitMax")) {
+                return Kind.LimitMax;
+            } else if (op.contains("LimitMin")) {
+                return Kind.LimitMin;
+            }
+            return Kind.None;
+        }
+
+        public static Operator of(final String operators) {
+            return parse(cache, operators, Operator::new);
+        }
+    }
+}
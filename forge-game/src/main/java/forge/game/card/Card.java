@@ -67,6 +67,7 @@ import forge.trackable.Tracker;
 import forge.util.*;
 import forge.util.collect.FCollection;
 import forge.util.collect.FCollectionView;
+import forge.util.collect.LazyTable;
 import io.sentry.Breadcrumb;
 import io.sentry.Sentry;
 import org.apache.commons.lang3.StringUtils;
@@ -101,7 +102,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     private CardDamageHistory damageHistory = new CardDamageHistory();
     // Hidden keywords won't be displayed on the card
     // x=timestamp y=StaticAbility id
-    private final Table<Long, Long, List<String>> hiddenExtrinsicKeywords = TreeBasedTable.create();
+    private final Table<Long, Long, List<String>> hiddenExtrinsicKeywords = new LazyTable<>(TreeBasedTable::create);
 
     // cards attached or otherwise linked to this card
     private CardCollection hauntedBy, devouredCards, exploitedCards, delvedCards, convokedCards, imprintedCards,
@@ -128,38 +129,38 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
     protected CardChangedType changedTypeByText; // Layer 3 by Text Change
     // x=timestamp y=StaticAbility id
-    private final Table<Long, Long, CardChangedType> changedCardTypesByText = TreeBasedTable.create(); // Layer 3
-    private final Table<Long, Long, CardChangedType> changedCardTypesCharacterDefining = TreeBasedTable.create(); // Layer 4 CDA
-    private final Table<Long, Long, CardChangedType> changedCardTypes = TreeBasedTable.create(); // Layer 4
+    private final Table<Long, Long, CardChangedType> changedCardTypesByText = new LazyTable<>(TreeBasedTable::create); // Layer 3
+    private final Table<Long, Long, CardChangedType> changedCardTypesCharacterDefining = new LazyTable<>(TreeBasedTable::create); // Layer 4 CDA
+    private final Table<Long, Long, CardChangedType> changedCardTypes = new LazyTable<>(TreeBasedTable::create); // Layer 4
 
-    private final Table<Long, Long, CardChangedName> changedCardNames = TreeBasedTable.create(); // Layer 3
-    private final Table<Long, Long, KeywordsChange> changedCardKeywordsByText = TreeBasedTable.create(); // Layer 3 by Text Change
+    private final Table<Long, Long, CardChangedName> changedCardNames = new LazyTable<>(TreeBasedTable::create); // Layer 3
+    private final Table<Long, Long, KeywordsChange> changedCardKeywordsByText = new LazyTable<>(TreeBasedTable::create); // Layer 3 by Text Change
     protected KeywordsChange changedCardKeywordsByWord = new KeywordsChange(ImmutableList.<KeywordInterface>of(), ImmutableList.<KeywordInterface>of(), false); // Layer 3 by Word Change
-    private final Table<Long, Long, KeywordsChange> changedCardKeywords = TreeBasedTable.create(); // Layer 6
+    private final Table<Long, Long, KeywordsChange> changedCardKeywords = new LazyTable<>(TreeBasedTable::create); // Layer 6
 
     // stores the keywords created by static abilities
-    private final Table<Long, String, KeywordInterface> storedKeywords = TreeBasedTable.create();
+    private final Table<Long, String, KeywordInterface> storedKeywords = new LazyTable<>(TreeBasedTable::create);
 
     // x=timestamp y=StaticAbility id
-    private final Table<Long, Long, CardTraitChanges> changedCardTraitsByText = TreeBasedTable.create(); // Layer 3 by Text Change
-    private final Table<Long, Long, CardTraitChanges> changedCardTraits = TreeBasedTable.create(); // Layer 6
+    private final Table<Long, Long, CardTraitChanges> changedCardTraitsByText = new LazyTable<>(TreeBasedTable::create); // Layer 3 by Text Change
+    private final Table<Long, Long, CardTraitChanges> changedCardTraits = new LazyTable<>(TreeBasedTable::create); // Layer 6
 
     // stores the card traits created by static abilities
-    private final Table<StaticAbility, String, SpellAbility> storedSpellAbilility = TreeBasedTable.create();
-    private final Table<StaticAbility, String, Trigger> storedTrigger = TreeBasedTable.create();
-    private final Table<StaticAbility, String, ReplacementEffect> storedReplacementEffect = TreeBasedTable.create();
-    private final Table<StaticAbility, String, StaticAbility> storedStaticAbility = TreeBasedTable.create();
+    private final Table<StaticAbility, String, SpellAbility> storedSpellAbilility = new LazyTable<>(TreeBasedTable::create);
+    private final Table<StaticAbility, String, Trigger> storedTrigger = new LazyTable<>(TreeBasedTable::create);
+    private final Table<StaticAbility, String, ReplacementEffect> storedReplacementEffect = new LazyTable<>(TreeBasedTable::create);
+    private final Table<StaticAbility, String, StaticAbility> storedStaticAbility = new LazyTable<>(TreeBasedTable::create);
 
     // x=timestamp y=StaticAbility id
-    private final Table<Long, Long, CardColor> changedCardColorsByText = TreeBasedTable.create(); // Layer 3 by Text Change
-    private final Table<Long, Long, CardColor> changedCardColorsCharacterDefining = TreeBasedTable.create(); // Layer 5 CDA
-    private final Table<Long, Long, CardColor> changedCardColors = TreeBasedTable.create(); // Layer 5
+    private final Table<Long, Long, CardColor> changedCardColorsByText = new LazyTable<>(TreeBasedTable::create); // Layer 3 by Text Change
+    private final Table<Long, Long, CardColor> changedCardColorsCharacterDefining = new LazyTable<>(TreeBasedTable::create); // Layer 5 CDA
+    private final Table<Long, Long, CardColor> changedCardColors = new LazyTable<>(TreeBasedTable::create); // Layer 5
 
-    protected final Table<Long, Long, ManaCost> changedCardManaCost = TreeBasedTable.create(); // Layer 3
+    protected final Table<Long, Long, ManaCost> changedCardManaCost = new LazyTable<>(TreeBasedTable::create); // Layer 3
 
     private final NavigableMap<Long, CardCloneStates> clonedStates = Maps.newTreeMap(); // Layer 1
 
-    private final Table<Long, Long, Map<String, String>> changedSVars = TreeBasedTable.create();
+    private final Table<Long, Long, Map<String, String>> changedSVars = new LazyTable<>(TreeBasedTable::create);
 
     private final Map<Long, PlayerCollection> mayLook = Maps.newHashMap();
     private final PlayerCollection mayLookFaceDownExile = new PlayerCollection();
@@ -251,10 +252,42 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
     // stack of set power/toughness
     // x=timestamp y=StaticAbility id
-    private Table<Long, Long, Pair<Integer,Integer>> newPTText = TreeBasedTable.create(); // Text Change Layer 3
-    private Table<Long, Long, Pair<Integer,Integer>> newPTCharacterDefining = TreeBasedTable.create(); // Layer 7a
-    private Table<Long, Long, Pair<Integer,Integer>> newPT = TreeBasedTable.create(); // Layer 7b
-    private Table<Long, Long, Pair<Integer,Integer>> boostPT = TreeBasedTable.create(); // Layer 7c
+    private Table<Long, Long, Pair<Integer,Integer>> newPTText = new LazyTable<>(TreeBasedTable::create); // Text Change Layer 3
+    private Table<Long, Long, Pair<Integer,Integer>> newPTCharacterDefining = new LazyTable<>(TreeBasedTable::create); // Layer 7a
+    private Table<Long, Long, Pair<Integer,Integer>> newPT = new LazyTable<>(TreeBasedTable::create); // Layer 7b
+    private Table<Long, Long, Pair<Integer,Integer>> boostPT = new LazyTable<>(TreeBasedTable::create); // Layer 7c
+
+    // Type, colors and net P/T of the current state are derived from the layer tables above, the counters,
+    // the keywords and the zone. They are cached until any of those change, which bumps characteristicsVersion.
+    private long characteristicsVersion = 0;
+    private long cachedTypeVersion = -1;
+    private CardTypeView cachedType;
+    private long cachedColorVersion = -1;
+    private ColorSet cachedColor;
+    private long cachedNetPowerVersion = -1;
+    private int cachedNetPower;
+    private long cachedNetToughnessVersion = -1;
+    private int cachedNetToughness;
+    // how many of each TextKeyword the current state has, indexed by ordinal
+    private long cachedTextKeywordsVersion = -1;
+    private int[] cachedTextKeywords;
+    // Replacement effects of the current state by event. Besides the characteristics they depend on the state's own
+    // replacement effects and the changed card traits, whose changes bump replacementEffectsVersion instead.
+    private long replacementEffectsVersion = 0;
+    private long cachedReplacementEffectsVersion = -1;
+    private Map<ReplacementType, List<ReplacementEffect>> cachedReplacementEffects;
+    // Bumped by the changes to what getLKICopy takes from this card that neither the views nor
+    // characteristicsVersion count, see getStateVersion().
+    private long lkiStateVersion = 0;
+    // the card this LKI copy was made from, and its getStateVersion() then
+    private Card lkiOriginal;
+    private long lkiOriginalVersion;
+    // the card of another game this card was copied from, e.g. by the AI simulating its moves,
+    // with the getStateVersion() of both once the copy was complete
+    private Card copiedFrom;
+    private long copiedFromVersion;
+    private long copiedAtVersion;
+    private static final CardStateName[] STATE_NAMES = CardStateName.values();
 
     private String oracleText = "";
 
@@ -319,7 +352,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     private CardRules cardRules;
     private final CardView view;
 
-    private Table<Player, CounterType, Integer> etbCounters = HashBasedTable.create();
+    private Table<Player, CounterType, Integer> etbCounters = new LazyTable<>(HashBasedTable::create);
 
     private SpellAbility[] basicLandAbilities = new SpellAbility[MagicColor.WUBRG.length];
 
@@ -335,10 +368,10 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     private final Map<SpellAbility, List<String>> chosenModesYourCombat = Maps.newHashMap();
     private final Map<SpellAbility, List<String>> chosenModesYourLastCombat = Maps.newHashMap();
 
-    private final Table<SpellAbility, StaticAbility, List<String>> chosenModesTurnStatic = HashBasedTable.create();
-    private final Table<SpellAbility, StaticAbility, List<String>> chosenModesGameStatic = HashBasedTable.create();
-    private final Table<SpellAbility, StaticAbility, List<String>> chosenModesYourCombatStatic = HashBasedTable.create();
-    private final Table<SpellAbility, StaticAbility, List<String>> chosenModesYourLastCombatStatic = HashBasedTable.create();
+    private final Table<SpellAbility, StaticAbility, List<String>> chosenModesTurnStatic = new LazyTable<>(HashBasedTable::create);
+    private final Table<SpellAbility, StaticAbility, List<String>> chosenModesGameStatic = new LazyTable<>(HashBasedTable::create);
+    private final Table<SpellAbility, StaticAbility, List<String>> chosenModesYourCombatStatic = new LazyTable<>(HashBasedTable::create);
+    private final Table<SpellAbility, StaticAbility, List<String>> chosenModesYourLastCombatStatic = new LazyTable<>(HashBasedTable::create);
 
     private CombatLki combatLKI;
 
@@ -462,20 +495,23 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     public CardState getFaceDownState() {
         if (!states.containsKey(CardStateName.FaceDown)) {
             states.put(CardStateName.FaceDown, CardUtil.getFaceDownCharacteristic(this));
+            lkiStateChanged();
         }
         return states.get(CardStateName.FaceDown);
     }
 
     public void setOriginalStateAsFaceDown() {
+        characteristicsChanged();
         // For Ertai's Meddling a morph spell
         currentState = CardUtil.getFaceDownCharacteristic(this, CardStateName.Original);
-        states.put(CardStateName.Original, currentState);
+        stateRemoved(states.put(CardStateName.Original, currentState));
     }
 
     public boolean setState(final CardStateName state, boolean updateView) {
         return setState(state, updateView, false);
     }
     public boolean setState(final CardStateName state, boolean updateView, boolean forceUpdate) {
+        characteristicsChanged();
         boolean rollback = state == CardStateName.Original
                 && (currentStateName == CardStateName.Flipped || currentStateName == CardStateName.Transformed);
         boolean transform = state == CardStateName.Flipped || state == CardStateName.Transformed || state == CardStateName.Meld;
@@ -543,21 +579,26 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
     // use by CopyPermanent
     public void setStates(Map<CardStateName, CardState> map) {
+        for (CardState s : states.values()) {
+            stateRemoved(s);
+        }
         states.clear();
         states.putAll(map);
     }
 
     public final void addAlternateState(final CardStateName state, final boolean updateView) {
-        states.put(state, new CardState(this, state));
+        stateRemoved(states.put(state, new CardState(this, state)));
         if (updateView) {
             view.updateState(this);
         }
     }
 
     public void clearStates(final CardStateName state, boolean updateView) {
-        if (states.remove(state) == null) {
+        final CardState removed = states.remove(state);
+        if (removed == null) {
             return;
         }
+        stateRemoved(removed);
         if (state == currentStateName) {
             currentStateName = CardStateName.Original;
         }
@@ -1068,6 +1109,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
     public final <T> void addRemembered(final T o) {
         if (rememberedObjects.add(o)) {
+            lkiStateChanged();
             view.updateRemembered(this);
         }
     }
@@ -1079,11 +1121,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
             }
         }
         if (changed) {
+            lkiStateChanged();
             view.updateRemembered(this);
         }
     }
     public final <T> void removeRemembered(final T o) {
         if (rememberedObjects.remove(o)) {
+            lkiStateChanged();
             view.updateRemembered(this);
         }
     }
@@ -1096,12 +1140,14 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
             }
         }
         if (changed) {
+            lkiStateChanged();
             view.updateRemembered(this);
         }
     }
     public final void clearRemembered() {
         if (rememberedObjects.isEmpty()) { return; }
         rememberedObjects.clear();
+        lkiStateChanged();
         view.updateRemembered(this);
     }
     public final void updateRemembered() {
@@ -1376,9 +1422,11 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
     public void addBlockedThisTurn(Card attacker) {
         blockedThisTurn.add(attacker);
+        lkiStateChanged();
     }
     public void clearBlockedThisTurn() {
         blockedThisTurn.clear();
+        lkiStateChanged();
     }
 
     public List<Card> getBlockedByThisTurn() {
@@ -1386,9 +1434,11 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
     public void addBlockedByThisTurn(Card blocker) {
         blockedByThisTurn.add(blocker);
+        lkiStateChanged();
     }
     public void clearBlockedByThisTurn() {
         blockedByThisTurn.clear();
+        lkiStateChanged();
     }
 
     //MustBlockCards are cards that this Card must block if able in an upcoming combat.
@@ -1477,11 +1527,11 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
             //fire card stats changed event if p/t bonuses or loyalty changed from added counters
             if (powerBonusBefore != getPowerBonusFromCounters() || toughnessBonusBefore != getToughnessBonusFromCounters() || loyaltyBefore != getCurrentLoyalty()) {
-                getGame().fireEvent(new GameEventCardStatsChanged(this));
+                getGame().fireEvent(GameEventCardStatsChanged.class, () -> new GameEventCardStatsChanged(this));
             }
 
             // play the Add Counter sound
-            getGame().fireEvent(new GameEventCardCounters(this, counterType, oldValue, newValue));
+            getGame().fireEvent(GameEventCardCounters.class, () -> new GameEventCardCounters(this, counterType, oldValue, newValue));
 
             // Run triggers
             final Map<AbilityKey, Object> runParams = AbilityKey.mapFromCard(this);
@@ -1583,11 +1633,11 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
         //fire card stats changed event if p/t bonuses or loyalty changed from subtracted counters
         if (powerBonusBefore != getPowerBonusFromCounters() || toughnessBonusBefore != getToughnessBonusFromCounters() || loyaltyBefore != getCurrentLoyalty()) {
-            getGame().fireEvent(new GameEventCardStatsChanged(this));
+            getGame().fireEvent(GameEventCardStatsChanged.class, () -> new GameEventCardStatsChanged(this));
         }
 
         // Play the Subtract Counter sound
-        getGame().fireEvent(new GameEventCardCounters(this, counterName, oldValue, newValue));
+        getGame().fireEvent(GameEventCardCounters.class, () -> new GameEventCardCounters(this, counterName, oldValue, newValue));
 
         getGame().addCounterRemovedThisTurn(counterName, this, delta);
 
@@ -1603,8 +1653,15 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         getGame().getTriggerHandler().runTrigger(TriggerType.CounterRemovedOnce, AbilityKey.newMap(runParams), false);
     }
 
+    @Override
+    public void setCounters(final CounterType counterType, final Integer num) {
+        characteristicsChanged();
+        super.setCounters(counterType, num);
+    }
+
     @Override
     public final void setCounters(final Map<CounterType, Integer> allCounters) {
+        characteristicsChanged();
         boolean changed = false;
         for (CounterType ct : counters.keySet()) {
             if (removeCounterTimestamp(ct, false)) {
@@ -1627,6 +1684,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
     @Override
     public final void clearCounters() {
+        characteristicsChanged();
         if (counters.isEmpty()) { return; }
         counters.clear();
         view.updateCounters(this);
@@ -1676,6 +1734,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     public final void copyChangedSVarsFrom(Card other) {
         changedSVars.clear();
         changedSVars.putAll(other.changedSVars);
+        lkiStateChanged();
     }
 
     @Override
@@ -1698,9 +1757,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
     public final void addChangedSVars(Map<String, String> map, long timestamp, long staticId) {
         this.changedSVars.put(timestamp, staticId, map);
+        lkiStateChanged();
     }
     public final void removeChangedSVars(long timestamp, long staticId) {
-        this.changedSVars.remove(timestamp, staticId);
+        if (this.changedSVars.remove(timestamp, staticId) != null) {
+            lkiStateChanged();
+        }
     }
 
     public final int getTurnInZone() {
@@ -1786,11 +1848,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
         exiledWith = null;
         exiledBy = null;
+        lkiStateChanged();
     }
 
     public final Player getExiledBy() { return exiledBy; }
     public final void setExiledBy(final Player ep) {
         exiledBy = ep;
+        lkiStateChanged();
     }
 
     // used for cards like Belbe's Portal, Conspiracy, Cover of Darkness, etc.
@@ -3711,7 +3775,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         if (isBestowed()) {
             unanimateBestow();
         }
-        getGame().fireEvent(new GameEventCardAttachment(this, entity, null));
+        getGame().fireEvent(GameEventCardAttachment.class, () -> new GameEventCardAttachment(this, entity, null));
 
         // Run triggers
         final Map<AbilityKey, Object> runParams = AbilityKey.newMap();
@@ -3754,6 +3818,19 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         return getType(currentState);
     }
     public final CardTypeView getType(CardState state) {
+        if (state == currentState) {
+            if (cachedTypeVersion == characteristicsVersion) {
+                countCharacteristicsCache(true);
+                return cachedType;
+            }
+            countCharacteristicsCache(false);
+            cachedType = getTypeWithChanges(state);
+            cachedTypeVersion = characteristicsVersion;
+            return cachedType;
+        }
+        return getTypeWithChanges(state);
+    }
+    private CardTypeView getTypeWithChanges(CardState state) {
         final Iterable<CardChangedType> changedCardTypes = getChangedCardTypes();
         if (Iterables.isEmpty(changedCardTypes)) {
             return state.getType();
@@ -3767,6 +3844,116 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         return types;
     }
 
+    private void countCharacteristicsCache(boolean hit) {
+        if (game != null) {
+            game.countCharacteristicsCache(hit);
+        }
+    }
+
+    /**
+     * Called whenever something the cached type, colors or P/T are derived from changes.
+     */
+    final void characteristicsChanged() {
+        characteristicsVersion++;
+        if (game != null) {
+            game.getReplacementHandler().cardChanged(this);
+        }
+    }
+
+    /**
+     * Called whenever the replacement effects of a state or the changed card traits change.
+     */
+    final void replacementEffectsChanged() {
+        replacementEffectsVersion++;
+        if (game != null) {
+            game.getReplacementHandler().cardChanged(this);
+        }
+    }
+
+    /**
+     * Called whenever something getLKICopy takes from this card changes that neither the views
+     * nor characteristicsVersion count.
+     */
+    final void lkiStateChanged() {
+        lkiStateVersion++;
+    }
+
+    private void stateRemoved(final CardState state) {
+        // The changes counted by the view of the state stay in the sum of getStateVersion().
+        if (state != null) {
+            lkiStateVersion += state.getView().getChangeCount();
+        }
+        lkiStateVersion++;
+    }
+
+    /**
+     * Version of everything an LKI copy takes from this card object, so that a copy made at the same
+     * version can stand in for a new one (see {@link Game#copyLastState()}). It is the sum of the
+     * change counts of the card view and of the views of its states, characteristicsVersion,
+     * replacementEffectsVersion and lkiStateVersion. Each of these only ever grows, so any change makes
+     * the sum grow too.
+     */
+    public final long getStateVersion() {
+        long version = view.getChangeCount() + characteristicsVersion + replacementEffectsVersion + lkiStateVersion;
+        for (final CardStateName name : STATE_NAMES) {
+            final CardState state = states.get(name);
+            if (state != null) {
+                version += state.getView().getChangeCount();
+            }
+        }
+        return version;
+    }
+
+    /**
+     * @return whether an LKI copy of this card made earlier still records its
+     *         current state, and doesn't refer to LKI copies of other cards.
+     */
+    public final boolean isLKICopyCurrent(final Card lki) {
+        if (lki.lkiOriginal != this || lki.lkiOriginalVersion != getStateVersion() || lki.getCombatLKI() != null
+                || lki.hasCardAttachments() || lki.getEntityAttachedTo() != null
+                || lki.getMeldedWith() != null || lki.getExiledWith() != null) {
+            return false;
+        }
+        final Combat combat = game.getCombat();
+        return combat == null || !(combat.isAttacking(this) || combat.isBlocking(this));
+    }
+
+    final void setLKIOriginal(final Card original) {
+        lkiOriginal = original;
+        lkiOriginalVersion = original.getStateVersion();
+    }
+
+    /**
+     * Records that this card is a complete copy of a card of another game in its current state.
+     */
+    public final void setCopiedFrom(final Card original) {
+        copiedFrom = original;
+        copiedFromVersion = original.getStateVersion();
+        copiedAtVersion = getStateVersion();
+    }
+
+    /**
+     * @return the card this card was copied from, see {@link #setCopiedFrom}
+     */
+    public final Card getCopiedFrom() {
+        return copiedFrom;
+    }
+
+    /**
+     * @return the getStateVersion() of the card this card was copied from when the copy was made
+     */
+    public final long getCopiedFromVersion() {
+        return copiedFromVersion;
+    }
+
+    /**
+     * @return the getStateVersion() of this card when it was complete, so while it stays the same this card
+     *         is in the state the card it was copied from had then
+     */
+    public final long getCopiedAtVersion() {
+        return copiedAtVersion;
+    }
+
     public final CardTypeView getOriginalType() {
         return getOriginalType(currentState);
     }
@@ -3799,6 +3986,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public boolean clearChangedCardTypes() {
+        characteristicsChanged();
         boolean changed = false;
 
         if (changedTypeByText != null)
@@ -3821,6 +4009,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public boolean clearChangedCardColors() {
+        characteristicsChanged();
         boolean changed = false;
 
         if (!changedCardColorsByText.isEmpty())
@@ -3869,6 +4058,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public final void addChangedCardTypesByText(final CardType addType, final long timestamp, final long staticId, final boolean updateView) {
+        characteristicsChanged();
         changedCardTypesByText.put(timestamp, staticId, new CardChangedType(addType, null, false, true, true, true, false, false, false, false));
 
         // setting card type via text, does overwrite any other word change effects?
@@ -3885,6 +4075,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
             final boolean removeLandTypes, final boolean removeCreatureTypes, final boolean removeArtifactTypes,
             final boolean removeEnchantmentTypes,
             final long timestamp, final long staticId, final boolean updateView, final boolean cda) {
+        characteristicsChanged();
         (cda ? changedCardTypesCharacterDefining : changedCardTypes).put(timestamp, staticId, new CardChangedType(
                 addType, removeType, addAllCreatureTypes, removeSuperTypes, removeCardTypes, removeSubTypes,
                 removeLandTypes, removeCreatureTypes, removeArtifactTypes, removeEnchantmentTypes));
@@ -3917,6 +4108,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         removeChangedCardTypes(timestamp, staticId, true);
     }
     public final void removeChangedCardTypes(final long timestamp, final long staticId, final boolean updateView) {
+        characteristicsChanged();
         boolean removed = false;
         removed |= changedCardTypes.remove(timestamp, staticId) != null;
         removed |= changedCardTypesCharacterDefining.remove(timestamp, staticId) != null;
@@ -3926,16 +4118,19 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public void addColorByText(final ColorSet color, final long timestamp, final long staticId) {
+        characteristicsChanged();
         changedCardColorsByText.put(timestamp, staticId, new CardColor(color, false));
         updateColorForView();
     }
 
     public final void addColor(final ColorSet color, final boolean addToColors, final long timestamp, final long staticId, final boolean cda) {
+        characteristicsChanged();
         (cda ? changedCardColorsCharacterDefining : changedCardColors).put(timestamp, staticId, new CardColor(color, addToColors));
         updateColorForView();
     }
 
     public final void removeColor(final long timestampIn, final long staticId) {
+        characteristicsChanged();
         boolean removed = false;
         removed |= changedCardColorsByText.remove(timestampIn, staticId) != null;
         removed |= changedCardColors.remove(timestampIn, staticId) != null;
@@ -3962,6 +4157,19 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         return getColor(currentState);
     }
     public final ColorSet getColor(CardState state) {
+        if (state == currentState) {
+            if (cachedColorVersion == characteristicsVersion) {
+                countCharacteristicsCache(true);
+                return cachedColor;
+            }
+            countCharacteristicsCache(false);
+            cachedColor = getColorWithChanges(state);
+            cachedColorVersion = characteristicsVersion;
+            return cachedColor;
+        }
+        return getColorWithChanges(state);
+    }
+    private ColorSet getColorWithChanges(CardState state) {
         byte colors = state.getColor();
         for (final CardColor cc : getChangedCardColors()) {
             if (cc.isAdditional()) {
@@ -4111,6 +4319,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public final void setPTTable(Table<Long, Long, Pair<Integer, Integer>> table) {
+        characteristicsChanged();
         newPT.clear();
         newPT.putAll(table);
     }
@@ -4120,11 +4329,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public final void setPTCharacterDefiningTable(Table<Long, Long, Pair<Integer, Integer>> table) {
+        characteristicsChanged();
         newPTCharacterDefining.clear();
         newPTCharacterDefining.putAll(table);
     }
 
     public final void addNewPTByText(final Integer power, final Integer toughness, final long timestamp, final long staticId) {
+        characteristicsChanged();
         newPTText.put(timestamp, staticId, Pair.of(power, toughness));
         updatePTforView();
     }
@@ -4133,11 +4344,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         addNewPT(power, toughness, timestamp, staticId, false);
     }
     public final void addNewPT(final Integer power, final Integer toughness, final long timestamp, final long staticId, final boolean cda) {
+        characteristicsChanged();
         (cda ? newPTCharacterDefining : newPT).put(timestamp, staticId, Pair.of(power, toughness));
         updatePTforView();
     }
 
     public final void removeNewPT(final long timestamp, final long staticId) {
+        characteristicsChanged();
         boolean removed = false;
 
         removed |= newPTText.remove(timestamp, staticId) != null;
@@ -4160,6 +4373,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public final boolean clearNewPT() {
+        characteristicsChanged();
         boolean changed = false;
         if (!newPTText.isEmpty()) {
             changed = true;
@@ -4210,10 +4424,18 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         return getUnswitchedPowerBreakdown();
     }
     public final int getNetPower() {
+        if (cachedNetPowerVersion == characteristicsVersion) {
+            countCharacteristicsCache(true);
+            return cachedNetPower;
+        }
+        countCharacteristicsCache(false);
         if (getAmountOfKeyword("CARDNAME's power and toughness are switched") % 2 != 0) {
-            return getUnswitchedToughness();
+            cachedNetPower = getUnswitchedToughness();
+        } else {
+            cachedNetPower = getUnswitchedPower();
         }
-        return getUnswitchedPower();
+        cachedNetPowerVersion = characteristicsVersion;
+        return cachedNetPower;
     }
 
     public final int getCurrentToughness() {
@@ -4274,7 +4496,14 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         return getUnswitchedToughnessBreakdown();
     }
     public final int getNetToughness() {
-        return getNetToughnessBreakdown().getTotal();
+        if (cachedNetToughnessVersion == characteristicsVersion) {
+            countCharacteristicsCache(true);
+            return cachedNetToughness;
+        }
+        countCharacteristicsCache(false);
+        cachedNetToughness = getNetToughnessBreakdown().getTotal();
+        cachedNetToughnessVersion = characteristicsVersion;
+        return cachedNetToughness;
     }
 
     public final boolean toughnessAssignsDamage() {
@@ -4299,6 +4528,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     private int intensity = 0;
     public final void addIntensity(final int n) {
         intensity = intensity + n;
+        lkiStateChanged();
         view.updateIntensity(this);
     }
     public final int getIntensity(boolean total) {
@@ -4308,14 +4538,23 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
             return intensity;
         }
     }
-    public final void setIntensity(final int n) { intensity = n; }
+    public final void setIntensity(final int n) {
+        intensity = n;
+        lkiStateChanged();
+    }
     public final boolean hasIntensity() {
             return intensity > 0;
     }
 
     private int multiKickerMagnitude = 0;
-    public final void addMultiKickerMagnitude(final int n) { multiKickerMagnitude += n; }
-    public final void setKickerMagnitude(final int n) { multiKickerMagnitude = n; }
+    public final void addMultiKickerMagnitude(final int n) {
+        multiKickerMagnitude += n;
+        lkiStateChanged();
+    }
+    public final void setKickerMagnitude(final int n) {
+        multiKickerMagnitude = n;
+        lkiStateChanged();
+    }
     public final int getKickerMagnitude() {
         if (multiKickerMagnitude > 0) {
             return multiKickerMagnitude;
@@ -4351,10 +4590,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public void addPTBoost(final Integer power, final Integer toughness, final long timestamp, final long staticId) {
+        characteristicsChanged();
         boostPT.put(timestamp, staticId, Pair.of(power, toughness));
     }
 
     public void removePTBoost(final long timestamp, final long staticId) {
+        characteristicsChanged();
         boostPT.remove(timestamp, staticId);
     }
 
@@ -4363,6 +4604,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public void setPTBoost(Table<Long, Long, Pair<Integer, Integer>> table) {
+        characteristicsChanged();
         this.boostPT.clear();
         boostPT.putAll(table);
     }
@@ -4396,7 +4638,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
         setTapped(true);
         view.updateNeedsTapAnimation(tapAnimation);
-        getGame().fireEvent(new GameEventCardTapped(this, true));
+        getGame().fireEvent(GameEventCardTapped.class, () -> new GameEventCardTapped(this, true));
     }
 
     public final void untap(boolean untapAnimation) {
@@ -4413,13 +4655,14 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         runUntapCommands();
         setTapped(false);
         view.updateNeedsUntapAnimation(untapAnimation);
-        getGame().fireEvent(new GameEventCardTapped(this, false));
+        getGame().fireEvent(GameEventCardTapped.class, () -> new GameEventCardTapped(this, false));
     }
 
     public final Table<Long, Long, CardTraitChanges> getChangedCardTraitsByText() {
         return changedCardTraitsByText;
     }
     public final void setChangedCardTraitsByText(Table<Long, Long, CardTraitChanges> changes) {
+        replacementEffectsChanged();
         changedCardTraitsByText.clear();
         for (Table.Cell<Long, Long, CardTraitChanges> e : changes.cellSet()) {
             changedCardTraitsByText.put(e.getRowKey(), e.getColumnKey(), e.getValue().copy(this, true));
@@ -4427,6 +4670,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
     public final void addChangedCardTraitsByText(Collection<SpellAbility> spells,
             Collection<Trigger> trigger, Collection<ReplacementEffect> replacements, Collection<StaticAbility> statics, long timestamp, long staticId) {
+        replacementEffectsChanged();
         changedCardTraitsByText.put(timestamp, staticId, new CardTraitChanges(
             spells, null, trigger, replacements, statics, true, false
         ));
@@ -4476,6 +4720,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     public final void addChangedCardTraits(Collection<SpellAbility> spells, Collection<SpellAbility> removedAbilities,
             Collection<Trigger> trigger, Collection<ReplacementEffect> replacements, Collection<StaticAbility> statics,
             boolean removeAll, boolean removeNonMana, long timestamp, long staticId) {
+        replacementEffectsChanged();
         changedCardTraits.put(timestamp, staticId, new CardTraitChanges(
             spells, removedAbilities, trigger, replacements, statics, removeAll, removeNonMana
         ));
@@ -4487,6 +4732,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         boolean changed = false;
         changed |= changedCardTraitsByText.remove(timestamp, staticId) != null;
         changed |= changedCardTraits.remove(timestamp, staticId) != null;
+        if (changed) {
+            replacementEffectsChanged();
+        }
         return changed;
     }
 
@@ -4506,6 +4754,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public final void setChangedCardTraits(Table<Long, Long, CardTraitChanges> changes) {
+        replacementEffectsChanged();
         changedCardTraits.clear();
         for (Table.Cell<Long, Long, CardTraitChanges> e : changes.cellSet()) {
             changedCardTraits.put(e.getRowKey(), e.getColumnKey(), e.getValue().copy(this, true));
@@ -4513,6 +4762,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public boolean clearChangedCardTraits() {
+        if (!changedCardTraitsByText.isEmpty() || !changedCardTraits.isEmpty()) {
+            replacementEffectsChanged();
+        }
         boolean changed = false;
         if (changedCardTraitsByText.isEmpty()) {
             changed = true;
@@ -4557,6 +4809,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
             keyword = keyword.substring(7);
         }
 
+        if (state == currentState) {
+            final TextKeyword textKeyword = TextKeyword.fromText(keyword);
+            if (textKeyword != null) {
+                return getTextKeywordCounts()[textKeyword.ordinal()] > 0;
+            }
+        }
+
         // shortcut for hidden keywords
         for (List<String> kw : this.hiddenExtrinsicKeywords.values()) {
             if (kw.contains(keyword)) {
@@ -4593,7 +4852,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         if (updateView) {
             updateKeywords();
             if (isToken())
-                game.fireEvent(new GameEventTokenStateUpdate(this));
+                game.fireEvent(GameEventTokenStateUpdate.class, () -> new GameEventTokenStateUpdate(this));
         }
     }
 
@@ -4651,7 +4910,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         if (updateView) {
             updateKeywords();
             if (isToken())
-                game.fireEvent(new GameEventTokenStateUpdate(this));
+                game.fireEvent(GameEventTokenStateUpdate.class, () -> new GameEventTokenStateUpdate(this));
         }
         return changed;
     }
@@ -4693,6 +4952,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public final void updateKeywordsCache(final CardState state) {
+        characteristicsChanged();
         KeywordCollection keywords = new KeywordCollection();
 
         // Layer 1
@@ -4707,6 +4967,36 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
         state.setCachedKeywords(keywords);
     }
+    // counts the TextKeywords among the hidden and the unhidden keywords of the current state
+    private int[] getTextKeywordCounts() {
+        if (cachedTextKeywordsVersion == characteristicsVersion) {
+            countCharacteristicsCache(true);
+            return cachedTextKeywords;
+        }
+        countCharacteristicsCache(false);
+        if (cachedTextKeywords == null) {
+            cachedTextKeywords = new int[TextKeyword.COUNT];
+        } else {
+            Arrays.fill(cachedTextKeywords, 0);
+        }
+        for (List<String> kws : hiddenExtrinsicKeywords.values()) {
+            for (String kw : kws) {
+                final TextKeyword textKeyword = TextKeyword.fromText(kw);
+                if (textKeyword != null) {
+                    cachedTextKeywords[textKeyword.ordinal()]++;
+                }
+            }
+        }
+        for (KeywordInterface inst : getUnhiddenKeywords(currentState)) {
+            final TextKeyword textKeyword = TextKeyword.fromText(inst.getOriginal());
+            if (textKeyword != null) {
+                cachedTextKeywords[textKeyword.ordinal()]++;
+            }
+        }
+        cachedTextKeywordsVersion = characteristicsVersion;
+        return cachedTextKeywords;
+    }
+
     private void visitUnhiddenKeywords(CardState state, Visitor<KeywordInterface> visitor) {
         for (KeywordInterface kw : getUnhiddenKeywords(state)) {
             if (!visitor.visit(kw)) {
@@ -4757,6 +5047,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
      * Update the changed text of the intrinsic spell abilities and keywords.
      */
     public void updateChangedText() {
+        characteristicsChanged();
 
         // update type
         List<String> toAdd = Lists.newArrayList();
@@ -4862,6 +5153,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public final void addHiddenExtrinsicKeywords(long timestamp, long staticId, Iterable<String> keywords) {
+        characteristicsChanged();
         // TODO if some keywords aren't removed anymore, then no need for extra Array List
         hiddenExtrinsicKeywords.put(timestamp, staticId, Lists.newArrayList(keywords));
 
@@ -4870,6 +5162,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public final void removeHiddenExtrinsicKeywords(long timestamp, long staticId) {
+        characteristicsChanged();
         if (hiddenExtrinsicKeywords.remove(timestamp, staticId) != null) {
             view.updateNonAbilityText(this);
             updateKeywords();
@@ -4877,6 +5170,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public final void removeHiddenExtrinsicKeyword(String s) {
+        characteristicsChanged();
         boolean updated = false;
         for (List<String> list : hiddenExtrinsicKeywords.values()) {
             if (list.remove(s)) {
@@ -4908,7 +5202,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
             getView().updateCantHaveKeyword(this);
             updateKeywords();
             if (isToken())
-                game.fireEvent(new GameEventTokenStateUpdate(this));
+                game.fireEvent(GameEventTokenStateUpdate.class, () -> new GameEventTokenStateUpdate(this));
         }
         return change;
     }
@@ -5019,6 +5313,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
     public final void setUnearthed(final boolean b) {
         unearthed = b;
+        lkiStateChanged();
     }
 
     public final boolean hasSuspend() {
@@ -5201,6 +5496,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         return getAmountOfKeyword(k, currentState);
     }
     public final int getAmountOfKeyword(final String k, CardState state) {
+        if (state == currentState) {
+            final TextKeyword textKeyword = TextKeyword.fromText(k);
+            if (textKeyword != null) {
+                return getTextKeywordCounts()[textKeyword.ordinal()];
+            }
+        }
         int count = Iterables.frequency(this.getHiddenExtrinsicKeywords(), k);
         CountKeywordVisitor visitor = new CountKeywordVisitor(k);
         visitKeywords(state, visitor);
@@ -5257,49 +5558,8 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     // Takes one argument like Permanent.Blue+withFlying
     @Override
     public final boolean isValid(final String restriction, final Player sourceController, final Card source, CardTraitBase spellAbility) {
-        // Inclusive restrictions are Card types
-        final String[] incR = restriction.split("\\.", 2);
-
-        boolean testFailed = false;
-        if (incR[0].startsWith("!")) {
-            testFailed = true; // a bit counter logical))
-            incR[0] = incR[0].substring(1); // consume negation sign
-        }
-
-        if (incR[0].equals("Spell")) {
-            if (!isSpell()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("Permanent")) {
-            if (!isPermanent()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("Effect")) {
-            if (!isImmutable()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("Emblem")) {
-            if (!isEmblem()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("card") || incR[0].equals("Card")) {
-            if (isImmutable()) {
-                return testFailed;
-            }
-        } else if (!getType().hasStringType(incR[0])) {
-            return testFailed; // Check for wrong type
-        }
-
-        if (incR.length > 1) {
-            final String excR = incR[1];
-            final String[] exRs = excR.split("\\+"); // Exclusive Restrictions are ...
-            for (String exR : exRs) {
-                if (!hasProperty(exR, sourceController, source, spellAbility)) {
-                    return testFailed;
-                }
-            }
-        }
-        return !testFailed;
+        // parsed once per distinct restriction
+        return CardRestriction.of(restriction).test(this, sourceController, source, spellAbility);
     }
 
     // Takes arguments like Blue or withFlying
@@ -5526,7 +5786,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
             damage.put(0, damage0);
         }
         view.updateDamage(this);
-        getGame().fireEvent(new GameEventCardStatsChanged(this));
+        getGame().fireEvent(GameEventCardStatsChanged.class, () -> new GameEventCardStatsChanged(this));
     }
 
     public int getMaxDamageFromSource() {
@@ -5858,6 +6118,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
     public final void setForetold(final boolean foretold) {
         this.foretold = foretold;
+        lkiStateChanged();
     }
 
     public boolean isForetoldByEffect() {
@@ -5865,6 +6126,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
     public void setForetoldByEffect(final boolean val) {
         this.foretoldByEffect = val;
+        lkiStateChanged();
     }
 
     public boolean isForetoldThisTurn() {
@@ -5872,9 +6134,11 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
     public final void setForetoldThisTurn(final boolean foretoldThisTurn) {
         this.foretoldThisTurn = foretoldThisTurn;
+        lkiStateChanged();
     }
     public void resetForetoldThisTurn() {
         foretoldThisTurn = false;
+        lkiStateChanged();
     }
 
     public boolean isSpecialized() {
@@ -5926,6 +6190,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         }
 
         bestowTimestamp = getGame().getNextTimestamp();
+        lkiStateChanged();
         addChangedCardTypes(new CardType(Collections.singletonList("Aura"), true),
                 new CardType(Collections.singletonList("Creature"), true),
                 false, false, false, false, false, false, false, true, bestowTimestamp, 0, updateView, false);
@@ -5944,6 +6209,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         removeChangedCardKeywords(bestowTimestamp, 0, updateView);
         removeChangedCardTypes(bestowTimestamp, 0, updateView);
         bestowTimestamp = -1;
+        lkiStateChanged();
     }
 
     public final boolean isBestowed() {
@@ -5955,6 +6221,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
     public final void setBestowTimestamp(final long t) {
         bestowTimestamp = t;
+        lkiStateChanged();
     }
 
     public final long getTimestamp() {
@@ -5962,6 +6229,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
     public final void setTimestamp(final long t) {
         timestamp = t;
+        lkiStateChanged();
     }
     public boolean equalsWithTimestamp(Card c) {
         return equals(c) && c.getTimestamp() == timestamp;
@@ -6129,6 +6397,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
     public void setZone(Zone zone) {
         if (currentZone == zone) { return; }
+        characteristicsChanged();
         currentZone = zone;
         view.updateZone(this);
     }
@@ -6234,6 +6503,48 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         return currentState.getReplacementEffects();
     }
 
+    /**
+     * The replacement effects of the current state for one event. They are collected by event only when the
+     * characteristics or the replacement effects of this card change, so that looking for the replacement effects
+     * of an event only goes through the cards that have any.
+     */
+    public final List<ReplacementEffect> getReplacementEffects(final ReplacementType event) {
+        updateReplacementEffectsByEvent();
+        final List<ReplacementEffect> result = cachedReplacementEffects.get(event);
+        return result == null ? Collections.emptyList() : result;
+    }
+
+    /**
+     * The events the current state has replacement effects for, see {@link ReplacementHandler}.
+     */
+    public final Set<ReplacementType> getReplacementEventTypes() {
+        updateReplacementEffectsByEvent();
+        return cachedReplacementEffects.keySet();
+    }
+
+    private void updateReplacementEffectsByEvent() {
+        final long version = characteristicsVersion + replacementEffectsVersion;
+        countCharacteristicsCache(cachedReplacementEffectsVersion == version);
+        if (cachedReplacementEffectsVersion == version) {
+            return;
+        }
+        final FCollectionView<ReplacementEffect> all = getReplacementEffects();
+        if (all.isEmpty()) {
+            cachedReplacementEffects = Collections.emptyMap();
+        } else {
+            cachedReplacementEffects = Maps.newEnumMap(ReplacementType.class);
+            for (final ReplacementEffect re : all) {
+                List<ReplacementEffect> list = cachedReplacementEffects.get(re.getMode());
+                if (list == null) {
+                    list = Lists.newArrayListWithCapacity(2);
+                    cachedReplacementEffects.put(re.getMode(), list);
+                }
+                list.add(re);
+            }
+        }
+        cachedReplacementEffectsVersion = version;
+    }
+
     public ReplacementEffect addReplacementEffect(final ReplacementEffect replacementEffect) {
         currentState.addReplacementEffect(replacementEffect);
         return replacementEffect;
@@ -6308,6 +6619,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
     public void setCastFrom(final Zone castFrom0) {
         castFrom = castFrom0;
+        lkiStateChanged();
     }
     public boolean wasCast() {
         if (hasMergedCard()) {
@@ -6329,6 +6641,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
     public void setCastSA(SpellAbility castSA) {
         this.castSA = castSA;
+        lkiStateChanged();
     }
 
     public Card getEffectSource() {
@@ -6588,8 +6901,14 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
     // Optional costs paid
     private final EnumSet<OptionalCost> costsPaid = EnumSet.noneOf(OptionalCost.class);
-    public void clearOptionalCostsPaid() { costsPaid.clear(); }
-    public void addOptionalCostPaid(OptionalCost cost) { costsPaid.add(cost); }
+    public void clearOptionalCostsPaid() {
+        costsPaid.clear();
+        lkiStateChanged();
+    }
+    public void addOptionalCostPaid(OptionalCost cost) {
+        costsPaid.add(cost);
+        lkiStateChanged();
+    }
     public Iterable<OptionalCost> getOptionalCostsPaid() { return costsPaid; }
     public boolean isOptionalCostPaid(OptionalCost cost) { return costsPaid.contains(cost); }
 
@@ -6900,10 +7219,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public void setChangedCardTypes(Table<Long, Long, CardChangedType> changedCardTypes) {
+        characteristicsChanged();
         this.changedCardTypes.clear();
         this.changedCardTypes.putAll(changedCardTypes);
     }
     public void setChangedCardTypesCharacterDefining(Table<Long, Long, CardChangedType> changedCardTypes) {
+        characteristicsChanged();
         this.changedCardTypesCharacterDefining.clear();
         this.changedCardTypesCharacterDefining.putAll(changedCardTypes);
     }
@@ -6916,10 +7237,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public void setChangedCardColors(Table<Long, Long, CardColor> changedCardColors) {
+        characteristicsChanged();
         this.changedCardColors.clear();
         this.changedCardColors.putAll(changedCardColors);
     }
     public void setChangedCardColorsCharacterDefining(Table<Long, Long, CardColor> changedCardColors) {
+        characteristicsChanged();
         this.changedCardColorsCharacterDefining.clear();
         this.changedCardColorsCharacterDefining.putAll(changedCardColors);
     }
@@ -6941,11 +7264,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
     public final void addGoad(Long timestamp, final Player p) {
         goad.put(timestamp, p);
+        lkiStateChanged();
         updateAbilityTextForView();
     }
 
     public final void removeGoad(Long timestamp) {
         if (goad.remove(timestamp) != null) {
+            lkiStateChanged();
             updateAbilityTextForView();
         }
     }
@@ -6985,6 +7310,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
      */
     public final void setLastKnownZone(Zone zone) {
         this.savedLastKnownZone = zone;
+        lkiStateChanged();
     }
 
     /**
@@ -6995,10 +7321,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     public final void addEtbCounter(CounterType type, Integer val, final Player source) {
         int old = etbCounters.contains(source, type) ? etbCounters.get(source, type) : 0;
         etbCounters.put(source, type, old + val);
+        lkiStateChanged();
     }
 
     public final void clearEtbCounters() {
         etbCounters.clear();
+        lkiStateChanged();
     }
 
     public final Set<Table.Cell<Player, CounterType, Integer>> getEtbCounters() {
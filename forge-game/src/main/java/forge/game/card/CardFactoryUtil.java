@@ -627,6 +627,8 @@ public class CardFactoryUtil {
         for (KeywordInterface inst : card.getKeywords()) {
             inst.createTraits(card, true);
         }
+        // the keywords now have their replacement effects
+        card.replacementEffectsChanged();
 
         // AltCost
         String altCost = card.getSVar("AltCost");
@@ -0,0 +1,157 @@
+package forge.game.card;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import forge.game.CardTraitBase;
+import forge.game.player.Player;
+
+/**
+ * Compiled form of a restriction on cards as used by Valid parameters, e.g.
+ * "Creature.nonToken+YouCtrl" or "!Permanent".
+ *
+ * Each distinct restriction is split into its type and properties once and
+ * shared by all cards, so that {@link Card#isValid} doesn't parse it again for
+ * every card it checks. The most common properties are tested directly, all
+ * the others by {@link CardProperty#cardHasProperty}.
+ */
+public final class CardRestriction {
+    // restrictions built at runtime are compiled every time once this many are cached
+    private static final int MAX_CACHED = 1 << 16;
+    private static final Map<String, CardRestriction> cache = new ConcurrentHashMap<>();
+
+    /**
+     * A property of a card, e.g. "YouCtrl".
+     */
+    @FunctionalInterface
+    public interface Property {
+        boolean test(Card card, Player sourceController, Card source, CardTraitBase spellAbility);
+    }
+
+    private enum Kind {
+        Spell, Permanent, Effect, Emblem, Card, Type
+    }
+
+    // matches when the card is lacking the type or one of the properties
+    private final boolean negated;
+    private final Kind kind;
+    private final String type;
+    private final Property[] properties;
+
+    private CardRestriction(final String restriction) {
+        final String[] incR = restriction.split("\\.", 2);
+
+        negated = incR[0].startsWith("!");
+        type = negated ? incR[0].substring(1) : incR[0];
+        switch (type) {
+        case "Spell":
+            kind = Kind.Spell;
+            break;
+        case "Permanent":
+            kind = Kind.Permanent;
+            break;
+        case "Effect":
+            kind = Kind.Effect;
+            break;
+        case "Emblem":
+            kind = Kind.Emblem;
+            break;
+        case "card":
+        case "Card":
+            kind = Kind.Card;
+            break;
+        default:
+            kind = Kind.Type;
+        }
+
+        if (incR.length > 1) {
+            final String[] exRs = incR[1].split("\\+");
+            properties = new Property[exRs.length];
+            for (int i = 0; i < exRs.length; i++) {
+                properties[i] = compileProperty(exRs[i]);
+            }
+        } else {
+            properties = new Property[0];
+        }
+    }
+
+    public static CardRestriction of(final String restriction) {
+        CardRestriction compiled = cache.get(restriction);
+        if (compiled == null) {
+            compiled = new CardRestriction(restriction);
+            if (cache.size() < MAX_CACHED) {
+                cache.putIfAbsent(restriction, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    public boolean test(final Card card, final Player sourceController, final Card source, final CardTraitBase spellAbility) {
+        if (!hasType(card)) {
+            return negated;
+        }
+        for (final Property property : properties) {
+            if (!property.test(card, sourceController, source, spellAbility)) {
+                return negated;
+            }
+        }
+        return !negated;
+    }
+
+    private boolean hasType(final Card card) {
+        switch (kind) {
+        case Spell:
+            return card.isSpell();
+        case Permanent:
+            return card.isPermanent();
+        case Effect:
+            return card.isImmutable();
+        case Emblem:
+            return card.isEmblem();
+        case Card:
+            return !card.isImmutable();
+        default:
+            return card.getType().hasStringType(type);
+        }
+    }
+
+    /**
+     * Compile a property, which may be negated with a leading "!".
+     */
+    public static Property compileProperty(final String property) {
+        if (property.startsWith("!")) {
+            final Property p = compileProperty(property.substring(1));
+            return (card, sourceController, source, spellAbility) -> !p.test(card, sourceController, source, spellAbility);
+        }
+        // These are tested by CardProperty before anything else matches them.
+        switch (property) {
+        case "Self":
+            return (card, sourceController, source, spellAbility) -> !card.isPhasedOut() && card.equals(source);
+        case "Other":
+            return (card, sourceController, source, spellAbility) -> !card.isPhasedOut() && !card.equals(source);
+        case "YouCtrl":
+            return (card, sourceController, source, spellAbility) -> !card.isPhasedOut()
+                    && getController(card).equals(sourceController);
+        case "YouDontCtrl":
+            return (card, sourceController, source, spellAbility) -> !card.isPhasedOut()
+                    && !getController(card).equals(sourceController);
+        case "OppCtrl":
+            return (card, sourceController, source, spellAbility) -> !card.isPhasedOut()
+                    && getController(card).getOpponents().contains(sourceController);
+        case "YouOwn":
+            return (card, sourceController, source, spellAbility) -> !card.isPhasedOut()
+                    && card.getOwner().equals(sourceController);
+        case "OppOwn":
+            return (card, sourceController, source, spellAbility) -> !card.isPhasedOut()
+                    && card.getOwner().getOpponents().contains(sourceController);
+        default:
+            return (card, sourceController, source, spellAbility) ->
+                    CardProperty.cardHasProperty(card, property, sourceController, source, spellAbility);
+        }
+    }
+
+    // the controller as CardProperty sees it, which is the one of the last known information
+    private static Player getController(final Card card) {
+        return card.getGame().getChangeZoneLKIInfo(card).getController();
+    }
+}
@@ -123,11 +123,13 @@ public class CardState extends GameObject implements IHasSVars {
     }
     public final void addType(String type0) {
         if (type.add(type0)) {
+            card.characteristicsChanged();
             view.updateType(this);
         }
     }
     public final void addType(Iterable<String> type0) {
         if (type.addAll(type0)) {
+            card.characteristicsChanged();
             view.updateType(this);
         }
     }
@@ -137,6 +139,7 @@ public class CardState extends GameObject implements IHasSVars {
             return;
         }
         if (type0.isEmpty() && type.isEmpty()) { return; }
+        card.characteristicsChanged();
         type.clear();
         type.addAll(type0);
         view.updateType(this);
@@ -144,16 +147,20 @@ public class CardState extends GameObject implements IHasSVars {
 
     public final void removeType(final CardType.Supertype st) {
         if (type.remove(st)) {
+            card.characteristicsChanged();
             view.updateType(this);
         }
     }
 
     public final void removeCardTypes() {
+        if (!type.getCoreTypes().iterator().hasNext()) { return; }
+        card.characteristicsChanged();
         type.removeCardTypes();
     }
 
     public final void setCreatureTypes(Collection<String> ctypes) {
         if (type.setCreatureTypes(ctypes)) {
+            card.characteristicsChanged();
             view.updateType(this);
         }
     }
@@ -170,11 +177,13 @@ public class CardState extends GameObject implements IHasSVars {
         return color;
     }
     public final void addColor(final byte color) {
-        this.color |= color;
-        view.updateColors(card);
+        setColor((byte) (this.color | color));
     }
     public final void setColor(final byte color) {
-        this.color = color;
+        if (this.color != color) {
+            card.characteristicsChanged();
+            this.color = color;
+        }
         view.updateColors(card);
     }
 
@@ -183,6 +192,7 @@ public class CardState extends GameObject implements IHasSVars {
     }
     public final void setBasePower(final int basePower0) {
         if (basePower == basePower0) { return; }
+        card.characteristicsChanged();
         basePower = basePower0;
         view.updatePower(this);
     }
@@ -192,6 +202,7 @@ public class CardState extends GameObject implements IHasSVars {
     }
     public final void setBaseToughness(final int baseToughness0) {
         if (baseToughness == baseToughness0) { return; }
+        card.characteristicsChanged();
         baseToughness = baseToughness0;
         view.updateToughness(this);
     }
@@ -229,6 +240,8 @@ public class CardState extends GameObject implements IHasSVars {
     }
 
     public final void setCachedKeywords(final KeywordCollection col) {
+        if (cachedKeywords == col) { return; }
+        card.characteristicsChanged();
         cachedKeywords = col;
     }
 
@@ -453,12 +466,15 @@ public class CardState extends GameObject implements IHasSVars {
         return result;
     }
     public boolean addReplacementEffect(final ReplacementEffect replacementEffect) {
+        card.replacementEffectsChanged();
         return replacementEffects.add(replacementEffect);
     }
     public boolean removeReplacementEffect(final ReplacementEffect replacementEffect) {
+        card.replacementEffectsChanged();
         return replacementEffects.remove(replacementEffect);
     }
     public void clearReplacementEffects() {
+        card.replacementEffectsChanged();
         replacementEffects.clear();
     }
 
@@ -512,6 +528,7 @@ public class CardState extends GameObject implements IHasSVars {
     @Override
     public final void setSVar(final String var, final String str) {
         sVars.put(var, str);
+        card.lkiStateChanged();
         view.updateFoilIndex(card.getState(CardStateName.Original));
     }
 
@@ -519,12 +536,15 @@ public class CardState extends GameObject implements IHasSVars {
     public final void setSVars(final Map<String, String> newSVars) {
         sVars = Maps.newTreeMap();
         sVars.putAll(newSVars);
+        card.lkiStateChanged();
         view.updateFoilIndex(card.getState(CardStateName.Original));
     }
 
     @Override
     public final void removeSVar(final String var) {
-        sVars.remove(var);
+        if (sVars.remove(var) != null) {
+            card.lkiStateChanged();
+        }
     }
 
     public final int getFoil() {
@@ -586,6 +606,7 @@ public class CardState extends GameObject implements IHasSVars {
             }
         }
 
+        card.replacementEffectsChanged();
         replacementEffects.clear();
         for (ReplacementEffect re : source.replacementEffects) {
             if (re.isIntrinsic()) {
@@ -627,6 +648,7 @@ public class CardState extends GameObject implements IHasSVars {
             }
         }
 
+        card.replacementEffectsChanged();
         for (ReplacementEffect re : source.replacementEffects) {
             if (re.isIntrinsic()) {
                 replacementEffects.add(re.copy(card, lki));
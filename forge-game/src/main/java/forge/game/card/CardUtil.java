@@ -194,6 +194,7 @@ public final class CardUtil {
 
         final Card newCopy = new Card(in.getId(), in.getPaperCard(), in.getGame(), null);
         cachedMap.put(in.getId(), newCopy);
+        newCopy.setLKIOriginal(in);
         newCopy.setSetCode(in.getSetCode());
         newCopy.setOwner(in.getOwner());
         newCopy.setController(in.getController(), 0);
@@ -0,0 +1,184 @@
+package forge.game.event;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.esotericsoftware.minlog.Log;
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Delivers the events of a game to the methods of its subscribers annotated
+ * with {@link Subscribe}, in place of an {@link com.google.common.eventbus.EventBus}.
+ *
+ * The handlers of each event class are resolved once, so that posting an event
+ * is a lookup and a call per handler. As with an EventBus, a handler receives
+ * the events of its parameter type and its subtypes, events posted while
+ * handling one are delivered after it, and exceptions thrown by handlers are
+ * logged without stopping the delivery. Unless a handler is also annotated
+ * with {@link AllowConcurrentEvents}, it is called while holding the lock of
+ * its subscriber, so it never runs on two threads at once.
+ *
+ * A subscriber that is an {@link IGameEventVisitor.Base} and handles all
+ * {@link GameEvent}s is expected to visit them, so it doesn't receive the ones
+ * it has no visit method for. This lets {@link #hasHandlers} tell when an event
+ * doesn't need to be created at all, e.g. when only the game log listens.
+ */
+public class EventDispatcher {
+    private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final class Handler {
+        private final Object subscriber;
+        private final Class<?> eventType;
+        private final MethodHandle method;
+        private final boolean visitsOnly;
+        private final boolean concurrent;
+
+        private Handler(final Object subscriber, final Method method) throws IllegalAccessException {
+            this.subscriber = subscriber;
+            this.eventType = method.getParameterTypes()[0];
+            method.setAccessible(true);
+            this.method = MethodHandles.lookup().unreflect(method).asType(HANDLER_TYPE);
+            this.visitsOnly = subscriber instanceof IGameEventVisitor.Base && eventType.isAssignableFrom(GameEvent.class);
+            this.concurrent = method.isAnnotationPresent(AllowConcurrentEvents.class);
+        }
+
+        private void call(final Object event) throws Throwable {
+            if (concurrent) {
+                method.invokeExact(subscriber, event);
+                return;
+            }
+            synchronized (subscriber) {
+                method.invokeExact(subscriber, event);
+            }
+        }
+
+        private boolean handles(final Class<?> type) {
+            if (!eventType.isAssignableFrom(type)) {
+                return false;
+            }
+            if (visitsOnly && GameEvent.class.isAssignableFrom(type)) {
+                try {
+                    return subscriber.getClass().getMethod("visit", type).getDeclaringClass() != IGameEventVisitor.Base.class;
+                } catch (final NoSuchMethodException e) {
+                    return true;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final Handler[] NO_HANDLERS = new Handler[0];
+
+    private final List<Handler> handlers = new ArrayList<>();
+    private final Map<Class<?>, Handler[]> handlersByType = new ConcurrentHashMap<>();
+
+    // events posted while delivering another one on the same thread
+    private Thread dispatching;
+    private final ArrayDeque<Object> queue = new ArrayDeque<>();
+
+    public void register(final Object subscriber) {
+        final List<Handler> added = new ArrayList<>();
+        for (final Method m : subscriber.getClass().getMethods()) {
+            if (!m.isAnnotationPresent(Subscribe.class)) {
+                continue;
+            }
+            if (m.getParameterCount() != 1) {
+                throw new IllegalArgumentException("Method " + m + " has @Subscribe but doesn't have exactly one parameter");
+            }
+            try {
+                added.add(new Handler(subscriber, m));
+            } catch (final IllegalAccessException e) {
+                throw new IllegalArgumentException("Method " + m + " can't be called", e);
+            }
+        }
+        synchronized (handlers) {
+            handlers.addAll(added);
+            handlersByType.clear();
+        }
+    }
+
+    /**
+     * @return whether any subscriber receives the events of this class.
+     */
+    public boolean hasHandlers(final Class<?> type) {
+        return getHandlers(type).length > 0;
+    }
+
+    public void post(final Object event) {
+        final Handler[] targets = getHandlers(event.getClass());
+        if (targets.length == 0) {
+            return;
+        }
+        final Thread current = Thread.currentThread();
+        final boolean first;
+        synchronized (queue) {
+            if (dispatching == current) {
+                queue.add(event);
+                return;
+            }
+            // another thread delivering its events doesn't hold this one back
+            first = dispatching == null;
+            if (first) {
+                dispatching = current;
+            }
+        }
+        if (!first) {
+            deliver(event, targets);
+            return;
+        }
+        try {
+            deliver(event, targets);
+            Object next;
+            while ((next = pollQueue()) != null) {
+                deliver(next, getHandlers(next.getClass()));
+            }
+        } finally {
+            synchronized (queue) {
+                queue.clear();
+                dispatching = null;
+            }
+        }
+    }
+
+    private Object pollQueue() {
+        synchronized (queue) {
+            return queue.poll();
+        }
+    }
+
+    private Handler[] getHandlers(final Class<?> type) {
+        Handler[] result = handlersByType.get(type);
+        if (result != null) {
+            return result;
+        }
+        synchronized (handlers) {
+            final List<Handler> found = new ArrayList<>();
+            for (final Handler h : handlers) {
+                if (h.handles(type)) {
+                    found.add(h);
+                }
+            }
+            result = found.isEmpty() ? NO_HANDLERS : found.toArray(NO_HANDLERS);
+            handlersByType.put(type, result);
+            return result;
+        }
+    }
+
+    private static void deliver(final Object event, final Handler[] targets) {
+        for (final Handler h : targets) {
+            try {
+                h.call(event);
+            } catch (final Throwable e) {
+                Log.error("Exception thrown by event handler " + h.subscriber + " for event " + event, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package forge.game.keyword;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keywords without a {@link Keyword} of their own, which are granted as text
+ * (mostly hidden) and queried often by the combat and AI code.
+ *
+ * A card counts how many of each of these it has while its keywords don't
+ * change, so that {@link forge.game.card.Card#hasKeyword(String)} and
+ * {@link forge.game.card.Card#getAmountOfKeyword(String)} don't search all of
+ * its keywords for them.
+ */
+public enum TextKeyword {
+    SWITCHED_POWER_TOUGHNESS("CARDNAME's power and toughness are switched"),
+    CANT_ATTACK("CARDNAME can't attack."),
+    CANT_BLOCK("CARDNAME can't block."),
+    CANT_ATTACK_OR_BLOCK("CARDNAME can't attack or block."),
+    CANT_ATTACK_ALONE("CARDNAME can't attack alone."),
+    CANT_BLOCK_ALONE("CARDNAME can't block alone."),
+    CANT_ATTACK_OR_BLOCK_ALONE("CARDNAME can't attack or block alone."),
+    CAN_ONLY_ATTACK_ALONE("CARDNAME can only attack alone."),
+    CANT_ATTACK_UNLESS_TWO_OTHERS("CARDNAME can't attack unless at least two other creatures attack."),
+    CANT_ATTACK_UNLESS_GREATER_POWER("CARDNAME can't attack unless a creature with greater power also attacks."),
+    CANT_BLOCK_UNLESS_TWO_OTHERS("CARDNAME can't block unless at least two other creatures block."),
+    CANT_BLOCK_UNLESS_GREATER_POWER("CARDNAME can't block unless a creature with greater power also blocks."),
+    CANT_BE_BLOCKED_UNLESS_ALL("CARDNAME can't be blocked unless all creatures defending player controls block it."),
+    MUST_BE_BLOCKED("CARDNAME must be blocked if able."),
+    MUST_BE_BLOCKED_BY_TWO("CARDNAME must be blocked by two or more creatures if able."),
+    MUST_BE_BLOCKED_BY_ONE("CARDNAME must be blocked by exactly one creature if able."),
+    BLOCK_ONLY_FLYING("CARDNAME can block only creatures with flying."),
+    BLOCK_SHADOW("CARDNAME can block creatures with shadow as though they didn't have shadow."),
+    BLOCK_LANDWALK("CARDNAME can block creatures with landwalk abilities as though they didn't have those abilities."),
+    BLOCK_AS_UNTAPPED("CARDNAME can block as though it were untapped."),
+    NO_COMBAT_DAMAGE("CARDNAME assigns no combat damage"),
+    DOESNT_UNTAP("CARDNAME doesn't untap during your untap step."),
+    CANT_BE_REGENERATED("CARDNAME can't be regenerated."),
+    CANT_ACTIVATE("CARDNAME's activated abilities can't be activated."),
+    PREVENT_DAMAGE_DEALT("Prevent all damage that would be dealt by CARDNAME.");
+
+    private static final Map<String, TextKeyword> byText = new HashMap<>();
+    static {
+        for (TextKeyword k : values()) {
+            byText.put(k.text, k);
+        }
+    }
+
+    public static final int COUNT = values().length;
+
+    private final String text;
+
+    TextKeyword(String text) {
+        this.text = text;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return the keyword with exactly this text, or null.
+     */
+    public static TextKeyword fromText(String text) {
+        return byText.get(text);
+    }
+}
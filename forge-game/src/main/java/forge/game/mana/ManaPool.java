@@ -76,7 +76,7 @@ public class ManaPool extends ManaConversionMatrix implements Iterable<Mana> {
         floatingMana.put(mana.getColor(), mana);
         if (updateView) {
             owner.updateManaForView();
-            owner.getGame().fireEvent(new GameEventManaPool(owner, EventValueChangeType.Added, mana));
+            owner.getGame().fireEvent(GameEventManaPool.class, () -> new GameEventManaPool(owner, EventValueChangeType.Added, mana));
         }
     }
 
@@ -165,7 +165,7 @@ public class ManaPool extends ManaConversionMatrix implements Iterable<Mana> {
         }
 
         owner.updateManaForView();
-        owner.getGame().fireEvent(new GameEventManaPool(owner, EventValueChangeType.Cleared, null));
+        owner.getGame().fireEvent(GameEventManaPool.class, () -> new GameEventManaPool(owner, EventValueChangeType.Cleared, null));
         return cleared;
     }
 
@@ -186,7 +186,7 @@ public class ManaPool extends ManaConversionMatrix implements Iterable<Mana> {
     public boolean removeMana(final Mana mana, boolean updateView) {
         if (floatingMana.remove(mana.getColor(), mana) && updateView) {
             owner.updateManaForView();
-            owner.getGame().fireEvent(new GameEventManaPool(owner, EventValueChangeType.Removed, mana));
+            owner.getGame().fireEvent(GameEventManaPool.class, () -> new GameEventManaPool(owner, EventValueChangeType.Removed, mana));
             return true;
         }
         return false;
@@ -324,7 +324,7 @@ public class ManaPool extends ManaConversionMatrix implements Iterable<Mana> {
 
         // update battlefield of activating player - to redraw cards used to pay mana as untapped
         Player p = sa.getActivatingPlayer();
-        p.getGame().fireEvent(new GameEventZone(ZoneType.Battlefield, p, EventValueChangeType.ComplexUpdate, null));
+        p.getGame().fireEvent(GameEventZone.class, () -> new GameEventZone(ZoneType.Battlefield, p, EventValueChangeType.ComplexUpdate, null));
     }
 
     public boolean canPayForShardWithColor(ManaCostShard shard, byte color) {
@@ -207,7 +207,7 @@ public class PhaseHandler implements java.io.Serializable {
                 playerTurn.setNumPowerSurgeLands(lands);
             }
             //update tokens
-            game.fireEvent(new GameEventTokenStateUpdate(playerTurn.getTokensInPlay()));
+            game.fireEvent(GameEventTokenStateUpdate.class, () -> new GameEventTokenStateUpdate(playerTurn.getTokensInPlay()));
 
             // Replacement effects
             final Map<AbilityKey, Object> repRunParams = AbilityKey.mapFromAffected(playerTurn);
@@ -647,7 +647,7 @@ public class PhaseHandler implements java.io.Serializable {
 
         game.getTriggerHandler().resetActiveTriggers();
         game.updateCombatForView();
-        game.fireEvent(new GameEventCombatChanged());
+        game.fireEvent(GameEventCombatChanged.class, () -> new GameEventCombatChanged());
     }
 
     private void declareBlockersTurnBasedAction() {
@@ -822,7 +822,7 @@ public class PhaseHandler implements java.io.Serializable {
         }
 
         game.updateCombatForView();
-        game.fireEvent(new GameEventCombatChanged());
+        game.fireEvent(GameEventCombatChanged.class, () -> new GameEventCombatChanged());
     }
 
     public void resetExtra() {
@@ -927,7 +927,7 @@ public class PhaseHandler implements java.io.Serializable {
         }
 
         // fireEvent to update the Details
-        game.fireEvent(new GameEventPlayerStatsChanged(toUpdate, false));
+        game.fireEvent(GameEventPlayerStatsChanged.class, () -> new GameEventPlayerStatsChanged(toUpdate, false));
 
         return result;
     }
@@ -1145,7 +1145,7 @@ public class PhaseHandler implements java.io.Serializable {
         } while (game.getStack().addAllTriggeredAbilitiesToStack()); //loop so long as something was added to stack
 
         if (!allAffectedCards.isEmpty()) {
-            game.fireEvent(new GameEventCardStatsChanged(allAffectedCards));
+            game.fireEvent(GameEventCardStatsChanged.class, () -> new GameEventCardStatsChanged(allAffectedCards));
             allAffectedCards.clear();
         }
         return false;
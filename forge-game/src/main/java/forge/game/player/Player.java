@@ -923,7 +923,7 @@ public class Player extends GameEntity implements Comparable<Player> {
         if (counters.isEmpty()) { return; }
         counters.clear();
         view.updateCounters(this);
-        getGame().fireEvent(new GameEventPlayerCounters(this, null, 0, 0));
+        getGame().fireEvent(GameEventPlayerCounters.class, () -> new GameEventPlayerCounters(this, null, 0, 0));
     }
 
     public void setCounters(final CounterEnumType counterType, final Integer num, boolean fireEvents) {
@@ -935,7 +935,7 @@ public class Player extends GameEntity implements Comparable<Player> {
         setCounters(counterType, num);
         view.updateCounters(this);
         if (fireEvents) {
-            getGame().fireEvent(new GameEventPlayerCounters(this, counterType, old, num));
+            getGame().fireEvent(GameEventPlayerCounters.class, () -> new GameEventPlayerCounters(this, counterType, old, num));
         }
     }
 
@@ -943,7 +943,7 @@ public class Player extends GameEntity implements Comparable<Player> {
     public void setCounters(Map<CounterType, Integer> allCounters) {
         counters = allCounters;
         view.updateCounters(this);
-        getGame().fireEvent(new GameEventPlayerCounters(this, null, 0, 0));
+        getGame().fireEvent(GameEventPlayerCounters.class, () -> new GameEventPlayerCounters(this, null, 0, 0));
     }
 
     // TODO Merge These calls into the primary counter calls
@@ -986,7 +986,7 @@ public class Player extends GameEntity implements Comparable<Player> {
         }
         changedKeywords.put(timestamp, staticId, cks);
         updateKeywords();
-        game.fireEvent(new GameEventPlayerStatsChanged(this, true));
+        game.fireEvent(GameEventPlayerStatsChanged.class, () -> new GameEventPlayerStatsChanged(this, true));
     }
 
     public final KeywordInterface getKeywordForStaticAbility(String kw, final long staticId) {
@@ -1007,7 +1007,7 @@ public class Player extends GameEntity implements Comparable<Player> {
                 getKeywordCard().removeChangedCardTraits(timestamp, staticId);
             }
             updateKeywords();
-            game.fireEvent(new GameEventPlayerStatsChanged(this, true));
+            game.fireEvent(GameEventPlayerStatsChanged.class, () -> new GameEventPlayerStatsChanged(this, true));
         }
         return change;
     }
@@ -1762,13 +1762,13 @@ public class Player extends GameEntity implements Comparable<Player> {
     public final void addMaxLandPlays(long timestamp, int value) {
         adjustLandPlays.put(timestamp, value);
         getView().updateMaxLandPlay(this);
-        getGame().fireEvent(new GameEventPlayerStatsChanged(this, false));
+        getGame().fireEvent(GameEventPlayerStatsChanged.class, () -> new GameEventPlayerStatsChanged(this, false));
     }
     public final boolean removeMaxLandPlays(long timestamp) {
         boolean changed = adjustLandPlays.remove(timestamp) != null;
         if (changed) {
             getView().updateMaxLandPlay(this);
-            getGame().fireEvent(new GameEventPlayerStatsChanged(this, false));
+            getGame().fireEvent(GameEventPlayerStatsChanged.class, () -> new GameEventPlayerStatsChanged(this, false));
         }
         return changed;
     }
@@ -1776,13 +1776,13 @@ public class Player extends GameEntity implements Comparable<Player> {
     public final void addMaxLandPlaysInfinite(long timestamp) {
         adjustLandPlaysInfinite.add(timestamp);
         getView().updateUnlimitedLandPlay(this);
-        getGame().fireEvent(new GameEventPlayerStatsChanged(this, false));
+        getGame().fireEvent(GameEventPlayerStatsChanged.class, () -> new GameEventPlayerStatsChanged(this, false));
     }
     public final boolean removeMaxLandPlaysInfinite(long timestamp) {
         boolean changed = adjustLandPlaysInfinite.remove(timestamp);
         if (changed) {
             getView().updateUnlimitedLandPlay(this);
-            getGame().fireEvent(new GameEventPlayerStatsChanged(this, false));
+            getGame().fireEvent(GameEventPlayerStatsChanged.class, () -> new GameEventPlayerStatsChanged(this, false));
         }
         return changed;
     }
@@ -2679,9 +2679,11 @@ public class Player extends GameEntity implements Comparable<Player> {
     }
     public void addInboundToken(Card c) {
         inboundTokens.add(c);
+        game.getReplacementHandler().cardChanged(c);
     }
     public void removeInboundToken(Card c) {
         inboundTokens.remove(c);
+        game.getReplacementHandler().cardChanged(c);
     }
 
     public void onMulliganned() {
@@ -2737,7 +2739,7 @@ public class Player extends GameEntity implements Comparable<Player> {
     public void incCommanderCast(Card commander) {
         commanderCast.put(commander, getCommanderCast(commander) + 1);
         getView().updateCommanderCast(this, commander);
-        getGame().fireEvent(new GameEventPlayerStatsChanged(this, false));
+        getGame().fireEvent(GameEventPlayerStatsChanged.class, () -> new GameEventPlayerStatsChanged(this, false));
     }
 
     public void resetCommanderStats() {
@@ -3380,12 +3382,12 @@ public class Player extends GameEntity implements Comparable<Player> {
     public void addAdditionalVote(long timestamp, int value) {
         additionalVotes.put(timestamp, value);
         getView().updateAdditionalVote(this);
-        getGame().fireEvent(new GameEventPlayerStatsChanged(this, false));
+        getGame().fireEvent(GameEventPlayerStatsChanged.class, () -> new GameEventPlayerStatsChanged(this, false));
     }
     public void removeAdditionalVote(long timestamp) {
         if (additionalVotes.remove(timestamp) != null) {
             getView().updateAdditionalVote(this);
-            getGame().fireEvent(new GameEventPlayerStatsChanged(this, false));
+            getGame().fireEvent(GameEventPlayerStatsChanged.class, () -> new GameEventPlayerStatsChanged(this, false));
         }
     }
 
@@ -3400,12 +3402,12 @@ public class Player extends GameEntity implements Comparable<Player> {
     public void addAdditionalOptionalVote(long timestamp, int value) {
         additionalOptionalVotes.put(timestamp, value);
         getView().updateOptionalAdditionalVote(this);
-        getGame().fireEvent(new GameEventPlayerStatsChanged(this, false));
+        getGame().fireEvent(GameEventPlayerStatsChanged.class, () -> new GameEventPlayerStatsChanged(this, false));
     }
     public void removeAdditionalOptionalVote(long timestamp) {
         if (additionalOptionalVotes.remove(timestamp) != null) {
             getView().updateOptionalAdditionalVote(this);
-            getGame().fireEvent(new GameEventPlayerStatsChanged(this, false));
+            getGame().fireEvent(GameEventPlayerStatsChanged.class, () -> new GameEventPlayerStatsChanged(this, false));
         }
     }
 
@@ -3437,7 +3439,7 @@ public class Player extends GameEntity implements Comparable<Player> {
         Player control = getGame().getControlVote();
         for (Player pl : getGame().getPlayers()) {
             pl.getView().updateControlVote(pl.equals(control));
-            getGame().fireEvent(new GameEventPlayerStatsChanged(pl, false));
+            getGame().fireEvent(GameEventPlayerStatsChanged.class, () -> new GameEventPlayerStatsChanged(pl, false));
         }
     }
 
@@ -18,13 +18,17 @@
 package forge.game.replacement;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -71,6 +75,17 @@ public class ReplacementHandler {
     // List of all replacement effect candidates for DamageDone event, in APNAP order
     private final List<Map<ReplacementEffect, List<Map<AbilityKey, Object>>>> replaceDamageList = new ArrayList<>();
 
+    // The cards in the game with replacement effects by event, so that looking for the replacement effects of an
+    // event doesn't visit every card in the game. Cards whose replacement effects or zone changed since the last
+    // look-up are only collected, and (re)indexed by the next one.
+    private final Map<ReplacementType, Set<Card>> cardsByEvent = Maps.newEnumMap(ReplacementType.class);
+    private final Map<Card, Set<ReplacementType>> indexedEvents = Maps.newIdentityHashMap();
+    private final Set<Card> changedCards = Sets.newIdentityHashSet();
+
+    // the zones in the order Game.forEachCardInGame visits them for each player, followed by the inbound tokens
+    private static final ZoneType[] ZONE_ORDER = { ZoneType.Graveyard, ZoneType.Hand, ZoneType.Library,
+            ZoneType.Battlefield, ZoneType.Exile, ZoneType.Command };
+
     /**
      * ReplacementHandler.
      * @param gameState
@@ -169,8 +184,21 @@ public class ReplacementHandler {
             }
         }*/
 
+        // the cards in the game whose LKI below may have replacement effects the cards themselves don't have
+        final List<Card> lkiOf = Lists.newArrayList();
+        if (affectedLKI != null && !affectedLKI.getReplacementEffects(event).isEmpty()) {
+            lkiOf.add(affectedCard);
+        }
+        if (event == ReplacementType.Moved && runParams.get(AbilityKey.LastStateBattlefield) != null) {
+            for (final Card lastState : (CardCollectionView) runParams.get(AbilityKey.LastStateBattlefield)) {
+                if (!lastState.getReplacementEffects(event).isEmpty()) {
+                    lkiOf.add(lastState);
+                }
+            }
+        }
+
         // Round up Static replacement effects
-        game.forEachCardInGame(new Visitor<Card>() {
+        forEachCardWithReplacementEffects(event, lkiOf, new Visitor<Card>() {
             @Override
             public boolean visit(Card crd) {
                 Card c = preList.get(crd);
@@ -188,7 +216,7 @@ public class ReplacementHandler {
                     c = lastState;
                 }
 
-                for (final ReplacementEffect replacementEffect : c.getReplacementEffects()) {
+                for (final ReplacementEffect replacementEffect : c.getReplacementEffects(event)) {
                     // Replacement effects that are tied to keywords (e.g. damage prevention effects - if the keyword is removed, the replacement
                     // effect should be inactive)
                     if (replacementEffect.hasParam("TiedToKeyword")) {
@@ -200,7 +228,6 @@ public class ReplacementHandler {
 
                     if (!replacementEffect.hasRun()
                             && (layer == null || replacementEffect.getLayer() == layer)
-                            && event.equals(replacementEffect.getMode())
                             && !possibleReplacers.contains(replacementEffect)
                             && replacementEffect.zonesCheck(cardZone)
                             && replacementEffect.requirementsCheck(game)
@@ -948,12 +975,11 @@ public class ReplacementHandler {
      */
     public int getTotalPreventionShieldAmount(GameEntity o) {
         final List<ReplacementEffect> list = Lists.newArrayList();
-        game.forEachCardInGame(new Visitor<Card>() {
+        forEachCardWithReplacementEffects(ReplacementType.DamageDone, Collections.emptyList(), new Visitor<Card>() {
             @Override
             public boolean visit(Card c) {
-                for (final ReplacementEffect re : c.getReplacementEffects()) {
-                    if (re.getMode() == ReplacementType.DamageDone
-                            && re.getLayer() == ReplacementLayer.Other
+                for (final ReplacementEffect re : c.getReplacementEffects(ReplacementType.DamageDone)) {
+                    if (re.getLayer() == ReplacementLayer.Other
                             && re.hasParam("PreventionEffect")
                             && re.zonesCheck(game.getZoneOf(c))
                             && re.getOverridingAbility() != null
@@ -990,12 +1016,11 @@ public class ReplacementHandler {
      */
     public final boolean isPreventCombatDamageThisTurn() {
         final List<ReplacementEffect> list = Lists.newArrayList();
-        game.forEachCardInGame(new Visitor<Card>() {
+        forEachCardWithReplacementEffects(ReplacementType.DamageDone, Collections.emptyList(), new Visitor<Card>() {
             @Override
             public boolean visit(Card c) {
-                for (final ReplacementEffect re : c.getReplacementEffects()) {
-                    if (re.getMode() == ReplacementType.DamageDone
-                            && re.getLayer() == ReplacementLayer.Other
+                for (final ReplacementEffect re : c.getReplacementEffects(ReplacementType.DamageDone)) {
+                    if (re.getLayer() == ReplacementLayer.Other
                             && re.hasParam("Prevent") && re.getParam("Prevent").equals("True")
                             && re.hasParam("IsCombat") && re.getParam("IsCombat").equals("True")
                             && !re.hasParam("ValidSource") && !re.hasParam("ValidTarget")
@@ -1008,4 +1033,135 @@ public class ReplacementHandler {
         });
         return !list.isEmpty();
     }
+
+    /**
+     * Called whenever a card enters or leaves a zone or its replacement effects may have changed.
+     */
+    public void cardChanged(final Card c) {
+        changedCards.add(c);
+    }
+
+    /**
+     * Visits the cards in the game with replacement effects for the event in the order of
+     * {@link Game#forEachCardInGame}, together with the cards in the game with the same id as one of lkiOf.
+     */
+    private void forEachCardWithReplacementEffects(final ReplacementType event, final Iterable<Card> lkiOf, final Visitor<Card> visitor) {
+        updateIndex();
+
+        final SortedMap<Long, Card> cards = new TreeMap<>();
+        final Set<Card> indexed = cardsByEvent.get(event);
+        if (indexed != null) {
+            final List<Card> gone = Lists.newArrayList();
+            for (final Card c : indexed) {
+                if (!putInGameOrder(cards, c, true)) {
+                    gone.add(c);
+                }
+            }
+            for (final Card c : gone) {
+                unindex(c);
+            }
+        }
+        for (final Card c : lkiOf) {
+            if (putInGameOrder(cards, c, false)) {
+                continue;
+            }
+            for (final Player p : game.getPlayers()) {
+                if (putInGameOrder(cards, c, p.getZone(ZoneType.Battlefield), false)) {
+                    break;
+                }
+            }
+        }
+        visitor.visitAll(cards.values());
+    }
+
+    private boolean putInGameOrder(final SortedMap<Long, Card> cards, final Card c, final boolean sameObject) {
+        if (c.getZone() != null && putInGameOrder(cards, c, c.getZone(), sameObject)) {
+            return true;
+        }
+        return putInGameOrder(cards, c, null, sameObject);
+    }
+
+    /**
+     * Puts the card in the zone that equals c into cards, keyed by its position in the order of
+     * {@link Game#forEachCardInGame}. A null zone stands for the inbound tokens of the owner of c.
+     * @return false if the zone isn't visited by forEachCardInGame, if no such card is in it or, if sameObject
+     * is set, if it is another object than c
+     */
+    private boolean putInGameOrder(final SortedMap<Long, Card> cards, final Card c, final Zone zone, final boolean sameObject) {
+        final List<Player> players = game.getPlayers();
+        final Player player = zone == null ? c.getOwner() : zone.getPlayer();
+        final int playerIndex;
+        final int zoneIndex;
+        if (zone == game.getStackZone()) {
+            playerIndex = players.size();
+            zoneIndex = 0;
+        } else {
+            playerIndex = player == null ? -1 : players.indexOf(player);
+            zoneIndex = zone == null ? ZONE_ORDER.length : ArrayUtils.indexOf(ZONE_ORDER, zone.getZoneType());
+        }
+        if (playerIndex < 0 || zoneIndex < 0) {
+            return false;
+        }
+        final CardCollectionView inZone;
+        if (zone == null) {
+            inZone = player.getInboundTokens();
+        } else if (zone == game.getStackZone() || player.getZone(zone.getZoneType()) == zone) {
+            inZone = zone.getCards(false);
+        } else {
+            return false;
+        }
+        final int position = inZone.indexOf(c);
+        if (position < 0 || (sameObject && inZone.get(position) != c)) {
+            return false;
+        }
+        cards.put(((long) (playerIndex * (ZONE_ORDER.length + 1) + zoneIndex) << 32) | position, inZone.get(position));
+        return true;
+    }
+
+    private void updateIndex() {
+        if (changedCards.isEmpty()) {
+            return;
+        }
+        // getting the replacement effects of a card may change it again, which is seen by the next update
+        final List<Card> changed = Lists.newArrayList(changedCards);
+        changedCards.clear();
+        for (final Card c : changed) {
+            unindex(c);
+            if (!mayBeInGame(c)) {
+                continue;
+            }
+            final Set<ReplacementType> events = c.getReplacementEventTypes();
+            if (events.isEmpty()) {
+                continue;
+            }
+            indexedEvents.put(c, EnumSet.copyOf(events));
+            for (final ReplacementType event : events) {
+                Set<Card> cards = cardsByEvent.get(event);
+                if (cards == null) {
+                    cards = Sets.newIdentityHashSet();
+                    cardsByEvent.put(event, cards);
+                }
+                cards.add(c);
+            }
+        }
+    }
+
+    // Only whether a card with the same id is there, that it's this object is checked when it's looked up.
+    private boolean mayBeInGame(final Card c) {
+        final Zone zone = c.getZone();
+        if (zone != null && zone.contains(c) && (zone == game.getStackZone()
+                || (zone.getPlayer() != null && zone.getPlayer().getZone(zone.getZoneType()) == zone))) {
+            return true;
+        }
+        return c.getOwner() != null && c.getOwner().getInboundTokens().contains(c);
+    }
+
+    private void unindex(final Card c) {
+        final Set<ReplacementType> events = indexedEvents.remove(c);
+        if (events != null) {
+            for (final ReplacementType event : events) {
+                cardsByEvent.get(event).remove(c);
+            }
+        }
+    }
 }
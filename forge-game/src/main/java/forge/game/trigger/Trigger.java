@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -58,16 +59,18 @@ import forge.util.TextUtil;
  * @version $Id$
  */
 public abstract class Trigger extends TriggerReplacementBase {
-    private static int maxId = 0;
-    private static int nextId() { return ++maxId; }
+    private static final AtomicInteger maxId = new AtomicInteger();
+    private static int nextId() { return maxId.incrementAndGet(); }
 
     /**
      * <p>
      * resetIDs.
      * </p>
+     * Only ever raises the ids to the start of the range, as other games may be
+     * running and their triggers must keep unique ids.
      */
     public static void resetIDs() {
-        Trigger.maxId = 50000;
+        Trigger.maxId.accumulateAndGet(50000, Math::max);
     }
 
     /** The ID. */
@@ -48,7 +48,10 @@ import io.sentry.Sentry;
 public class TriggerHandler {
     private final Set<TriggerType> suppressedModes = Collections.synchronizedSet(EnumSet.noneOf(TriggerType.class));
     private boolean allSuppressed = false;
-    private final List<Trigger> activeTriggers = Collections.synchronizedList(new ArrayList<>());
+    // indexed by mode, so that an event only needs to look at the triggers that could possibly fire
+    private final ListMultimap<TriggerType, Trigger> activeTriggers = Multimaps.synchronizedListMultimap(
+            Multimaps.newListMultimap(new EnumMap<>(TriggerType.class), Lists::newArrayList));
+    private final Set<Integer> activeTriggerIds = Collections.synchronizedSet(new HashSet<>());
 
     private final List<Trigger> delayedTriggers = Collections.synchronizedList(new ArrayList<>());
     private final List<Trigger> thisTurnDelayedTriggers = Collections.synchronizedList(new ArrayList<>());
@@ -191,19 +194,38 @@ public class TriggerHandler {
 
     private void buildActiveTrigger() {
         activeTriggers.clear();
+        activeTriggerIds.clear();
         game.forEachCardInGame(new Visitor<Card>() {
             @Override
             public boolean visit(Card c) {
                 for (final Trigger t : c.getTriggers()) {
-                    if (isTriggerActive(t)) {
-                        activeTriggers.add(t);
-                    }
+                    registerOneTrigger(t);
                 }
                 return true;
             }
         });
     }
 
+    private void addActiveTrigger(final Trigger t) {
+        activeTriggers.put(t.getMode(), t);
+        activeTriggerIds.add(t.getId());
+    }
+
+    private void removeActiveTrigger(final Trigger t) {
+        activeTriggers.remove(t.getMode(), t);
+        activeTriggerIds.remove(t.getId());
+    }
+
+    /**
+     * @return a copy of the active triggers of the given mode, which is safe to iterate while running them
+     */
+    private List<Trigger> getActiveTriggersCopy(final TriggerType mode) {
+        synchronized (activeTriggers) {
+            List<Trigger> triggers = activeTriggers.get(mode);
+            return triggers.isEmpty() ? Collections.emptyList() : new ArrayList<>(triggers);
+        }
+    }
+
     public final void resetActiveTriggers() {
         resetActiveTriggers(true);
     }
@@ -218,7 +240,7 @@ public class TriggerHandler {
     public final void clearActiveTriggers(final Card c, Zone zoneFrom) {
         final List<Trigger> toBeRemoved = Lists.newArrayList();
 
-        for (Trigger t : activeTriggers) {
+        for (Trigger t : activeTriggers.values()) {
             // Clear if no ZoneFrom, or not coming from the TriggerZone
             if (c.getId() == t.getHostCard().getId()) {
                 if (!c.getTriggers().contains(t) || !t.zonesCheck(zoneFrom))
@@ -226,7 +248,9 @@ public class TriggerHandler {
             }
         }
 
-        activeTriggers.removeAll(toBeRemoved);
+        for (Trigger t : toBeRemoved) {
+            removeActiveTrigger(t);
+        }
     }
 
     public final void registerActiveTrigger(final Card c, final boolean onlyExtrinsic) {
@@ -252,7 +276,7 @@ public class TriggerHandler {
 
     public final boolean registerOneTrigger(final Trigger t) {
         if (isTriggerActive(t)) {
-            activeTriggers.add(t);
+            addActiveTrigger(t);
             return true;
         }
         return false;
@@ -273,7 +297,7 @@ public class TriggerHandler {
     }
 
     private void runStateTrigger(final Map<AbilityKey, Object> runParams) {
-        for (final Trigger t: Lists.newArrayList(activeTriggers)) {
+        for (final Trigger t : getActiveTriggersCopy(TriggerType.Always)) {
             if (canRunTrigger(t, TriggerType.Always, runParams)) {
                 runSingleTrigger(t, runParams);
             }
@@ -311,7 +335,7 @@ public class TriggerHandler {
         boolean checkStatics = false;
 
         // Static triggers
-        for (final Trigger t : Lists.newArrayList(activeTriggers)) {
+        for (final Trigger t : getActiveTriggersCopy(mode)) {
             if (t.isStatic() && canRunTrigger(t, mode, runParams)) {
                 runSingleTrigger(t, runParams);
 
@@ -349,7 +373,7 @@ public class TriggerHandler {
     private boolean runNonStaticTriggersForPlayer(final Player player, final TriggerWaiting wt, final List<Trigger> delayedTriggersWorkingCopy) {
         final TriggerType mode = wt.getMode();
         final Map<AbilityKey, Object> runParams = wt.getParams();
-        final List<Trigger> triggers = wt.getTriggers() != null ? wt.getTriggers() : activeTriggers;
+        final List<Trigger> triggers = wt.getTriggers() != null ? wt.getTriggers() : activeTriggers.get(mode);
 
         boolean checkStatics = false;
 
@@ -398,15 +422,8 @@ public class TriggerHandler {
             return false; // Host card isn't where it needs to be.
         }
 
-        for (Trigger t : this.activeTriggers) {
-            // If an ID that matches this ID is already active, don't add it
-            if (regtrig.getId() == t.getId()) {
-                return false;
-            }
-        }
-
-        // Check if a trigger with the same ID is already in activeTriggers
-        return true;
+        // If an ID that matches this ID is already active, don't add it
+        return !activeTriggerIds.contains(regtrig.getId());
     }
 
     private boolean canRunTrigger(final Trigger regtrig, final TriggerType mode, final Map<AbilityKey, Object> runParams) {
@@ -586,7 +603,7 @@ public class TriggerHandler {
 
     public List<Trigger> getActiveTrigger(final TriggerType mode, final Map<AbilityKey, Object> runParams) {
         List<Trigger> trigger = Lists.newArrayList();
-        for (final Trigger t : activeTriggers) {
+        for (final Trigger t : activeTriggers.get(mode)) {
             if (canRunTrigger(t, mode, runParams)) {
                 trigger.add(t);
             }
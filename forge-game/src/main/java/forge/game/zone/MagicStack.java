@@ -406,7 +406,7 @@ public class MagicStack /* extends MyObservable */ implements Iterable<SpellAbil
             game.getTriggerHandler().runTrigger(TriggerType.BecomesTargetOnce, runParams, false);
         }
 
-        game.fireEvent(new GameEventZone(ZoneType.Stack, sp.getActivatingPlayer(), EventValueChangeType.Added, source));
+        game.fireEvent(GameEventZone.class, () -> new GameEventZone(ZoneType.Stack, sp.getActivatingPlayer(), EventValueChangeType.Added, source));
 
         if (sp.getActivatingPlayer() != null && !game.getCardsPlayerCanActivateInStack().isEmpty()) {
             // This is a bit of a hack that forces the update of externally activatable cards in flashback zone (e.g. Lightning Storm).
@@ -510,13 +510,13 @@ public class MagicStack /* extends MyObservable */ implements Iterable<SpellAbil
                 SpellAbility first = source.getFirstSpellAbility();
                 // need to set activating player
                 first.setActivatingPlayer(sa.getActivatingPlayer());
-                game.fireEvent(new GameEventCardStatsChanged(source));
+                game.fireEvent(GameEventCardStatsChanged.class, () -> new GameEventCardStatsChanged(source));
                 AbilityUtils.resolve(first);
             } else if (sa.isMutate()) {
                 SpellAbility first = source.getFirstSpellAbility();
                 // need to set activating player
                 first.setActivatingPlayer(sa.getActivatingPlayer());
-                game.fireEvent(new GameEventCardStatsChanged(source));
+                game.fireEvent(GameEventCardStatsChanged.class, () -> new GameEventCardStatsChanged(source));
                 AbilityUtils.resolve(first);
             } else {
                 // TODO: Spell fizzles, what's the best way to alert player?
@@ -130,9 +130,10 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
                 cardList.add(index.intValue(), c);
             }
         }
+        game.getReplacementHandler().cardChanged(c);
         onChanged();
 
-        game.fireEvent(new GameEventZone(zoneType, getPlayer(), EventValueChangeType.Added, c));
+        game.fireEvent(GameEventZone.class, () -> new GameEventZone(zoneType, getPlayer(), EventValueChangeType.Added, c));
    }
 
     public final boolean contains(final Card c) {
@@ -145,8 +146,9 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
 
     public void remove(final Card c) {
         if (cardList.remove(c)) {
+            game.getReplacementHandler().cardChanged(c);
             onChanged();
-            game.fireEvent(new GameEventZone(zoneType, getPlayer(), EventValueChangeType.Removed, c));
+            game.fireEvent(GameEventZone.class, () -> new GameEventZone(zoneType, getPlayer(), EventValueChangeType.Removed, c));
         }
     }
 
@@ -155,9 +157,10 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
         for (Card c : cards) {
             c.setZone(this);
             cardList.add(c);
+            game.getReplacementHandler().cardChanged(c);
         }
         onChanged();
-        game.fireEvent(new GameEventZone(zoneType, getPlayer(), EventValueChangeType.ComplexUpdate, null));
+        game.fireEvent(GameEventZone.class, () -> new GameEventZone(zoneType, getPlayer(), EventValueChangeType.ComplexUpdate, null));
     }
 
     public final void removeAllCards(boolean forcedWithoutEvents) {
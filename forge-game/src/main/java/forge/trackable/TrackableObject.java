@@ -18,6 +18,8 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
     private final Map<TrackableProperty, Object> props;
     private final Set<TrackableProperty> changedProps;
     private boolean copyingProps;
+    // number of property changes of this object so far, including the ones delayed by a freeze
+    private transient int changeCount;
 
     protected TrackableObject(final int id0, final Tracker tracker) {
         id = id0;
@@ -39,6 +41,10 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
         return tracker;
     }
 
+    public final int getChangeCount() {
+        return changeCount;
+    }
+
     @Override
     public int hashCode() {
         return id;
@@ -73,6 +79,7 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
                 respectsFreeze = (props.get(key) != null);
             }
             if (respectsFreeze) {
+                changeCount++;
                 tracker.addDelayedPropChange(this, key, value);
                 return;
             }
@@ -81,11 +88,20 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
             if (props.remove(key) != null) {
                 changedProps.add(key);
                 key.updateObjLookup(tracker, value);
+                countChange();
             }
         }
         else if (!value.equals(props.put(key, value))) {
             changedProps.add(key);
             key.updateObjLookup(tracker, value);
+            countChange();
+        }
+    }
+
+    private void countChange() {
+        changeCount++;
+        if (tracker != null) {
+            tracker.countChange();
         }
     }
 
@@ -111,6 +127,7 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
     protected final void flagAsChanged(final TrackableProperty key) {
         changedProps.add(key);
         key.updateObjLookup(tracker, props.get(key));
+        countChange();
     }
 
     public final void serialize(final TrackableSerializer ts) {
@@ -10,6 +10,8 @@ import forge.trackable.TrackableTypes.TrackableType;
 
 public class Tracker {
     private int freezeCounter = 0;
+    // number of property changes so far, which lets the game tell whether anything happened in between
+    private long changeCount = 0;
     private final List<DelayedPropChange> delayedPropChanges = Lists.newArrayList();
 
     private final Table<TrackableType<?>, Integer, Object> objLookups = HashBasedTable.create();
@@ -18,6 +20,14 @@ public class Tracker {
         return freezeCounter > 0;
     }
 
+    public final long getChangeCount() {
+        return changeCount;
+    }
+
+    final void countChange() {
+        changeCount++;
+    }
+
     public void freeze() {
         freezeCounter++;
     }
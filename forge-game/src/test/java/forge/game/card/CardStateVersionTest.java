@@ -0,0 +1,48 @@
+package forge.game.card;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import forge.card.CardStateName;
+import forge.util.Localizer;
+
+public class CardStateVersionTest {
+
+    @BeforeClass
+    public void setup() {
+        Localizer.getInstance().initialize("en-US", "../forge-gui/res/languages/");
+    }
+
+    @Test
+    public void testVersionGrowsWithEveryChange() {
+        Card card = new Card(1, null);
+        long version = card.getStateVersion();
+        AssertJUnit.assertEquals(version, card.getStateVersion());
+
+        // tracked by the view
+        card.setTapped(true);
+        AssertJUnit.assertTrue(card.getStateVersion() > version);
+        version = card.getStateVersion();
+
+        // not tracked by the view
+        card.setSVar("X", "1");
+        AssertJUnit.assertTrue(card.getStateVersion() > version);
+        version = card.getStateVersion();
+        card.addRemembered("something");
+        AssertJUnit.assertTrue(card.getStateVersion() > version);
+        version = card.getStateVersion();
+        card.setTimestamp(5);
+        AssertJUnit.assertTrue(card.getStateVersion() > version);
+    }
+
+    @Test
+    public void testVersionDoesNotGoDownWhenAStateIsRemoved() {
+        Card card = new Card(1, null);
+        card.addAlternateState(CardStateName.Transformed, false);
+        card.getState(CardStateName.Transformed).setBasePower(3);
+        long version = card.getStateVersion();
+        card.clearStates(CardStateName.Transformed, false);
+        AssertJUnit.assertTrue(card.getStateVersion() > version);
+    }
+}
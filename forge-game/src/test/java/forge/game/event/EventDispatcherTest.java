@@ -0,0 +1,97 @@
+package forge.game.event;
+
+import java.util.List;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.eventbus.Subscribe;
+
+public class EventDispatcherTest {
+
+    public static class Recorder {
+        private final EventDispatcher dispatcher;
+        private final List<Object> received = Lists.newArrayList();
+
+        Recorder(EventDispatcher dispatcher) {
+            this.dispatcher = dispatcher;
+        }
+
+        @Subscribe
+        public void receiveNumber(Number n) {
+            received.add(n);
+            if (n.intValue() == 1) {
+                // delivered once this event has been delivered to everyone
+                dispatcher.post("after 1");
+            }
+        }
+
+        @Subscribe
+        public void receiveString(String s) {
+            received.add(s);
+        }
+    }
+
+    public static class Failing {
+        @Subscribe
+        public void receive(Integer i) {
+            throw new IllegalStateException("expected");
+        }
+    }
+
+    public static class CombatVisitor extends IGameEventVisitor.Base<Void> {
+        private int visits;
+
+        @Subscribe
+        public void receiveGameEvent(GameEvent ev) {
+            ev.visit(this);
+        }
+
+        @Override
+        public Void visit(GameEventCombatChanged event) {
+            visits++;
+            return null;
+        }
+    }
+
+    @Test
+    public void testDeliveryOrder() {
+        EventDispatcher dispatcher = new EventDispatcher();
+        Recorder first = new Recorder(dispatcher);
+        dispatcher.register(first);
+        dispatcher.register(new Failing());
+        Recorder second = new Recorder(dispatcher);
+        dispatcher.register(second);
+
+        dispatcher.post(1);
+        dispatcher.post(2L);
+
+        // the failing handler doesn't stop the others, and subtypes are delivered to handlers of their supertypes
+        AssertJUnit.assertEquals(Lists.newArrayList(1, "after 1", "after 1", 2L), first.received);
+        AssertJUnit.assertEquals(Lists.newArrayList(1, "after 1", "after 1", 2L), second.received);
+    }
+
+    @Test
+    public void testHasHandlers() {
+        EventDispatcher dispatcher = new EventDispatcher();
+        AssertJUnit.assertFalse(dispatcher.hasHandlers(String.class));
+        dispatcher.register(new Recorder(dispatcher));
+        AssertJUnit.assertTrue(dispatcher.hasHandlers(String.class));
+        AssertJUnit.assertTrue(dispatcher.hasHandlers(Integer.class));
+        AssertJUnit.assertFalse(dispatcher.hasHandlers(GameEventCombatChanged.class));
+    }
+
+    @Test
+    public void testVisitorOnlyReceivesVisitedEvents() {
+        EventDispatcher dispatcher = new EventDispatcher();
+        CombatVisitor visitor = new CombatVisitor();
+        dispatcher.register(visitor);
+
+        AssertJUnit.assertTrue(dispatcher.hasHandlers(GameEventCombatChanged.class));
+        AssertJUnit.assertFalse(dispatcher.hasHandlers(GameEventGameRestarted.class));
+        dispatcher.post(new GameEventCombatChanged());
+        dispatcher.post(new GameEventGameRestarted(null));
+        AssertJUnit.assertEquals(1, visitor.visits);
+    }
+}
@@ -0,0 +1,84 @@
+package forge.view;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The result of a simulated game, as stored in the results file of a simulation.
+ * One game per line, tab separated, lines starting with # are ignored.
+ */
+final class GameRecord {
+    static final String HEADER = "# game\tresult\twinner\tturns\tms";
+
+    final int game;
+    /** Name of the winning player, null for a draw. */
+    final String winner;
+    final int turns;
+    final long time;
+    /** What was printed for the game, not stored in the results file. */
+    final String report;
+
+    GameRecord(int game, String winner, int turns, long time, String report) {
+        this.game = game;
+        this.winner = winner;
+        this.turns = turns;
+        this.time = time;
+        this.report = report;
+    }
+
+    String toLine() {
+        return game + "\t" + (winner == null ? "draw" : "win") + "\t" + (winner == null ? "" : winner) + "\t" + turns + "\t" + time;
+    }
+
+    static GameRecord fromLine(String line) {
+        if (line.isEmpty() || line.startsWith("#")) {
+            return null;
+        }
+        String[] fields = line.split("\t", -1);
+        if (fields.length < 5) {
+            // an interrupted run may leave an incomplete last line
+            return null;
+        }
+        try {
+            String winner = "win".equals(fields[1]) ? fields[2] : null;
+            return new GameRecord(Integer.parseInt(fields[0]), winner, Integer.parseInt(fields[3]), Long.parseLong(fields[4]), "");
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads every complete record of a results file, keyed by game number.
+     */
+    static Map<Integer, GameRecord> readAll(File file) {
+        Map<Integer, GameRecord> records = new HashMap<>();
+        try {
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                GameRecord record = fromLine(line);
+                if (record != null) {
+                    records.put(record.game, record);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not read results file " + file.getPath() + ": " + e.getMessage());
+        }
+        return records;
+    }
+
+    static boolean endsWithNewline(File file) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            if (raf.length() == 0) {
+                return true;
+            }
+            raf.seek(raf.length() - 1);
+            return raf.read() == '\n';
+        } catch (IOException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package forge.view;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import forge.GoldfishBatch;
+import forge.GoldfishStatistics;
+import forge.deck.Deck;
+import forge.game.GameRules;
+import forge.game.GameType;
+import forge.model.FModel;
+import forge.util.Lang;
+import forge.util.TextUtil;
+import forge.util.WordUtil;
+
+/**
+ * Headless goldfish batches: plays a deck against an opponent that does nothing
+ * on several threads and reports how fast it kills.
+ */
+public class SimulateGoldfish {
+    public static void simulate(String[] args) {
+        FModel.initialize(null, null);
+
+        System.out.println("Goldfish mode");
+        final Map<String, List<String>> params = SimulateMatch.parseArguments(args);
+        if (params == null || !params.containsKey("d") || params.get("d").isEmpty()) {
+            argumentHelp();
+            return;
+        }
+
+        int nGames = 1;
+        if (params.containsKey("n")) {
+            nGames = Integer.parseInt(params.get("n").get(0));
+        }
+
+        int nThreads = Runtime.getRuntime().availableProcessors();
+        if (params.containsKey("j")) {
+            nThreads = Integer.parseInt(params.get("j").get(0));
+        }
+
+        GameType type = GameType.Constructed;
+        if (params.containsKey("f")) {
+            type = GameType.valueOf(WordUtil.capitalize(params.get("f").get(0)));
+        }
+
+        GameRules rules = new GameRules(type);
+        rules.setAppliedVariants(EnumSet.of(type));
+
+        String deckName = params.get("d").get(0);
+        Deck deck = SimulateMatch.deckFromCommandLineParameter(deckName, type);
+        if (deck == null) {
+            System.out.println(TextUtil.concatNoSpace("Could not load deck - ", deckName, ", goldfishing cannot start"));
+            return;
+        }
+
+        GoldfishBatch batch = new GoldfishBatch(deck, rules);
+        batch.setThreads(nThreads);
+        if (params.containsKey("a")) {
+            batch.setAiProfile(params.get("a").get(0));
+        }
+        if (params.containsKey("v")) {
+            Deck opponent = SimulateMatch.deckFromCommandLineParameter(params.get("v").get(0), type);
+            if (opponent == null) {
+                System.out.println(TextUtil.concatNoSpace("Could not load deck - ", params.get("v").get(0), ", goldfishing cannot start"));
+                return;
+            }
+            batch.setOpponentDeck(opponent);
+        }
+        if (!params.containsKey("q")) {
+            batch.setProgressListener((finished, total, result) -> {
+                if (finished % 100 == 0 || finished == total) {
+                    System.out.println(TextUtil.concatNoSpace("Finished ", String.valueOf(finished), " of ", String.valueOf(total), " games"));
+                }
+            });
+        }
+
+        System.out.println(TextUtil.concatNoSpace("Goldfishing ", deck.getName(), " - ", Lang.nounWithNumeral(nGames, "game"),
+                " of ", type.toString(), " on ", Lang.nounWithNumeral(nThreads, "thread")));
+
+        GoldfishStatistics statistics;
+        try {
+            statistics = batch.run(nGames);
+        } catch (InterruptedException e) {
+            System.out.println("Goldfishing was interrupted");
+            return;
+        }
+
+        System.out.println(statistics);
+        if (params.containsKey("o")) {
+            File output = new File(params.get("o").get(0));
+            try (Writer out = new FileWriter(output)) {
+                if (output.getName().toLowerCase().endsWith(".json")) {
+                    statistics.writeJson(out);
+                } else {
+                    statistics.writeCsv(out);
+                }
+                System.out.println("Results written to " + output.getAbsolutePath());
+            } catch (IOException e) {
+                System.err.println("Could not write results to " + output.getAbsolutePath() + ": " + e.getMessage());
+            }
+        }
+        System.out.flush();
+    }
+
+    private static void argumentHelp() {
+        System.out.println("Syntax: forge.exe goldfish -d <deck[.dck]> -n [N] -j [J] -o [O] -v [V] -a [A] -f [F] -q");
+        System.out.println("\tgoldfish - stands for goldfish mode");
+        System.out.println("\tdeck - constructed deck name or filename (has to be quoted when contains multiple words)");
+        System.out.println("\tN - number of games, defaults to 1");
+        System.out.println("\tJ - number of games played at the same time, defaults to the number of cores");
+        System.out.println("\tO - file to write the results to, as JSON if it ends with .json, as CSV otherwise");
+        System.out.println("\tV - deck of the opponent, defaults to basic lands only");
+        System.out.println("\tA - AI profile of the goldfisher");
+        System.out.println("\tF - format of games, defaults to constructed");
+        System.out.println("\tq - Quiet flag. Do not report progress.");
+    }
+}
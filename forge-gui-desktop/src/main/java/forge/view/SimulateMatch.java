@@ -2,18 +2,31 @@ package forge.view;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.lang3.time.StopWatch;
 
 import forge.LobbyPlayer;
+import forge.ai.LobbyPlayerAi;
 import forge.deck.Deck;
 import forge.deck.DeckGroup;
 import forge.deck.io.DeckSerializer;
@@ -49,28 +62,10 @@ public class SimulateMatch {
             return;
         }
 
-        final Map<String, List<String>> params = new HashMap<>();
-        List<String> options = null;
-
-        for (int i = 1; i < args.length; i++) {
-            // "sim" is in the 0th slot
-            final String a = args[i];
-
-            if (a.charAt(0) == '-') {
-                if (a.length() < 2) {
-                    System.err.println("Error at argument " + a);
-                    argumentHelp();
-                    return;
-                }
-
-                options = new ArrayList<>();
-                params.put(a.substring(1), options);
-            } else if (options != null) {
-                options.add(a);
-            } else {
-                System.err.println("Illegal parameter usage");
-                return;
-            }
+        final Map<String, List<String>> params = parseArguments(args);
+        if (params == null) {
+            argumentHelp();
+            return;
         }
 
         int nGames = 1;
@@ -99,13 +94,25 @@ public class SimulateMatch {
             rules.setGamesPerMatch(matchSize);
         }
 
+        int nThreads = 1;
+        if (params.containsKey("j")) {
+            // Number of games or tournament matches played at the same time
+            nThreads = Math.max(1, Integer.parseInt(params.get("j").get(0)));
+        }
+
         if (params.containsKey("t")) {
-            simulateTournament(params, rules, outputGamelog);
+            simulateTournament(params, rules, outputGamelog, nThreads);
             System.out.flush();
             return;
         }
 
-        List<RegisteredPlayer> pp = new ArrayList<>();
+        File resultsFile = null;
+        if (params.containsKey("r")) {
+            resultsFile = new File(params.get("r").get(0));
+        }
+
+        List<Deck> decks = new ArrayList<>();
+        List<LobbyPlayer> players = new ArrayList<>();
         StringBuilder sb = new StringBuilder();
 
         int i = 1;
@@ -123,15 +130,8 @@ public class SimulateMatch {
                 String name = TextUtil.concatNoSpace("Ai(", String.valueOf(i), ")-", d.getName());
                 sb.append(name);
 
-                RegisteredPlayer rp;
-
-                if (type.equals(GameType.Commander)) {
-                    rp = RegisteredPlayer.forCommander(d);
-                } else {
-                    rp = new RegisteredPlayer(d);
-                }
-                rp.setPlayer(GamePlayerUtil.createAiPlayer(name, i - 1));
-                pp.add(rp);
+                decks.add(d);
+                players.add(GamePlayerUtil.createAiPlayer(name, i - 1));
                 i++;
             }
         }
@@ -140,9 +140,8 @@ public class SimulateMatch {
 
         System.out.println(sb.toString());
 
-        Match mc = new Match(rules, pp, "Test");
-
         if (matchSize != 0) {
+            Match mc = new Match(rules, registerPlayers(decks, players, type), "Test");
             int iGame = 0;
             while (!mc.isMatchOver()) {
                 // play games until the match ends
@@ -150,16 +149,160 @@ public class SimulateMatch {
                 iGame++;
             }
         } else {
-            for (int iGame = 0; iGame < nGames; iGame++) {
-                simulateSingleMatch(mc, iGame, outputGamelog);
-            }
+            simulateGames(decks, players, rules, nGames, nThreads, outputGamelog, resultsFile);
         }
 
         System.out.flush();
     }
 
+    private static List<RegisteredPlayer> registerPlayers(List<Deck> decks, List<LobbyPlayer> players, GameType type) {
+        List<RegisteredPlayer> pp = new ArrayList<>();
+        for (int i = 0; i < decks.size(); i++) {
+            RegisteredPlayer rp;
+
+            if (type.equals(GameType.Commander)) {
+                rp = RegisteredPlayer.forCommander(decks.get(i));
+            } else {
+                rp = new RegisteredPlayer(decks.get(i));
+            }
+            rp.setPlayer(players.get(i));
+            pp.add(rp);
+        }
+        return pp;
+    }
+
+    /**
+     * Plays independent games, each in a match of its own, on a pool of worker threads.
+     * Each finished game is appended to the results file, games already found in it are not played again.
+     */
+    private static void simulateGames(final List<Deck> decks, final List<LobbyPlayer> players, final GameRules rules,
+            int nGames, int nThreads, final boolean outputGamelog, final File resultsFile) {
+        final Map<Integer, GameRecord> records = new TreeMap<>();
+        if (resultsFile != null && resultsFile.exists()) {
+            records.putAll(GameRecord.readAll(resultsFile));
+            System.out.println(TextUtil.concatNoSpace("Resuming from ", resultsFile.getPath(), " - ",
+                    Lang.nounWithNumeral(records.size(), "game"), " already played"));
+        }
+
+        Writer out = null;
+        try {
+            if (resultsFile != null) {
+                boolean newFile = !resultsFile.exists() || resultsFile.length() == 0;
+                boolean endsWithNewline = newFile || GameRecord.endsWithNewline(resultsFile);
+                out = Files.newBufferedWriter(resultsFile.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (newFile) {
+                    out.write(GameRecord.HEADER);
+                    out.write('\n');
+                } else if (!endsWithNewline) {
+                    // do not glue the next record to the incomplete one left by an interrupted run
+                    out.write('\n');
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not open results file " + resultsFile.getPath() + ": " + e.getMessage());
+            return;
+        }
+
+        final Writer results = out;
+        final Object lock = new Object();
+        // decided before any game starts, the workers add to the records
+        final Set<Integer> alreadyPlayed = new HashSet<>(records.keySet());
+        ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+        for (int iGame = 0; iGame < nGames; iGame++) {
+            if (alreadyPlayed.contains(iGame + 1)) {
+                continue;
+            }
+            final int game = iGame;
+            // each game gets players of its own, the AI ones keep state between games
+            final List<LobbyPlayer> gamePlayers = new ArrayList<>();
+            for (LobbyPlayer p : players) {
+                gamePlayers.add(p instanceof LobbyPlayerAi ? ((LobbyPlayerAi) p).copy() : p);
+            }
+            pool.execute(() -> {
+                Match mc = new Match(rules, registerPlayers(decks, gamePlayers, rules.getGameType()), "Test");
+                GameRecord record = playGame(mc, game, outputGamelog);
+                synchronized (lock) {
+                    System.out.print(record.report);
+                    records.put(record.game, record);
+                    if (results != null) {
+                        try {
+                            results.write(record.toLine());
+                            results.write('\n');
+                            results.flush();
+                        } catch (IOException e) {
+                            System.err.println("Could not write result of game " + record.game + ": " + e.getMessage());
+                        }
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            if (results != null) {
+                try {
+                    results.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        synchronized (lock) {
+            Map<String, Integer> wins = new TreeMap<>();
+            int draws = 0;
+            for (GameRecord record : records.values()) {
+                if (record.winner == null) {
+                    draws++;
+                } else {
+                    wins.merge(record.winner, 1, Integer::sum);
+                }
+            }
+            System.out.println(TextUtil.concatNoSpace("\nSimulation Result: ", Lang.nounWithNumeral(records.size(), "game"), " played"));
+            for (Map.Entry<String, Integer> e : wins.entrySet()) {
+                System.out.println(TextUtil.concatNoSpace(e.getKey(), " won ", Lang.nounWithNumeral(e.getValue(), "game")));
+            }
+            System.out.println(TextUtil.concatNoSpace(Lang.nounWithNumeral(draws, "game"), " ended in a draw"));
+        }
+    }
+
+    /**
+     * Groups the command line arguments by the flag preceding them.
+     * @return the arguments of each flag, or null if they could not be parsed
+     */
+    static Map<String, List<String>> parseArguments(String[] args) {
+        final Map<String, List<String>> params = new HashMap<>();
+        List<String> options = null;
+
+        for (int i = 1; i < args.length; i++) {
+            // the mode is in the 0th slot
+            final String a = args[i];
+
+            if (a.charAt(0) == '-') {
+                if (a.length() < 2) {
+                    System.err.println("Error at argument " + a);
+                    return null;
+                }
+
+                options = new ArrayList<>();
+                params.put(a.substring(1), options);
+            } else if (options != null) {
+                options.add(a);
+            } else {
+                System.err.println("Illegal parameter usage");
+                return null;
+            }
+        }
+        return params;
+    }
+
     private static void argumentHelp() {
-        System.out.println("Syntax: forge.exe sim -d <deck1[.dck]> ... <deckX[.dck]> -D [D] -n [N] -m [M] -t [T] -p [P] -f [F] -q");
+        System.out.println("Syntax: forge.exe sim -d <deck1[.dck]> ... <deckX[.dck]> -D [D] -n [N] -m [M] -t [T] -p [P] -f [F] -j [J] -r [R] -q");
         System.out.println("\tsim - stands for simulation mode");
         System.out.println("\tdeck1 (or deck2,...,X) - constructed deck name or filename (has to be quoted when contains multiple words)");
         System.out.println("\tdeck is treated as file if it ends with a dot followed by three numbers or letters");
@@ -169,14 +312,22 @@ public class SimulateMatch {
         System.out.println("\tT - Type of tournament to run with all provided decks (Bracket, RoundRobin, Swiss)");
         System.out.println("\tP - Amount of players per match (used only with Tournaments, defaults to 2)");
         System.out.println("\tF - format of games, defaults to constructed");
+        System.out.println("\tJ - number of games (or tournament matches) played at the same time, defaults to 1 (Ignored with match setting)");
+        System.out.println("\tR - file to append the result of every game to, games already in it are not played again");
         System.out.println("\tq - Quiet flag. Output just the game result, not the entire game log.");
     }
 
     public static void simulateSingleMatch(final Match mc, int iGame, boolean outputGamelog) {
+        System.out.print(playGame(mc, iGame, outputGamelog).report);
+    }
+
+    private static GameRecord playGame(final Match mc, int iGame, boolean outputGamelog) {
         final StopWatch sw = new StopWatch();
         sw.start();
 
         final Game g1 = mc.createGame();
+        // the report is printed as a whole once the game is over, as other games may be played at the same time
+        final StringBuilder sb = new StringBuilder();
         // will run match in the same thread
         try {
             TimeLimitedCodeBlock.runWithTimeout(() -> {
@@ -184,7 +335,7 @@ public class SimulateMatch {
                 sw.stop();
             }, 120, TimeUnit.SECONDS);
         } catch (TimeoutException e) {
-            System.out.println("Stopping slow match as draw");
+            sb.append("Stopping slow match as draw").append(System.lineSeparator());
         } catch (Exception | StackOverflowError e) {
             e.printStackTrace();
         } finally {
@@ -204,18 +355,21 @@ public class SimulateMatch {
         }
         Collections.reverse(log);
         for (GameLogEntry l : log) {
-            System.out.println(l);
+            sb.append(l).append(System.lineSeparator());
         }
 
+        String winner = null;
         // If both players life totals to 0 in a single turn, the game should end in a draw
         if (g1.getOutcome().isDraw()) {
-            System.out.printf("\nGame Result: Game %d ended in a Draw! Took %d ms.%n", 1 + iGame, sw.getTime());
+            sb.append(String.format("\nGame Result: Game %d ended in a Draw! Took %d ms.%n", 1 + iGame, sw.getTime()));
         } else {
-            System.out.printf("\nGame Result: Game %d ended in %d ms. %s has won!\n%n", 1 + iGame, sw.getTime(), g1.getOutcome().getWinningLobbyPlayer().getName());
+            winner = g1.getOutcome().getWinningLobbyPlayer().getName();
+            sb.append(String.format("\nGame Result: Game %d ended in %d ms. %s has won!\n%n", 1 + iGame, sw.getTime(), winner));
         }
+        return new GameRecord(1 + iGame, winner, g1.getOutcome().getLastTurnNumber(), sw.getTime(), sb.toString());
     }
 
-    private static void simulateTournament(Map<String, List<String>> params, GameRules rules, boolean outputGamelog) {
+    private static void simulateTournament(Map<String, List<String>> params, final GameRules rules, final boolean outputGamelog, int nThreads) {
         String tournament = params.get("t").get(0);
         AbstractTournament tourney = null;
         int matchPlayers = params.containsKey("p") ? Integer.parseInt(params.get("p").get(0)) : 2;
@@ -281,78 +435,139 @@ public class SimulateMatch {
 
         tourney.initializeTournament();
 
-        String lastWinner = "";
+        ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+        TournamentSummary summary = new TournamentSummary();
         int curRound = 0;
         System.out.println(TextUtil.concatNoSpace("Starting a ", tournament, " tournament with ",
                 String.valueOf(numPlayers), " players over ",
                 String.valueOf(tourney.getTotalRounds()), " rounds"));
-        while (!tourney.isTournamentOver()) {
-            if (tourney.getActiveRound() != curRound) {
-                if (curRound != 0) {
-                    System.out.println(TextUtil.concatNoSpace("End Round - ", String.valueOf(curRound)));
+        try {
+            while (!tourney.isTournamentOver()) {
+                if (tourney.getActiveRound() != curRound) {
+                    if (curRound != 0) {
+                        System.out.println(TextUtil.concatNoSpace("End Round - ", String.valueOf(curRound)));
+                    }
+                    curRound = tourney.getActiveRound();
+                    System.out.println();
+                    System.out.println(TextUtil.concatNoSpace("Round ", String.valueOf(curRound), " Pairings:"));
+
+                    for (TournamentPairing pairing : tourney.getActivePairings()) {
+                        System.out.println(pairing.outputHeader());
+                    }
+                    System.out.println();
+                }
+
+                // pairings of a round are independent, play them all at once and report them in pairing order
+                final int round = tourney.getActiveRound();
+                List<TournamentPairing> pairings = new ArrayList<>(tourney.getActivePairings());
+                List<Future<PairingResult>> results = new ArrayList<>();
+                for (final TournamentPairing pairing : pairings) {
+                    results.add(pool.submit(() -> playPairing(round, pairing, deckGroup, rules, outputGamelog)));
                 }
-                curRound = tourney.getActiveRound();
-                System.out.println();
-                System.out.println(TextUtil.concatNoSpace("Round ", String.valueOf(curRound), " Pairings:"));
 
-                for (TournamentPairing pairing : tourney.getActivePairings()) {
-                    System.out.println(pairing.outputHeader());
+                for (int i = 0; i < pairings.size(); i++) {
+                    TournamentPairing pairing = pairings.get(i);
+                    PairingResult result;
+                    try {
+                        result = results.get(i).get();
+                    } catch (ExecutionException e) {
+                        // the pairing has no result to report, and reporting it without a winner would count it as lost by all
+                        e.getCause().printStackTrace();
+                        System.err.println("Pairing " + pairing.outputHeader() + " failed, abandoning the tournament");
+                        return;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    System.out.print(result.output);
+                    if (result.match != null) {
+                        summary.addMatch(pairing, result.match);
+                    }
+                    tourney.reportMatchCompletion(pairing);
                 }
-                System.out.println();
             }
+        } finally {
+            pool.shutdownNow();
+        }
+        tourney.outputTournamentResults();
+        System.out.println();
+        summary.output(tourney.getAllPlayers());
+    }
 
-            TournamentPairing pairing = tourney.getNextPairing();
-            List<RegisteredPlayer> regPlayers = AbstractTournament.registerTournamentPlayers(pairing, deckGroup);
+    private static final class PairingResult {
+        final String output;
+        final Match match;
 
-            StringBuilder sb = new StringBuilder();
-            sb.append("Round ").append(tourney.getActiveRound()).append(" - ");
-            sb.append(pairing.outputHeader());
-            System.out.println(sb.toString());
+        PairingResult(String output, Match match) {
+            this.output = output;
+            this.match = match;
+        }
+    }
 
-            if (!pairing.isBye()) {
-                Match mc = new Match(rules, regPlayers, "TourneyMatch");
+    private static PairingResult playPairing(int round, TournamentPairing pairing, DeckGroup deckGroup, GameRules rules, boolean outputGamelog) {
+        List<RegisteredPlayer> regPlayers = AbstractTournament.registerTournamentPlayers(pairing, deckGroup);
 
-                int exceptions = 0;
-                int iGame = 0;
-                while (!mc.isMatchOver()) {
-                    // play games until the match ends
-                    try {
-                        simulateSingleMatch(mc, iGame, outputGamelog);
-                        iGame++;
-                    } catch (Exception e) {
-                        exceptions++;
-                        System.out.println(e.toString());
-                        if (exceptions > 5) {
-                            System.out.println("Exceeded number of exceptions thrown. Abandoning match...");
-                            break;
-                        } else {
-                            System.out.println("Game threw exception. Abandoning game and continuing...");
-                        }
-                    }
+        StringBuilder sb = new StringBuilder();
+        sb.append("Round ").append(round).append(" - ");
+        sb.append(pairing.outputHeader()).append(System.lineSeparator());
 
-                }
-                LobbyPlayer winner = mc.getWinner().getPlayer();
-                for (TournamentPlayer tp : pairing.getPairedPlayers()) {
-                    if (winner.equals(tp.getPlayer())) {
-                        pairing.setWinner(tp);
-                        lastWinner = winner.getName();
-                        System.out.println(TextUtil.concatNoSpace("Match Winner - ", lastWinner, "!"));
-                        System.out.println();
-                        break;
-                    }
+        if (pairing.isBye()) {
+            return new PairingResult(sb.toString(), null);
+        }
+
+        Match mc = new Match(rules, regPlayers, "TourneyMatch");
+
+        int exceptions = 0;
+        int iGame = 0;
+        while (!mc.isMatchOver()) {
+            // play games until the match ends
+            try {
+                sb.append(playGame(mc, iGame, outputGamelog).report);
+                iGame++;
+            } catch (Exception e) {
+                exceptions++;
+                sb.append(e).append(System.lineSeparator());
+                if (exceptions > 5) {
+                    sb.append("Exceeded number of exceptions thrown. Abandoning match...").append(System.lineSeparator());
+                    break;
+                } else {
+                    sb.append("Game threw exception. Abandoning game and continuing...").append(System.lineSeparator());
                 }
             }
 
-            tourney.reportMatchCompletion(pairing);
         }
-        tourney.outputTournamentResults();
+        RegisteredPlayer winner = mc.getWinner();
+        if (winner != null) {
+            for (TournamentPlayer tp : pairing.getPairedPlayers()) {
+                if (winner.getPlayer().equals(tp.getPlayer())) {
+                    pairing.setWinner(tp);
+                    sb.append(TextUtil.concatNoSpace("Match Winner - ", winner.getPlayer().getName(), "!")).append(System.lineSeparator());
+                    sb.append(System.lineSeparator());
+                    break;
+                }
+            }
+        }
+        return new PairingResult(sb.toString(), mc);
     }
 
     public static Match simulateOffthreadGame(List<Deck> decks, GameType format, int games) {
-        return null;
+        GameRules rules = new GameRules(format);
+        rules.setAppliedVariants(EnumSet.of(format));
+
+        List<LobbyPlayer> players = new ArrayList<>();
+        for (int i = 0; i < decks.size(); i++) {
+            players.add(GamePlayerUtil.createAiPlayer(TextUtil.concatNoSpace("Ai(", String.valueOf(i + 1), ")-", decks.get(i).getName()), i));
+        }
+
+        // every game runs on a thread of its own, see simulateSingleMatch
+        Match mc = new Match(rules, registerPlayers(decks, players, format), "Test");
+        for (int iGame = 0; iGame < games; iGame++) {
+            playGame(mc, iGame, false);
+        }
+        return mc;
     }
 
-    private static Deck deckFromCommandLineParameter(String deckname, GameType type) {
+    static Deck deckFromCommandLineParameter(String deckname, GameType type) {
         int dotpos = deckname.lastIndexOf('.');
         if (dotpos > 0 && dotpos == deckname.length() - 4) {
             String baseDir = type.equals(GameType.Commander) ?
@@ -0,0 +1,88 @@
+package forge.view;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import forge.LobbyPlayer;
+import forge.game.GameOutcome;
+import forge.game.Match;
+import forge.gamemodes.tournament.system.TournamentPairing;
+import forge.gamemodes.tournament.system.TournamentPlayer;
+
+/**
+ * Game and match records of every deck of a simulated tournament,
+ * with the 95% Wilson score interval of each deck's game win rate.
+ */
+final class TournamentSummary {
+    private static final double Z = 1.96;
+
+    private static final class Record {
+        int matches;
+        int matchWins;
+        int wins;
+        int losses;
+        int draws;
+
+        int games() {
+            return wins + losses + draws;
+        }
+
+        double winRate() {
+            return games() == 0 ? 0 : (double) wins / games();
+        }
+    }
+
+    private final Map<LobbyPlayer, Record> records = new HashMap<>();
+
+    private Record getRecord(LobbyPlayer player) {
+        return records.computeIfAbsent(player, p -> new Record());
+    }
+
+    void addMatch(TournamentPairing pairing, Match match) {
+        for (TournamentPlayer tp : pairing.getPairedPlayers()) {
+            Record record = getRecord(tp.getPlayer());
+            record.matches++;
+            if (tp.equals(pairing.getWinner())) {
+                record.matchWins++;
+            }
+            for (GameOutcome outcome : match.getOutcomes()) {
+                if (outcome.isDraw()) {
+                    record.draws++;
+                } else if (tp.getPlayer().equals(outcome.getWinningLobbyPlayer())) {
+                    record.wins++;
+                } else {
+                    record.losses++;
+                }
+            }
+        }
+    }
+
+    void output(List<TournamentPlayer> players) {
+        List<TournamentPlayer> sorted = new ArrayList<>(players);
+        sorted.sort((o1, o2) -> Double.compare(getRecord(o2.getPlayer()).winRate(), getRecord(o1.getPlayer()).winRate()));
+
+        System.out.println("Deck\t\tMatches\tWon\tGames\tW-L-D\tWin %\t95% CI");
+        for (TournamentPlayer tp : sorted) {
+            Record r = getRecord(tp.getPlayer());
+            double[] interval = wilsonInterval(r.wins, r.games());
+            System.out.println(String.format(Locale.ROOT, "%s\t\t%d\t%d\t%d\t%d-%d-%d\t%.1f\t%.1f-%.1f",
+                    tp.getPlayer().getName(), r.matches, r.matchWins, r.games(), r.wins, r.losses, r.draws,
+                    100 * r.winRate(), 100 * interval[0], 100 * interval[1]));
+        }
+    }
+
+    static double[] wilsonInterval(int wins, int games) {
+        if (games == 0) {
+            return new double[] { 0, 1 };
+        }
+        double p = (double) wins / games;
+        double z2 = Z * Z;
+        double denominator = 1 + z2 / games;
+        double center = (p + z2 / (2 * games)) / denominator;
+        double margin = Z * Math.sqrt(p * (1 - p) / games + z2 / (4.0 * games * games)) / denominator;
+        return new double[] { Math.max(0, center - margin), Math.min(1, center + margin) };
+    }
+}
@@ -1,25 +1,42 @@
 package forge.ai.simulation;
 
 import java.util.List;
+import java.util.Map;
 
 import org.testng.AssertJUnit;
 import org.testng.annotations.Test;
 
 import com.google.common.collect.Lists;
+import com.google.common.eventbus.Subscribe;
 
+import forge.StaticData;
+import forge.ai.AiController;
+import forge.ai.CardEvaluationCache;
 import forge.ai.ComputerUtilAbility;
+import forge.ai.ComputerUtilCard;
+import forge.ai.CreatureEvaluator;
+import forge.ai.PlayerControllerAi;
 import forge.card.CardStateName;
+import forge.card.ICardFace;
 import forge.card.MagicColor;
 import forge.game.Game;
+import forge.game.ability.AbilityUtils;
+import forge.game.ability.AmountExpression;
 import forge.game.ability.ApiType;
 import forge.game.card.Card;
 import forge.game.card.CardCollection;
+import forge.game.card.CardFactoryUtil;
 import forge.game.card.CounterEnumType;
+import forge.game.event.GameEvent;
+import forge.game.event.GameEventCardTapped;
+import forge.game.event.IGameEventVisitor;
 import forge.game.keyword.Keyword;
 import forge.game.phase.PhaseType;
 import forge.game.player.Player;
+import forge.game.replacement.ReplacementType;
 import forge.game.spellability.SpellAbility;
 import forge.game.zone.ZoneType;
+import forge.item.PaperCard;
 
 public class GameSimulationTest extends SimulationTest {
 
@@ -2473,4 +2490,374 @@ public class GameSimulationTest extends SimulationTest {
         // 2 damage dealt for 2 artifacts
         AssertJUnit.assertEquals(18, simGame.getPlayers().get(1).getLife());
     }
+
+    @Test
+    public void testCachedCharacteristics() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bear = addCard("Runeclaw Bear", p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStaticAbilities();
+
+        AssertJUnit.assertEquals(2, bear.getNetPower());
+        long hits = game.getCharacteristicsCacheHits();
+        long misses = game.getCharacteristicsCacheMisses();
+        AssertJUnit.assertEquals(2, bear.getNetPower());
+        AssertJUnit.assertEquals(hits + 1, game.getCharacteristicsCacheHits());
+
+        // setting a characteristic to the value it already has keeps the cached values
+        bear.getCurrentState().setBasePower(2);
+        bear.getCurrentState().setColor(bear.getCurrentState().getColor());
+        AssertJUnit.assertEquals(2, bear.getNetPower());
+        AssertJUnit.assertEquals(hits + 2, game.getCharacteristicsCacheHits());
+        AssertJUnit.assertEquals(misses, game.getCharacteristicsCacheMisses());
+
+        // Counters, static abilities and temporary boosts all invalidate the cached values.
+        bear.addCounterInternal(CounterEnumType.P1P1, 1, p, false, null, null);
+        AssertJUnit.assertEquals(3, bear.getNetPower());
+        AssertJUnit.assertEquals(3, bear.getNetToughness());
+        addCard("Glorious Anthem", p);
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertEquals(4, bear.getNetPower());
+        bear.addPTBoost(-4, 0, game.getNextTimestamp(), 0);
+        AssertJUnit.assertEquals(0, bear.getNetPower());
+        AssertJUnit.assertEquals(4, bear.getNetToughness());
+
+        AssertJUnit.assertTrue(bear.getType().isCreature());
+        bear.addChangedCardTypes(Lists.newArrayList("Artifact"), null, false, false, true, false, false, false, false, false,
+                game.getNextTimestamp(), 0, true, false);
+        AssertJUnit.assertFalse(bear.getType().isCreature());
+        AssertJUnit.assertTrue(bear.getType().isArtifact());
+    }
+
+    @Test
+    public void testAmountExpressionsOverCardPool() {
+        initAndCreateGame();
+        List<String> counts = Lists.newArrayList();
+        for (PaperCard pc : StaticData.instance().getCommonCards().getUniqueCards()) {
+            for (ICardFace face : Lists.newArrayList(pc.getRules().getMainPart(), pc.getRules().getOtherPart())) {
+                if (face == null) {
+                    continue;
+                }
+                for (Map.Entry<String, String> svar : face.getVariables()) {
+                    if (svar.getValue().startsWith("Count$")) {
+                        counts.add(svar.getValue());
+                    }
+                }
+            }
+        }
+
+        // parsed forms match what the string operations give
+        for (String count : counts) {
+            AmountExpression.Value value = AmountExpression.Value.of(count);
+            String[] calcX = count.split("\\$", 2);
+            AssertJUnit.assertEquals(calcX[1].equals("none") ? null : calcX[0], value.object);
+            AmountExpression.Count parsed = AmountExpression.Count.of(value.property == null ? "" : value.property);
+            AssertJUnit.assertEquals(CardFactoryUtil.extractOperators(calcX[1]), parsed.operators);
+        }
+    }
+
+    @Test
+    public void testCountNamedCardnameIsNotShared() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bear = addCard("Runeclaw Bear", p);
+        addCard("Runeclaw Bear", p);
+        Card giant = addCard("Hill Giant", p);
+
+        // The parsed count is shared by both cards, each must still count its own name.
+        String count = "NamedYouCtrl.CARDNAME";
+        AssertJUnit.assertEquals(2, AbilityUtils.xCount(bear, count, bear.getFirstSpellAbility()));
+        AssertJUnit.assertEquals(1, AbilityUtils.xCount(giant, count, giant.getFirstSpellAbility()));
+        AssertJUnit.assertEquals(2, AbilityUtils.xCount(bear, count, bear.getFirstSpellAbility()));
+    }
+
+    @Test
+    public void testCardRestrictions() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        Card bear = addCard("Runeclaw Bear", p);
+        Card anthem = addCard("Glorious Anthem", p);
+        Card oppBear = addCard("Runeclaw Bear", opp);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        AssertJUnit.assertTrue(bear.isValid("Creature.YouCtrl+Other", p, anthem, null));
+        AssertJUnit.assertFalse(oppBear.isValid("Creature.YouCtrl+Other", p, anthem, null));
+        AssertJUnit.assertTrue(oppBear.isValid("Creature.OppCtrl+!YouOwn", p, anthem, null));
+        AssertJUnit.assertTrue(anthem.isValid("Card.Self", p, anthem, null));
+        AssertJUnit.assertFalse(anthem.isValid("Creature.Self", p, anthem, null));
+        AssertJUnit.assertTrue(anthem.isValid("!Creature.YouCtrl", p, anthem, null));
+        AssertJUnit.assertTrue(bear.isValid("Permanent.nonEnchantment+powerGE3", p, anthem, null));
+        AssertJUnit.assertFalse(bear.isValid("Spell", p, anthem, null));
+
+        // phased out cards only match properties that ask for them
+        bear.setPhasedOut(p);
+        AssertJUnit.assertFalse(bear.isValid("Creature.YouCtrl", p, anthem, null));
+        AssertJUnit.assertTrue(bear.isValid("Creature.phasedOutYouCtrl", p, anthem, null));
+    }
+
+    @Test
+    public void testTextKeywordCounts() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card giant = addCard("Hill Giant", p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        AssertJUnit.assertFalse(giant.hasKeyword("CARDNAME can't block."));
+        AssertJUnit.assertEquals(3, giant.getNetPower());
+
+        long timestamp = game.getNextTimestamp();
+        giant.addHiddenExtrinsicKeywords(timestamp, 0, Lists.newArrayList("CARDNAME can't block.",
+                "CARDNAME's power and toughness are switched", "CARDNAME's power and toughness are switched"));
+        AssertJUnit.assertTrue(giant.hasKeyword("CARDNAME can't block."));
+        AssertJUnit.assertTrue(giant.hasKeyword("HIDDEN CARDNAME can't block."));
+        AssertJUnit.assertEquals(2, giant.getAmountOfKeyword("CARDNAME's power and toughness are switched"));
+        AssertJUnit.assertEquals(3, giant.getNetPower());
+
+        giant.removeHiddenExtrinsicKeyword("CARDNAME's power and toughness are switched");
+        AssertJUnit.assertEquals(1, giant.getAmountOfKeyword("CARDNAME's power and toughness are switched"));
+
+        giant.removeHiddenExtrinsicKeywords(timestamp, 0);
+        AssertJUnit.assertFalse(giant.hasKeyword("CARDNAME can't block."));
+        AssertJUnit.assertEquals(0, giant.getAmountOfKeyword("CARDNAME's power and toughness are switched"));
+    }
+
+    private static class TapCounter extends IGameEventVisitor.Base<Void> {
+        private int taps;
+
+        @Subscribe
+        public void receiveGameEvent(GameEvent ev) {
+            ev.visit(this);
+        }
+
+        @Override
+        public Void visit(GameEventCardTapped event) {
+            taps++;
+            return null;
+        }
+    }
+
+    @Test
+    public void testEventDispatch() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bear = addCard("Runeclaw Bear", p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+        final int rounds = 100;
+
+        // only the game log listens, which doesn't log taps, but the events still count
+        long events = game.getEventCount();
+        for (int i = 0; i < rounds; i++) {
+            bear.tap(true);
+            bear.untap(true);
+        }
+        AssertJUnit.assertTrue(game.getEventCount() - events >= 2 * rounds);
+
+        TapCounter counter = new TapCounter();
+        game.subscribeToEvents(counter);
+        for (int i = 0; i < rounds; i++) {
+            bear.tap(true);
+            bear.untap(true);
+        }
+        AssertJUnit.assertEquals(2 * rounds, counter.taps);
+    }
+
+    @Test
+    public void testReplacementEffectsByEvent() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bear = addCard("Runeclaw Bear", p);
+        Card rip = addCard("Rest in Peace", p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        AssertJUnit.assertEquals(1, rip.getReplacementEffects(ReplacementType.Moved).size());
+        AssertJUnit.assertTrue(rip.getReplacementEffects(ReplacementType.DamageDone).isEmpty());
+        AssertJUnit.assertTrue(bear.getReplacementEffects(ReplacementType.DamageDone).isEmpty());
+
+        // shield counters bring their own replacement effects
+        bear.addCounterInternal(CounterEnumType.SHIELD, 1, p, false, null, null);
+        AssertJUnit.assertEquals(1, bear.getReplacementEffects(ReplacementType.DamageDone).size());
+        AssertJUnit.assertEquals(1, bear.getReplacementEffects(ReplacementType.Destroy).size());
+
+        bear.subtractCounter(CounterEnumType.SHIELD, 1);
+        AssertJUnit.assertTrue(bear.getReplacementEffects(ReplacementType.DamageDone).isEmpty());
+    }
+
+    @Test
+    public void testReplacementEffectsFollowZoneChanges() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bear = addCard("Runeclaw Bear", p);
+        Card bear2 = addCard("Runeclaw Bear", p);
+        Card rip = addCard("Rest in Peace", p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        // found through the game's index of cards by replacement event
+        game.getAction().moveToGraveyard(bear, null);
+        AssertJUnit.assertEquals(1, p.getCardsIn(ZoneType.Exile).size());
+        AssertJUnit.assertTrue(p.getCardsIn(ZoneType.Graveyard).isEmpty());
+
+        // not once it has left the battlefield, and its last known information is gone
+        game.getAction().moveToHand(rip, null);
+        game.clearChangeZoneLKIInfo();
+        game.getAction().moveToGraveyard(bear2, null);
+        AssertJUnit.assertEquals(1, p.getCardsIn(ZoneType.Graveyard).size());
+
+        // and again once it's back
+        Card rip2 = addCard("Rest in Peace", p);
+        Card inHand = addCardToZone("Runeclaw Bear", p, ZoneType.Hand);
+        game.getAction().checkStateEffects(true);
+        game.getAction().moveToGraveyard(inHand, null);
+        AssertJUnit.assertEquals(2, p.getCardsIn(ZoneType.Exile).size());
+        AssertJUnit.assertTrue(rip2.isInPlay());
+    }
+
+    @Test
+    public void testLastStateReusesUnchangedCopies() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bear = addCard("Runeclaw Bear", p);
+        Card anthem = addCard("Glorious Anthem", p);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        game.copyLastState();
+        Card bearLKI = game.getLastStateBattlefield().get(bear);
+        Card anthemLKI = game.getLastStateBattlefield().get(anthem);
+        AssertJUnit.assertNotSame(bear, bearLKI);
+        AssertJUnit.assertEquals(3, bearLKI.getNetPower());
+
+        // nothing changed, so the copies are reused
+        game.copyLastState();
+        AssertJUnit.assertSame(bearLKI, game.getLastStateBattlefield().get(bear));
+        AssertJUnit.assertSame(anthemLKI, game.getLastStateBattlefield().get(anthem));
+
+        // only the changed card is copied again
+        bear.setTapped(true);
+        game.copyLastState();
+        Card tappedBearLKI = game.getLastStateBattlefield().get(bear);
+        AssertJUnit.assertNotSame(bearLKI, tappedBearLKI);
+        AssertJUnit.assertTrue(tappedBearLKI.isTapped());
+        AssertJUnit.assertSame(anthemLKI, game.getLastStateBattlefield().get(anthem));
+
+        bear.addCounterInternal(CounterEnumType.P1P1, 1, p, false, null, null);
+        game.copyLastState();
+        AssertJUnit.assertEquals(4, game.getLastStateBattlefield().get(bear).getNetPower());
+
+        // turned off for this game only
+        anthemLKI = game.getLastStateBattlefield().get(anthem);
+        game.setReuseUnchangedLastState(false);
+        game.copyLastState();
+        AssertJUnit.assertNotSame(anthemLKI, game.getLastStateBattlefield().get(anthem));
+    }
+
+    @Test
+    public void testFastGameStateEvaluation() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Player opponent = game.getPlayers().get(0);
+        addCards("Plains", 3, p);
+        addCard("Glorious Anthem", p);
+        addCard("Serra Angel", p).setSickness(false);
+        addCard("Herald of Anafenza", p);
+        addCard("Runeclaw Bear", opponent);
+        addCard("Prodigal Pyromancer", opponent);
+        addCardToZone("Shock", p, ZoneType.Hand);
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN2, p);
+        game.getAction().checkStateEffects(true);
+
+        GameStateEvaluator eval = new GameStateEvaluator();
+        GameStateEvaluator.Score fastScore = eval.getScoreForGameState(game, p);
+        eval.setDebugging(true);
+        AssertJUnit.assertTrue(fastScore.equals(eval.getScoreForGameState(game, p)));
+        eval.setDebugging(false);
+
+        // Evaluating the same state again reuses the values of the creatures.
+        CardEvaluationCache cache = new CardEvaluationCache();
+        eval.setCardEvaluationCache(cache);
+        AssertJUnit.assertTrue(fastScore.equals(eval.getScoreForGameState(game, p)));
+        int hits = cache.getHits();
+        AssertJUnit.assertTrue(fastScore.equals(eval.getScoreForGameState(game, p)));
+        AssertJUnit.assertTrue(cache.getHits() > hits);
+
+        // So do copies of the creatures in other games, while they are in the same state.
+        GameCopier copier = new GameCopier(game);
+        Game copy = copier.makeCopy();
+        hits = cache.getHits();
+        int misses = cache.getMisses();
+        AssertJUnit.assertTrue(fastScore.equals(eval.getScoreForGameState(copy, (Player) copier.find(p))));
+        AssertJUnit.assertTrue(cache.getHits() > hits);
+        AssertJUnit.assertEquals(misses, cache.getMisses());
+
+        // Tapping a creature changes its value.
+        findCardWithName(game, "Serra Angel").setTapped(true);
+        GameStateEvaluator.Score tappedScore = eval.getScoreForGameState(game, p);
+        AssertJUnit.assertFalse(fastScore.equals(tappedScore));
+        eval.setDebugging(true);
+        AssertJUnit.assertTrue(tappedScore.equals(eval.getScoreForGameState(game, p)));
+        eval.setDebugging(false);
+
+        // The values don't depend on the player the game is evaluated for.
+        GameStateEvaluator.Score opponentScore = new GameStateEvaluator().getScoreForGameState(game, opponent);
+        AssertJUnit.assertTrue(opponentScore.equals(eval.getScoreForGameState(game, opponent)));
+    }
+
+    @Test
+    public void testCachedCreatureEvaluation() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        addCard("Glorious Anthem", p);
+        CardCollection creatures = new CardCollection();
+        for (String name : new String[] {"Serra Angel", "Runeclaw Bear", "Hill Giant", "Herald of Anafenza",
+                "Prodigal Pyromancer", "Grizzly Bears", "Typhoid Rats", "Ornithopter"}) {
+            creatures.add(addCard(name, p));
+        }
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN2, p);
+        game.getAction().checkStateEffects(true);
+
+        CreatureEvaluator plain = new CreatureEvaluator();
+        AiController ai = ((PlayerControllerAi) p.getController()).getAi();
+        ai.decide(() -> {
+            for (Card c : creatures) {
+                AssertJUnit.assertEquals(plain.evaluateCreature(c), ComputerUtilCard.evaluateCreature(c));
+            }
+            return null;
+        });
+        AssertJUnit.assertEquals(creatures.size(), ai.getDecisionCacheMisses());
+
+        // Sorting again doesn't evaluate the creatures again while nothing changes.
+        ai.decide(() -> {
+            for (int i = 0; i < 100; i++) {
+                ComputerUtilCard.sortByEvaluateCreature(creatures);
+            }
+            return null;
+        });
+        AssertJUnit.assertEquals(creatures.size(), ai.getDecisionCacheMisses());
+        AssertJUnit.assertTrue(ai.getDecisionCacheHits() > 0);
+
+        ai.decide(() -> {
+            // A tapped creature is worth less, and is evaluated anew.
+            Card angel = findCardWithName(game, "Serra Angel");
+            int untapped = ComputerUtilCard.evaluateCreature(angel);
+            angel.setTapped(true);
+            AssertJUnit.assertEquals(plain.evaluateCreature(angel), ComputerUtilCard.evaluateCreature(angel));
+            AssertJUnit.assertTrue(ComputerUtilCard.evaluateCreature(angel) < untapped);
+
+            // So is one affected by a static ability that leaves the battlefield.
+            Card bear = findCardWithName(game, "Grizzly Bears");
+            int pumped = ComputerUtilCard.evaluateCreature(bear);
+            game.getAction().exile(findCardWithName(game, "Glorious Anthem"), null);
+            game.getAction().checkStateEffects(true);
+            AssertJUnit.assertEquals(plain.evaluateCreature(bear), ComputerUtilCard.evaluateCreature(bear));
+            AssertJUnit.assertTrue(ComputerUtilCard.evaluateCreature(bear) < pumped);
+            return null;
+        });
+    }
 }
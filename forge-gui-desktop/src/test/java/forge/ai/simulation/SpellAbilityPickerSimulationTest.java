@@ -6,6 +6,7 @@ import java.util.List;
 import org.testng.AssertJUnit;
 import org.testng.annotations.Test;
 
+import forge.ai.PlayerControllerAi;
 import forge.game.Game;
 import forge.game.card.Card;
 import forge.game.card.CounterEnumType;
@@ -658,4 +659,78 @@ public class SpellAbilityPickerSimulationTest extends SimulationTest {
         AssertJUnit.assertTrue(targets.toString().contains("Forest Bear"));
         AssertJUnit.assertTrue(targets.toString().contains("Flying Men"));
     }
+
+    @Test
+    public void testTranspositionTableHits() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Player opponent = game.getPlayers().get(0);
+
+        addCards("Mountain", 2, p);
+        addCardToZone("Mountain", p, ZoneType.Hand);
+        addCardToZone("Shock", p, ZoneType.Hand);
+        addCardToZone("Lightning Bolt", p, ZoneType.Hand);
+        opponent.setLife(20, null);
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN2, p);
+        game.getAction().checkStateEffects(true);
+
+        SpellAbilityPicker picker = new SpellAbilityPicker(game, p);
+        picker.setTranspositionTableSize(10000);
+        SpellAbility sa = picker.chooseSpellAbilityToPlay(null);
+        AssertJUnit.assertNotNull(sa);
+        // After any first play, casting both spells at the opponent reaches the same position in either order.
+        AssertJUnit.assertTrue(picker.getTranspositionHits() > 0);
+        // The plan still holds the plays after the repeated position.
+        AssertJUnit.assertTrue(picker.getPlan().getDecisions().size() > 1);
+    }
+
+    @Test
+    public void testTranspositionTableKeepsPlan() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Player opponent = game.getPlayers().get(0);
+
+        addCards("Mountain", 3, p);
+        addCardToZone("Shock", p, ZoneType.Hand);
+        addCardToZone("Lightning Bolt", p, ZoneType.Hand);
+        addCardToZone("Raging Goblin", p, ZoneType.Hand);
+        opponent.setLife(20, null);
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN2, p);
+        game.getAction().checkStateEffects(true);
+
+        SpellAbilityPicker withoutTable = new SpellAbilityPicker(game, p);
+        withoutTable.setTranspositionTableSize(0);
+        AssertJUnit.assertNotNull(withoutTable.chooseSpellAbilityToPlay(null));
+        SpellAbilityPicker withTable = new SpellAbilityPicker(game, p);
+        AssertJUnit.assertNotNull(withTable.chooseSpellAbilityToPlay(null));
+
+        AssertJUnit.assertTrue(withTable.getTranspositionHits() > 0);
+        AssertJUnit.assertEquals(withoutTable.getPlan().getFinalScore().value, withTable.getPlan().getFinalScore().value);
+        AssertJUnit.assertEquals(withoutTable.getPlan().getDecisions().size(), withTable.getPlan().getDecisions().size());
+    }
+
+    @Test
+    public void testMonteCarloTreeSearchPicksLethalDamage() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        ((PlayerControllerAi) p.getController()).setUseMonteCarloTreeSearch(true);
+
+        addCard("Mountain", p);
+        addCardToZone("Shock", p, ZoneType.Hand);
+
+        Player opponent = game.getPlayers().get(0);
+        addCard("Runeclaw Bear", opponent);
+        opponent.setLife(2, null);
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN2, p);
+        game.getAction().checkStateEffects(true);
+
+        SpellAbilityPicker picker = new SpellAbilityPicker(game, p);
+        SpellAbility sa = picker.chooseSpellAbilityToPlay(null);
+        AssertJUnit.assertNotNull(sa);
+        AssertJUnit.assertEquals(opponent, sa.getTargets().getFirstTargetedPlayer());
+        AssertJUnit.assertTrue(picker.getMonteCarloTreeSearch().getPlayouts() > 0);
+    }
 }
@@ -112,4 +112,21 @@ public class CardDbLazyCardLoadingCardMockTestCase extends CardMockTestCase {
         assertEquals(dominatingLycidCard.getEdition(), expectedSetCode);
         assertEquals(dominatingLycidCard.getRarity(), expectedCardRarity);
     }
+
+    @Test
+    public void testLoadDoubleFacedCardAndGetBothFaces() {
+        String cardName = "Delver of Secrets";
+        String otherFaceName = "Insectile Aberration";
+
+        assertNull(this.cardDb.getFaceByName(cardName));
+        assertNull(this.cardDb.getFaceByName(otherFaceName));
+
+        FModel.getMagicDb().attemptToLoadCard(cardName);
+
+        assertNotNull(this.cardDb.getFaceByName(cardName));
+        assertEquals(this.cardDb.getFaceByName(otherFaceName).getName(), otherFaceName);
+        PaperCard delverCard = this.cardDb.getCard(otherFaceName);
+        assertNotNull(delverCard);
+        assertEquals(delverCard.getName(), cardName);
+    }
 }
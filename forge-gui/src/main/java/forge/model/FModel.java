@@ -170,6 +170,8 @@ public final class FModel {
                 FModel.getPreferences().getPrefBoolean(FPref.LOAD_CARD_SCRIPTS_LAZILY));
         final CardStorageReader tokenReader = new CardStorageReader(ForgeConstants.TOKEN_DATA_DIR, progressBarBridge,
                 FModel.getPreferences().getPrefBoolean(FPref.LOAD_CARD_SCRIPTS_LAZILY));
+        reader.setScriptImage(new File(ForgeConstants.CARD_DATA_IMAGE_FILE));
+        tokenReader.setScriptImage(new File(ForgeConstants.TOKEN_DATA_IMAGE_FILE));
         CardStorageReader customReader;
         try {
            customReader  = new CardStorageReader(ForgeConstants.USER_CUSTOM_CARDS_DIR, progressBarBridge, false);
@@ -7,11 +7,15 @@ import forge.game.card.CardPredicates;
 import forge.game.spellability.SpellAbility;
 import forge.game.zone.ZoneType;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 public class CardNode {
     Card card;
+    /**
+     * The nodes that can follow this one. Shared between every node that leads to the same game state.
+     */
     List<CardNode> leaves;
     /**
      * The value of a card
@@ -41,7 +45,7 @@ public class CardNode {
     public CardNode(Card key) {
         card = key;
         value = CardValues.getValue(key);
-        leaves = new ArrayList<>();
+        leaves = Collections.emptyList();
         cmc = key.getCMC();
         if (!card.isLand()) {
             if (!card.isCreature()) {
@@ -77,165 +81,77 @@ public class CardNode {
     }
 
     /**
-     * Creates a node out of the given card.
-     * Adds that node to the tree.
+     * Represents a card played at a specific point of the turn
      *
-     * @param key - The card
-     * @return - A new CardNode
+     * @param kind - The node holding the precomputed values of the card
+     * @param cmc  - The mana the card costs at that point of the turn
      */
-    public CardNode addNode(Card key) {
-        CardNode newNode = new CardNode(key);
-        leaves.add(newNode);
-        return newNode;
+    public CardNode(CardNode kind, int cmc) {
+        card = kind.card;
+        value = kind.value;
+        damage = kind.damage;
+        leaves = Collections.emptyList();
+        this.cmc = cmc;
     }
 
     /**
-     * Adds branches to a given CardNode
+     * Checks if two cards can be swapped without changing the outcome of the search
      *
-     * @param node  - The node that branches are going to be added to
-     * @param cards - The cards to add to the tree
+     * @param other - The node of the other card
+     * @return true if both cards are graded and costed the same way
      */
-    public void addBranches(CardNode node, ArrayList<Card> cards) {
-        for (Card card : cards) {
-            CardNode newNode = node.addNode(card);
-            newNode.addBranches(newNode, removeCardFromList(card, cards));
-        }
+    public boolean isEquivalent(CardNode other) {
+        return Objects.equals(card.getName(), other.card.getName())
+                && value == other.value
+                && cmc == other.cmc
+                && damage == other.damage
+                && card.isLand() == other.card.isLand()
+                && card.isSorcery() == other.card.isSorcery();
     }
 
     /**
-     * Removes a specific card from the list of cards
+     * Gets the mana this card costs once damage has already been dealt this turn
      *
-     * @param card  - The Card being removed
-     * @param cards - The list of cards that the card is being removed from
-     * @return A list of cards that does not contain the removed card
+     * @param damageDealt - The damage dealt to the enemy before this card is played
+     * @return the mana cost of the card
      */
-    ArrayList<Card> removeCardFromList(Card card, ArrayList<Card> cards) {
-        ArrayList<Card> newList = new ArrayList<>(cards);
-        newList.remove(card);
-        return newList;
+    public int getCMC(int damageDealt) {
+        if ("Skewer the Critics".equals(card.getName()) && damageDealt > 0) {
+            return 1;
+        }
+        return cmc;
     }
 
-    //    int enemyHealth
-
     /**
-     * Grades the tree
+     * Grades the node from the cards that can be played after it
+     *
+     * @param leaves      - The nodes that can follow this one
+     * @param leafValue   - The value of every card that can follow this one, counting each copy
+     * @param leafDamage  - The highest damage of the branches under this node
+     * @param enemyHealth - The enemies life total
      */
-    public void grade(int enemyHealth, int enemyTurnDamage) {
-        int maxLeafDamage = 0;
-        for (CardNode leaf : leaves) {
-            leaf.grade(enemyHealth, enemyTurnDamage);
-            maxValue += leaf.value;
-            if (leaf.totalDamage > maxLeafDamage) {
-                maxLeafDamage = leaf.totalDamage;
-            }
-        }
-
-        if (!card.isLand()) {
-            if (!card.isCreature()) {
-                switch (card.getName()) {
-                    case "Price of Progress":
-                        for (Card c : CardLists.filter(card.getController().getSingleOpponent().getCardsIn(ZoneType.Battlefield), CardPredicates.Presets.LANDS)) {
-                            if (!c.isBasicLand()) {
-                                damage += 2;
-                                totalDamage +=2;
-                            }
-                        }
-                        break;
-                    default:
-                        totalDamage += damage;
-                }
-
-            }
-
-        }
-
-        totalDamage += maxLeafDamage;
-
+    public void grade(List<CardNode> leaves, int leafValue, int leafDamage, int enemyHealth) {
+        this.leaves = leaves;
+        totalDamage = damage + leafDamage;
+        maxValue = leafValue;
         if (enemyHealth < totalDamage) {
             maxValue += 100; //Add 100 for terminal state
         }
         maxValue += value + totalDamage;
     }
 
-    /**
-     * Counts the total leaves on a branch
-     *
-     * @param acc - The accumulated # of all the cards in the branch
-     * @return the number leaves on the given branch
-     */
-    public long countLeaves(long acc) {
-        if (leaves.isEmpty()) {
-            acc++;
-        } else {
-            for (CardNode leaf : leaves) {
-                acc += leaf.countLeaves(0);
-            }
-        }
-        return acc;
-    }
-
-    /**
-     * Removes unnecessary leaves from a branch
-     *
-     * @param landPlayed - Was a land played this turn
-     * @param mana       - The players available mana
-     */
-    public void pruneLeaves(boolean landPlayed, int mana) {
-        mana -= cmc;
-
-        if (card.isLand()) {
-            landPlayed = true;
-            mana += 1;
-        }
-
-        for (int i = leaves.size() - 1; i >= 0; i--) {
-            CardNode leaf = leaves.get(i);
-            if (mana - leaf.cmc < 0) {
-                leaves.remove(leaf);
-            }
-            if (landPlayed && leaf.card.isLand()) {
-                leaves.remove(leaf);
-            }
-
-            leaf.pruneLeaves(landPlayed, mana);
-        }
-    }
-
-    /**
-     * Removes all the leaves
-     */
-    public void removeLeaves() {
-        leaves.clear();
-    }
-
     public int getGrade() {
         return maxValue;
     }
 
-    public void fixCMC(int enemyTurnDamage) {
-        switch (card.getName()) {
-            case "Skewer the Critics":
-                if (enemyTurnDamage > 0) {
-                    cmc = 1;
-                }
-                break;
-            case "Rift Bolt":
-                cmc = 1;
-                break;
-        }
-        for (CardNode leaf : leaves) {
-            leaf.fixCMC(enemyTurnDamage + damage);
-        }
-    }
-
     @Override
     public String toString() {
         String string = card.getName() + "(" + maxValue + ", " + totalDamage + ")" + "[ ";
-        for (CardNode leaf : leaves) {
-            string = string.concat(leaf.toString());
-
-            if (leaves.indexOf(leaf) != leaves.size() - 1) {
-                string = string.concat(", ");
+        CardNode bestLeaf = getBestLeaf();
+        if (bestLeaf != null) {
+            string = string.concat(bestLeaf.toString());
+            if (leaves.size() > 1) {
+                string = string.concat(", +" + (leaves.size() - 1));
             }
         }
         string = string.concat("]");
@@ -3,17 +3,59 @@ package forge;
 import forge.game.card.Card;
 import forge.game.card.CardCollection;
 import forge.game.card.CardCollectionView;
-import forge.game.spellability.SpellAbility;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Generates a tree of possible orders to play cards in
+ * Searches the possible orders to play cards in.
+ * <p>
+ * Cards are only expanded while they can be paid for and while the land drop is still available,
+ * copies of the same card are expanded once, and orders that reach the same game state share
+ * the same branches through a memo table. The search stops expanding once its node or time
+ * budget is spent and grades what it has found so far.
  */
 public class CardTree {
+    /**
+     * Default amount of nodes a single search may create
+     */
+    public static final int DEFAULT_NODE_BUDGET = 200000;
+    /**
+     * Default amount of milliseconds a single search may take
+     */
+    public static final long DEFAULT_TIME_BUDGET = 500;
+
+    private static final Expansion EMPTY = new Expansion(Collections.emptyList(), 0, 0);
+
     List<CardNode> roots = new ArrayList<>();
+    private final Map<SearchKey, Expansion> memo = new HashMap<>();
+    private int nodeBudget = DEFAULT_NODE_BUDGET;
+    private long timeBudget = DEFAULT_TIME_BUDGET;
+
+    private CardNode[] kinds;
+    private int[] previousCopy;
+    private int[] copiesLeft;
+    private boolean canPlaySorcery;
+    private int enemyHealth;
+    private long deadline;
+    private int nodes;
+    private int memoHits;
+    private boolean outOfBudget;
+
+    /**
+     * Sets how much work a single search may do
+     *
+     * @param nodeBudget - The amount of nodes the search may create
+     * @param timeBudget - The amount of milliseconds the search may take
+     */
+    public void setBudget(int nodeBudget, long timeBudget) {
+        this.nodeBudget = nodeBudget;
+        this.timeBudget = timeBudget;
+    }
 
     /**
      * Generates the Tree
@@ -23,22 +65,41 @@ public class CardTree {
      */
     public void generateTree(CardCollectionView cards, int manaAvail, int landsPlayed, boolean canPlaySorcery, int enemyHealth, int enemyTurnDamage, boolean ensnare) {
         ExecuteTimer t = new ExecuteTimer();
-        for (Card card : cards) {
-            addRoot(card);
-        }
+        this.canPlaySorcery = canPlaySorcery;
+        this.enemyHealth = enemyHealth;
+        deadline = System.currentTimeMillis() + timeBudget;
+        nodes = 0;
+        memoHits = 0;
+        outOfBudget = false;
 
-        for (CardNode root : roots) {
-            addBranches(root, removeCard(root.card, cards));
+        int size = cards.size();
+        kinds = new CardNode[size];
+        previousCopy = new int[size];
+        copiesLeft = new int[size];
+        for (int i = 0; i < size; i++) {
+            CardNode kind = new CardNode(cards.get(i));
+            previousCopy[i] = -1;
+            for (int j = i - 1; j >= 0; j--) {
+                if (kinds[j].isEquivalent(kind)) {
+                    kind = kinds[j];
+                    previousCopy[i] = j;
+                    break;
+                }
+            }
+            kinds[i] = kind;
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            copiesLeft[i]++;
+            if (previousCopy[i] >= 0) {
+                copiesLeft[previousCopy[i]] += copiesLeft[i];
+            }
         }
 
         boolean playedLand = landsPlayed != 0 || !canPlaySorcery;
 //        Debugger.log("Lands played: " + playedLand);
 
-//        System.out.println(enemyTurnDamage);
-        fixCMC(enemyTurnDamage);
-        pruneLeaves(manaAvail, playedLand, canPlaySorcery, ensnare);
-        grade(enemyHealth, enemyTurnDamage);
-        long totalLeaves = countLeaves();
+        roots.addAll(expand(new BitSet(size), manaAvail, playedLand, enemyTurnDamage, true).leaves);
+        memo.clear();
 
         t.end();
 
@@ -47,7 +108,8 @@ public class CardTree {
 
         //Debug Prints
         Debugger.log("Mana Avail: " + manaAvail + " Enemy Health: " + enemyHealth);
-        Debugger.log("Tree Generation Took: " + t + " Total Roots: " + roots.size() + " Total Leaves: " + totalLeaves);
+        Debugger.log("Tree Generation Took: " + t + " Total Roots: " + roots.size() + " Total Nodes: " + nodes
+                + " Memo Hits: " + memoHits + (outOfBudget ? " (Out of budget)" : ""));
         Debugger.log("Roots " + roots.size() + ": ");
         for (CardNode root : roots) {
             Debugger.log(root);
@@ -57,77 +119,74 @@ public class CardTree {
     }
 
     /**
-     * Grades the tree
-     */
-    public void grade(int enemyHealth, int enemyTurnDamage) {
-        for (CardNode root : roots) {
-            root.grade(enemyHealth, enemyTurnDamage);
-        }
-    }
-
-    /**
-     * Counts the number of leaves on the tree
+     * Finds the cards that can be played from a game state, grading each of them
      *
-     * @return - number of leaves on the tree
+     * @param played      - The hand indexes of the cards already played, not changed by the search
+     * @param mana        - The mana left to spend
+     * @param landPlayed  - Was a land played this turn
+     * @param damageDealt - The damage dealt to the enemy this turn
+     * @param root        - Is this the state the turn is currently in
+     * @return the graded nodes that can be played from the state
      */
-    public long countLeaves() {
-        long totalLeaves = 0;
-        for (CardNode root : roots) {
-            totalLeaves += root.countLeaves(0);
+    private Expansion expand(BitSet played, int mana, boolean landPlayed, int damageDealt, boolean root) {
+        SearchKey key = null;
+        if (!root) {
+            key = new SearchKey(played, mana, landPlayed);
+            Expansion known = memo.get(key);
+            if (known != null) {
+                memoHits++;
+                return known;
+            }
         }
-        return totalLeaves;
-    }
 
-    /**
-     * Removes unnecessary leaves from the tree
-     *
-     * @param mana - The players available mana
-     */
-    public void pruneLeaves(int mana, boolean landPlayed, boolean canPlaySorcery, boolean ensnare) {
-        for (int i = roots.size() - 1; i >= 0; i--) {
-            CardNode root = roots.get(i);
-            if (root.card.isSorcery() && !canPlaySorcery) {
-                roots.remove(i);
-            } else if (mana < root.cmc) {
-                roots.remove(i);
-            } else if (root.card.isLand() && landPlayed) {
-                roots.remove(i);
-            } else {
-                root.pruneLeaves(landPlayed, mana);
+        List<CardNode> leaves = new ArrayList<>();
+        int leafValue = 0;
+        int leafDamage = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            // only the first copy left of a card is expanded
+            if (played.get(i) || (previousCopy[i] >= 0 && !played.get(previousCopy[i]))) {
+                continue;
+            }
+            CardNode kind = kinds[i];
+            if (root && kind.card.isSorcery() && !canPlaySorcery) {
+                continue;
+            }
+            int cmc = kind.getCMC(damageDealt);
+            if (mana < cmc) {
+                continue;
+            }
+            boolean isLand = kind.card.isLand();
+            if (isLand && landPlayed) {
+                continue;
             }
-        }
-    }
 
-    /**
-     * Adds a new root node to the tree
-     *
-     * @param card - The card being added
-     */
-    void addRoot(Card card) {
-        roots.add(new CardNode(card));
-    }
+            CardNode node = new CardNode(kind, cmc);
+            nodes++;
+            Expansion next = EMPTY;
+            if (hasBudget()) {
+                BitSet nextPlayed = (BitSet) played.clone();
+                nextPlayed.set(i);
+                next = expand(nextPlayed, mana - cmc + (isLand ? 1 : 0), landPlayed || isLand, damageDealt + kind.damage, false);
+            }
+            node.grade(next.leaves, next.leafValue, next.leafDamage, enemyHealth);
 
-    /**
-     * Adds the branches to the tree
-     *
-     * @param root  - The root node
-     * @param cards - The cards that will be used to create the branches
-     */
-    void addBranches(CardNode root, ArrayList<Card> cards) {
-        root.addBranches(root, cards);
+            leaves.add(node);
+            leafValue += kind.value * copiesLeft[i];
+            leafDamage = Math.max(leafDamage, node.totalDamage);
+        }
+
+        Expansion expansion = new Expansion(leaves, leafValue, leafDamage);
+        if (key != null) {
+            memo.put(key, expansion);
+        }
+        return expansion;
     }
 
-    /**
-     * Removes a card from the list
-     *
-     * @param card  - The card being removed.
-     * @param cards - The list the card is being removed from.
-     * @return - The list of cards without the removed card.
-     */
-    ArrayList<Card> removeCard(Card card, CardCollectionView cards) {
-        ArrayList<Card> newList = new ArrayList<>((Collection) cards);
-        newList.remove(card);
-        return newList;
+    private boolean hasBudget() {
+        if (!outOfBudget && (nodes >= nodeBudget || ((nodes & 0xFF) == 0 && System.currentTimeMillis() > deadline))) {
+            outOfBudget = true;
+        }
+        return !outOfBudget;
     }
 
     /**
@@ -163,19 +222,11 @@ public class CardTree {
         return bestRoot;
     }
 
-    private void fixCMC(int enemyTurnDamage) {
-        for (CardNode root : roots) {
-            root.fixCMC(enemyTurnDamage);
-        }
-    }
-
     @Override
     public String toString() {
         String string = "RootNode { ";
         for (CardNode root : roots) {
             string = string.concat(root.toString());
-//            string = string.concat(root.card.getName() + " ");
-//            string = string.concat(String.valueOf(root.getScore()));
             if (roots.indexOf(root) != roots.size() - 1) {
                 string = string.concat("| ");
             }
@@ -192,4 +243,53 @@ public class CardTree {
         }
         return null;
     }
+
+    /**
+     * The graded nodes that can be played from a game state
+     */
+    private static class Expansion {
+        final List<CardNode> leaves;
+        /**
+         * The value of every card that can be played, counting each copy
+         */
+        final int leafValue;
+        /**
+         * The highest damage of the branches
+         */
+        final int leafDamage;
+
+        Expansion(List<CardNode> leaves, int leafValue, int leafDamage) {
+            this.leaves = leaves;
+            this.leafValue = leafValue;
+            this.leafDamage = leafDamage;
+        }
+    }
+
+    /**
+     * A game state reached while searching, different orders of the same cards reach the same state
+     */
+    private static class SearchKey {
+        final BitSet played;
+        final int mana;
+        final boolean landPlayed;
+
+        SearchKey(BitSet played, int mana, boolean landPlayed) {
+            this.played = played;
+            this.mana = mana;
+            this.landPlayed = landPlayed;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SearchKey)) return false;
+            SearchKey other = (SearchKey) o;
+            return played.equals(other.played) && mana == other.mana && landPlayed == other.landPlayed;
+        }
+
+        @Override
+        public int hashCode() {
+            return played.hashCode() * 31 * 31 + mana * 31 + (landPlayed ? 1 : 0);
+        }
+    }
 }
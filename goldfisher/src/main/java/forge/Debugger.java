@@ -1,9 +1,13 @@
 package forge;
 
 public class Debugger {
-    static boolean enable = true;
+    // per thread, so that games played on other threads can be quiet
+    private static final ThreadLocal<Boolean> enable = ThreadLocal.withInitial(() -> true);
     public static boolean isEnabled(){
-        return enable;
+        return enable.get();
+    }
+    public static void setEnabled(boolean enabled){
+        enable.set(enabled);
     }
     public static void log(Object o){
         if(Debugger.isEnabled()) {
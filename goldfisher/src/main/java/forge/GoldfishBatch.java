@@ -0,0 +1,214 @@
+package forge;
+
+import com.google.common.eventbus.Subscribe;
+import forge.ai.AIOption;
+import forge.ai.LobbyPlayerAi;
+import forge.deck.Deck;
+import forge.game.Game;
+import forge.game.GameEndReason;
+import forge.game.GameRules;
+import forge.game.Match;
+import forge.game.event.GameEventMulligan;
+import forge.game.event.GameEventSpellAbilityCast;
+import forge.game.player.Player;
+import forge.game.player.RegisteredPlayer;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays a batch of independent goldfish games on a pool of worker threads without any GUI.
+ * <p>
+ * Every game gets its own {@link Match}, players and controllers, so the only state shared
+ * between the workers is the read-only card database and the decks. The {@link Debugger}
+ * output is turned off on the worker threads only.
+ */
+public class GoldfishBatch {
+    private static final String GOLDFISHER_NAME = "Goldfisher";
+    private static final String OPPONENT_NAME = "Goldfish";
+
+    private final Deck deck;
+    private final GameRules rules;
+    private Deck opponentDeck;
+    private String aiProfile = "";
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private ProgressListener progressListener;
+
+    /**
+     * Gets told each time a game of the batch is over
+     */
+    public interface ProgressListener {
+        void gameFinished(int finished, int total, GoldfishStatistics.GameResult result);
+    }
+
+    /**
+     * @param deck  - The deck to goldfish
+     * @param rules - The rules every game is played with
+     */
+    public GoldfishBatch(Deck deck, GameRules rules) {
+        this.deck = deck;
+        this.rules = rules;
+    }
+
+    /**
+     * Sets the deck of the opponent, which defaults to basic lands only
+     *
+     * @param opponentDeck - The deck of the opponent
+     */
+    public void setOpponentDeck(Deck opponentDeck) {
+        this.opponentDeck = opponentDeck;
+    }
+
+    public void setAiProfile(String aiProfile) {
+        this.aiProfile = aiProfile;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Plays the games and aggregates their results
+     *
+     * @param games - The amount of games to play
+     * @return the aggregated results of every game
+     */
+    public GoldfishStatistics run(int games) throws InterruptedException {
+        if (opponentDeck == null) {
+            opponentDeck = createOpponentDeck();
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, new WorkerThreadFactory());
+        GoldfishStatistics statistics = new GoldfishStatistics();
+        try {
+            List<Future<GoldfishStatistics.GameResult>> results = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                results.add(pool.submit(this::playGame));
+            }
+            // aggregated in the order the games were submitted, so that the statistics don't depend on scheduling
+            for (int i = 0; i < games; i++) {
+                GoldfishStatistics.GameResult result;
+                try {
+                    result = results.get(i).get();
+                } catch (ExecutionException e) {
+                    e.getCause().printStackTrace();
+                    result = new GoldfishStatistics.GameResult();
+                    result.error = true;
+                }
+                statistics.add(result);
+                if (progressListener != null) {
+                    progressListener.gameFinished(i + 1, games, result);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return statistics;
+    }
+
+    /**
+     * Plays a single game on the calling thread
+     *
+     * @return the result of the game
+     */
+    GoldfishStatistics.GameResult playGame() {
+        LobbyPlayerGoldfisher goldfisher = new LobbyPlayerGoldfisher(GOLDFISHER_NAME, null);
+        goldfisher.setAiProfile(aiProfile);
+        LobbyPlayerAi opponent = new LobbyPlayerAi(OPPONENT_NAME, EnumSet.noneOf(AIOption.class));
+
+        List<RegisteredPlayer> players = new ArrayList<>();
+        players.add(new RegisteredPlayer(deck).setPlayer(goldfisher));
+        players.add(new RegisteredPlayer(opponentDeck).setPlayer(opponent));
+
+        Match match = new Match(rules, players, "Goldfish");
+        Game game = match.createGame();
+        GoldfishStatistics.GameResult result = new GoldfishStatistics.GameResult();
+        game.subscribeToEvents(new GameListener(goldfisher, result));
+
+        long start = System.currentTimeMillis();
+        try {
+            match.startGame(game);
+        } catch (Exception | StackOverflowError e) {
+            e.printStackTrace();
+            result.error = true;
+        } finally {
+            result.time = System.currentTimeMillis() - start;
+            if (!game.isGameOver()) {
+                game.setGameOver(GameEndReason.Draw);
+            }
+        }
+
+        if (!result.error && !game.getOutcome().isDraw() && game.getOutcome().isWinner(goldfisher)) {
+            for (Player p : game.getRegisteredPlayers()) {
+                if (goldfisher.equals(p.getLobbyPlayer())) {
+                    result.killTurn = p.getTurn();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a deck that will never interact with the goldfisher
+     */
+    public static Deck createOpponentDeck() {
+        Deck goldfish = new Deck(OPPONENT_NAME);
+        goldfish.getMain().add("Plains", 60);
+        return goldfish;
+    }
+
+    /**
+     * Records what the goldfisher does during a game
+     */
+    private static class GameListener {
+        private final LobbyPlayer goldfisher;
+        private final GoldfishStatistics.GameResult result;
+
+        GameListener(LobbyPlayer goldfisher, GoldfishStatistics.GameResult result) {
+            this.goldfisher = goldfisher;
+            this.result = result;
+        }
+
+        @Subscribe
+        public void receiveCast(GameEventSpellAbilityCast ev) {
+            if (ev.replicate || !ev.sa.isSpell() || ev.sa.getActivatingPlayer() == null) {
+                return;
+            }
+            if (goldfisher.equals(ev.sa.getActivatingPlayer().getLobbyPlayer())) {
+                result.addCast(ev.sa.getHostCard().getName());
+            }
+        }
+
+        @Subscribe
+        public void receiveMulligan(GameEventMulligan ev) {
+            if (goldfisher.equals(ev.player.getLobbyPlayer())) {
+                result.mulligans++;
+            }
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(() -> {
+                Debugger.setEnabled(false);
+                r.run();
+            }, "Game-Goldfish-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
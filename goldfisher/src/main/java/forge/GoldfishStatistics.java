@@ -0,0 +1,204 @@
+package forge;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aggregated results of a batch of goldfish games
+ */
+public class GoldfishStatistics {
+    private int games;
+    private int kills;
+    private int gamesMulliganed;
+    private int mulligans;
+    private int errors;
+    private long totalTime;
+    private final List<Integer> killTurns = new ArrayList<>();
+    private final Map<String, Integer> casts = new TreeMap<>();
+
+    /**
+     * The result of a single goldfish game
+     */
+    public static class GameResult {
+        /**
+         * The turn of the goldfisher the opponent died on, 0 if it never died
+         */
+        int killTurn;
+        int mulligans;
+        boolean error;
+        long time;
+        final Map<String, Integer> casts = new HashMap<>();
+
+        void addCast(String cardName) {
+            casts.merge(cardName, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Adds the result of a game
+     *
+     * @param result - The result of the game
+     */
+    public void add(GameResult result) {
+        games++;
+        totalTime += result.time;
+        if (result.error) {
+            errors++;
+            return;
+        }
+        if (result.killTurn > 0) {
+            kills++;
+            killTurns.add(result.killTurn);
+        }
+        if (result.mulligans > 0) {
+            gamesMulliganed++;
+            mulligans += result.mulligans;
+        }
+        for (Map.Entry<String, Integer> e : result.casts.entrySet()) {
+            casts.merge(e.getKey(), e.getValue(), Integer::sum);
+        }
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getKills() {
+        return kills;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * @return the amount of kills on each turn, ordered by turn
+     */
+    public Map<Integer, Integer> getKillTurnHistogram() {
+        Map<Integer, Integer> histogram = new TreeMap<>();
+        for (int turn : killTurns) {
+            histogram.merge(turn, 1, Integer::sum);
+        }
+        return histogram;
+    }
+
+    public double getMeanKillTurn() {
+        if (killTurns.isEmpty()) {
+            return 0;
+        }
+        long sum = 0;
+        for (int turn : killTurns) {
+            sum += turn;
+        }
+        return (double) sum / killTurns.size();
+    }
+
+    public double getMedianKillTurn() {
+        if (killTurns.isEmpty()) {
+            return 0;
+        }
+        List<Integer> sorted = new ArrayList<>(killTurns);
+        Collections.sort(sorted);
+        int middle = sorted.size() / 2;
+        if (sorted.size() % 2 == 1) {
+            return sorted.get(middle);
+        }
+        return (sorted.get(middle - 1) + sorted.get(middle)) / 2.0;
+    }
+
+    /**
+     * @return the share of games played in which the goldfisher mulliganed at least once
+     */
+    public double getMulliganRate() {
+        int played = games - errors;
+        return played == 0 ? 0 : (double) gamesMulliganed / played;
+    }
+
+    public int getMulligans() {
+        return mulligans;
+    }
+
+    /**
+     * @return the amount of times each card was cast, ordered by card name
+     */
+    public Map<String, Integer> getCasts() {
+        return Collections.unmodifiableMap(casts);
+    }
+
+    public void writeCsv(Writer out) throws IOException {
+        out.write("stat,key,value\n");
+        out.write("games,," + games + "\n");
+        out.write("kills,," + kills + "\n");
+        out.write("errors,," + errors + "\n");
+        out.write("mean_kill_turn,," + format(getMeanKillTurn()) + "\n");
+        out.write("median_kill_turn,," + format(getMedianKillTurn()) + "\n");
+        out.write("mulligan_rate,," + format(getMulliganRate()) + "\n");
+        out.write("mulligans,," + mulligans + "\n");
+        for (Map.Entry<Integer, Integer> e : getKillTurnHistogram().entrySet()) {
+            out.write("kill_turn," + e.getKey() + "," + e.getValue() + "\n");
+        }
+        for (Map.Entry<String, Integer> e : casts.entrySet()) {
+            out.write("cast," + csvEscape(e.getKey()) + "," + e.getValue() + "\n");
+        }
+        out.flush();
+    }
+
+    public void writeJson(Writer out) throws IOException {
+        out.write("{\n");
+        out.write("  \"games\": " + games + ",\n");
+        out.write("  \"kills\": " + kills + ",\n");
+        out.write("  \"errors\": " + errors + ",\n");
+        out.write("  \"meanKillTurn\": " + format(getMeanKillTurn()) + ",\n");
+        out.write("  \"medianKillTurn\": " + format(getMedianKillTurn()) + ",\n");
+        out.write("  \"mulliganRate\": " + format(getMulliganRate()) + ",\n");
+        out.write("  \"mulligans\": " + mulligans + ",\n");
+        out.write("  \"killTurns\": {");
+        String separator = "";
+        for (Map.Entry<Integer, Integer> e : getKillTurnHistogram().entrySet()) {
+            out.write(separator + "\n    \"" + e.getKey() + "\": " + e.getValue());
+            separator = ",";
+        }
+        out.write("\n  },\n");
+        out.write("  \"casts\": {");
+        separator = "";
+        for (Map.Entry<String, Integer> e : casts.entrySet()) {
+            out.write(separator + "\n    \"" + jsonEscape(e.getKey()) + "\": " + e.getValue());
+            separator = ",";
+        }
+        out.write("\n  }\n");
+        out.write("}\n");
+        out.flush();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d games, %d kills, mean kill turn %.2f, median kill turn %.1f, mulligan rate %.3f, %d errors",
+                games, kills, getMeanKillTurn(), getMedianKillTurn(), getMulliganRate(), errors);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    private static String csvEscape(String value) {
+        if (value.contains(",") || value.contains("\"")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static String jsonEscape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -379,6 +379,12 @@ public class PlayerControllerGoldfisher extends PlayerController {
         return null;
     }
 
+    @Override
+    public List<Card> enlistAttackers(List<Card> attackers) {
+        // the goldfisher only plays burn and haste creatures, it never wants to enlist
+        return Lists.newArrayList();
+    }
+
     @Override
     public CardCollection orderBlocker(Card attacker, Card blocker, CardCollection oldBlockers) {
         System.out.println("Function: orderBlocker");